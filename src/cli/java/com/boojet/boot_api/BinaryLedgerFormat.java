@@ -0,0 +1,345 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, columnar on-disk format for large CLI ledgers ({@link StorageFormat#BINARY}).
+ * <p>
+ * The file is a fixed header followed by one column per field, so a reader touches each
+ * column sequentially and never has to parse text. Reads stream the file once, front to back,
+ * through a buffered input stream.
+ *
+ * <p><b>Layout (big-endian, every section 8-byte aligned):</b>
+ * <ul>
+ *   <li>Header: magic {@code "BJLC"}, version (short), reserved (short), row count (int),
+ *   dictionary size (int), then the offset (long) of each of the 7 sections below.</li>
+ *   <li>ids: {@code long} per row ({@link Long#MIN_VALUE} when null).</li>
+ *   <li>dates: epoch-day {@code int} per row ({@link Integer#MIN_VALUE} when null).</li>
+ *   <li>amounts: cents as {@code long} per row ({@link Long#MIN_VALUE} when null).</li>
+ *   <li>categories: ordinal {@code byte} per row ({@code -1} when null).</li>
+ *   <li>flags: {@code byte} per row, bit 0 is income.</li>
+ *   <li>descriptions: {@code int} index into the string table per row ({@code -1} when null).</li>
+ *   <li>string table: per entry an {@code int} byte length followed by UTF-8 bytes. Each distinct
+ *   description is stored once.</li>
+ * </ul>
+ * Accounts are not stored: a ledger that needs them stays in one of the JSON formats.
+ *
+ * <p>Usage as a converter: {@code java com.boojet.boot_api.BinaryLedgerFormat to-binary|to-json <in> <out>}
+ */
+public final class BinaryLedgerFormat {
+
+    public static final int MAGIC = 0x424A4C43;     // "BJLC"
+    public static final short VERSION = 1;
+
+    private static final int SECTIONS = 7;
+    private static final int HEADER_SIZE = 16 + SECTIONS * 8;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final Category[] CATEGORIES = Category.values();
+
+    private BinaryLedgerFormat(){}
+
+    /* ───── reading ───── */
+
+    public static List<Transaction> read(Path path) throws IOException {
+        try(ColumnReader in = new ColumnReader(path)){
+            if(in.readInt() != MAGIC)
+                throw new IOException("Not a Boojet binary ledger: " + path);
+
+            short version = in.readShort();
+            if(version < 1 || version > VERSION)
+                throw new IOException("Unsupported binary ledger version " + version + " (max " + VERSION + ")");
+            in.readShort();                     //reserved
+
+            int rows = in.readInt();
+            int dictSize = in.readInt();
+            long[] offsets = new long[SECTIONS];
+            for(int s = 0; s < SECTIONS; s++){
+                offsets[s] = in.readLong();
+            }
+
+            //each column lands in a primitive array first (26 bytes a row), the file is read once front to back
+            long[] ids = new long[rows];
+            in.skipTo(offsets[0]);
+            for(int i = 0; i < rows; i++){
+                ids[i] = in.readLong();
+            }
+
+            int[] dates = new int[rows];
+            in.skipTo(offsets[1]);
+            for(int i = 0; i < rows; i++){
+                dates[i] = in.readInt();
+            }
+
+            long[] amounts = new long[rows];
+            in.skipTo(offsets[2]);
+            for(int i = 0; i < rows; i++){
+                amounts[i] = in.readLong();
+            }
+
+            byte[] categories = new byte[rows];
+            in.skipTo(offsets[3]);
+            in.readFully(categories);
+
+            byte[] flags = new byte[rows];
+            in.skipTo(offsets[4]);
+            in.readFully(flags);
+
+            int[] descriptions = new int[rows];
+            in.skipTo(offsets[5]);
+            for(int i = 0; i < rows; i++){
+                descriptions[i] = in.readInt();
+            }
+
+            in.skipTo(offsets[6]);
+            String[] dictionary = readDictionary(in, dictSize);
+
+            List<Transaction> out = new ArrayList<>(rows);
+            for(int i = 0; i < rows; i++){
+                Transaction t = new Transaction();
+                t.setId(ids[i] == Long.MIN_VALUE ? null : ids[i]);
+                t.setDate(dates[i] == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(dates[i]));
+                t.setAmount(amounts[i] == Long.MIN_VALUE ? null : Money.of(BigDecimal.valueOf(amounts[i], 2)));
+                t.setCategory(categories[i] < 0 ? null : CATEGORIES[categories[i]]);
+                t.setIncome((flags[i] & 1) != 0);
+                t.setDescription(descriptions[i] < 0 ? null : dictionary[descriptions[i]]);
+                out.add(t);
+            }
+
+            return out;
+        }
+    }
+
+    /* ───── writing ───── */
+
+    public static void write(List<Transaction> transactions, Path path, boolean sync) throws IOException {
+        int rows = transactions.size();
+
+        //dictionary-encode descriptions, first come first served
+        Map<String, Integer> index = new HashMap<>();
+        List<byte[]> dictionary = new ArrayList<>();
+        int[] descIdx = new int[rows];
+        long dictBytes = 0;
+
+        for(int i = 0; i < rows; i++){
+            String d = transactions.get(i).getDescription();
+            if(d == null){
+                descIdx[i] = -1;
+                continue;
+            }
+            Integer existing = index.get(d);
+            if(existing == null){
+                existing = dictionary.size();
+                index.put(d, existing);
+                byte[] utf8 = d.getBytes(StandardCharsets.UTF_8);
+                dictionary.add(utf8);
+                dictBytes += 4 + utf8.length;
+            }
+            descIdx[i] = existing;
+        }
+
+        long[] offsets = new long[SECTIONS];
+        long[] sizes = { rows * 8L, rows * 4L, rows * 8L, rows, rows, rows * 4L, dictBytes };
+        long pos = align(HEADER_SIZE);
+        for(int s = 0; s < SECTIONS; s++){
+            offsets[s] = pos;
+            pos = align(pos + sizes[s]);
+        }
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            ColumnWriter out = new ColumnWriter(channel);
+
+            out.putInt(MAGIC);
+            out.putShort(VERSION);
+            out.putShort((short) 0);
+            out.putInt(rows);
+            out.putInt(dictionary.size());
+            for(long offset : offsets){
+                out.putLong(offset);
+            }
+
+            out.padTo(offsets[0]);
+            for(Transaction t : transactions){
+                out.putLong(t.getId() == null ? Long.MIN_VALUE : t.getId());
+            }
+
+            out.padTo(offsets[1]);
+            for(Transaction t : transactions){
+                out.putInt(t.getDate() == null ? Integer.MIN_VALUE : Math.toIntExact(t.getDate().toEpochDay()));
+            }
+
+            out.padTo(offsets[2]);
+            for(Transaction t : transactions){
+                out.putLong(t.getAmount() == null ? Long.MIN_VALUE : toCents(t.getAmount()));
+            }
+
+            out.padTo(offsets[3]);
+            for(Transaction t : transactions){
+                out.put(t.getCategory() == null ? (byte) -1 : (byte) t.getCategory().ordinal());
+            }
+
+            out.padTo(offsets[4]);
+            for(Transaction t : transactions){
+                out.put(t.isIncome() ? (byte) 1 : (byte) 0);
+            }
+
+            out.padTo(offsets[5]);
+            for(int idx : descIdx){
+                out.putInt(idx);
+            }
+
+            out.padTo(offsets[6]);
+            for(byte[] utf8 : dictionary){
+                out.putInt(utf8.length);
+                out.put(utf8);
+            }
+
+            out.flush();
+            if(sync)
+                channel.force(true);
+        }
+    }
+
+    /* ───── conversion ───── */
+
+    public static void jsonToBinary(Path json, Path binary) throws IOException {
+        write(FileStorage.readJson(json), binary, true);
+    }
+
+    public static void binaryToJson(Path binary, Path json) throws IOException {
+        FileStorage.writeTransactions(read(binary), json, StorageFormat.JSON, true);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if(args.length != 3 || !(args[0].equals("to-binary") || args[0].equals("to-json"))){
+            System.out.println("Usage: BinaryLedgerFormat to-binary|to-json <input> <output>");
+            return;
+        }
+
+        Path in = Path.of(args[1]);
+        Path out = Path.of(args[2]);
+
+        if(args[0].equals("to-binary"))
+            jsonToBinary(in, out);
+        else
+            binaryToJson(in, out);
+
+        System.out.println("Converted " + in + " -> " + out);
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private static long toCents(Money money){
+        return money.asBigDecimal().movePointRight(2).longValueExact();
+    }
+
+    private static long align(long pos){
+        return (pos + 7) & ~7L;
+    }
+
+    private static String[] readDictionary(ColumnReader in, int size) throws IOException {
+        String[] dictionary = new String[size];
+        for(int i = 0; i < size; i++){
+            byte[] utf8 = new byte[in.readInt()];
+            in.readFully(utf8);
+            dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+
+    //buffered sequential reader that tracks its position so the padding before each section can be skipped
+    private static final class ColumnReader implements Closeable {
+        private final DataInputStream in;
+        private long position = 0;
+
+        ColumnReader(Path path) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), READ_BUFFER_SIZE));
+        }
+
+        short readShort() throws IOException { position += 2; return in.readShort(); }
+        int readInt() throws IOException { position += 4; return in.readInt(); }
+        long readLong() throws IOException { position += 8; return in.readLong(); }
+
+        void readFully(byte[] bytes) throws IOException {
+            in.readFully(bytes);
+            position += bytes.length;
+        }
+
+        void skipTo(long offset) throws IOException {
+            if(offset < position)
+                throw new IOException("Corrupt binary ledger: section at " + offset + " overlaps the previous one");
+            in.skipNBytes(offset - position);
+            position = offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    //buffered sequential writer that tracks its position so sections can be padded to their offsets
+    private static final class ColumnWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private long position = 0;
+
+        ColumnWriter(FileChannel channel){
+            this.channel = channel;
+        }
+
+        void put(byte b) throws IOException { ensure(1); buf.put(b); position += 1; }
+        void putShort(short v) throws IOException { ensure(2); buf.putShort(v); position += 2; }
+        void putInt(int v) throws IOException { ensure(4); buf.putInt(v); position += 4; }
+        void putLong(long v) throws IOException { ensure(8); buf.putLong(v); position += 8; }
+
+        void put(byte[] bytes) throws IOException {
+            int off = 0;
+            while(off < bytes.length){
+                ensure(1);
+                int n = Math.min(buf.remaining(), bytes.length - off);
+                buf.put(bytes, off, n);
+                off += n;
+                position += n;
+            }
+        }
+
+        void padTo(long offset) throws IOException {
+            while(position < offset){
+                put((byte) 0);
+            }
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while(buf.hasRemaining()){
+                channel.write(buf);
+            }
+            buf.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if(buf.remaining() < bytes)
+                flush();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.UI.BatchRunner;
+import com.boojet.boot_api.UI.ConsoleUI;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class BoojetApp{
+    public static void main(String[] args) throws IOException {
+        //--format=binary|json_gzip|json_deflate|sharded chooses the file layout, plain JSON by default
+        //--save=auto|deferred|manual and --fsync=always|interval|never choose how changes reach the disk
+        //--batch reads a command script from stdin, --batch=<file> from a file (see BatchRunner)
+        StorageFormat format = StorageFormat.JSON;
+        SaveMode saveMode = null;
+        FsyncPolicy fsync = FsyncPolicy.ALWAYS;
+        String batch = null;
+        for(String arg : args){
+            if(arg.startsWith("--format="))
+                format = StorageFormat.valueOf(arg.substring("--format=".length()).toUpperCase());
+            else if(arg.startsWith("--save="))
+                saveMode = SaveMode.valueOf(arg.substring("--save=".length()).toUpperCase());
+            else if(arg.startsWith("--fsync="))
+                fsync = FsyncPolicy.valueOf(arg.substring("--fsync=".length()).toUpperCase());
+            else if(arg.equals("--batch"))
+                batch = "-";
+            else if(arg.startsWith("--batch="))
+                batch = arg.substring("--batch=".length());
+        }
+
+        if(batch != null){
+            //a script is applied in memory and saved once at the end
+            TransactionManager manager = new TransactionManager(saveMode == null ? SaveMode.MANUAL : saveMode, format, fsync);
+            try(BufferedReader script = batch.equals("-")
+                    ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                    : Files.newBufferedReader(Path.of(batch), StandardCharsets.UTF_8)){
+                int failed = new BatchRunner(manager, System.out).run(script);
+                System.exit(failed == 0 ? 0 : 1);
+            }
+        }
+
+        TransactionManager manager = new TransactionManager(saveMode == null ? SaveMode.MANUAL : saveMode, format, fsync);
+        ConsoleUI ui = new ConsoleUI(manager);
+        ui.run();
+    }
+}
@@ -0,0 +1,328 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe variant of {@link TransactionManager} for embedding the ledger in a local service.
+ * <p>
+ * All reads are served from an immutable {@link Snapshot}. A reader takes a {@link StampedLock} optimistic
+ * stamp, reads the current snapshot reference and validates the stamp, so reads never block each other and
+ * only fall back to a read lock while a writer is publishing. Writers are serialised by the write lock and
+ * publish a new snapshot copy-on-write; readers holding an older snapshot keep a consistent view of it.
+ *
+ * <p><b>Cost of a write:</b> the id index and every month and category bucket are {@link IdChunks}, so a change
+ * copies one chunk of up to 1,024 rows plus the chunk table of the id index and of the (at most two) buckets it
+ * touches, and the small month and category maps. On a 1M row ledger that is a few thousand references, not a
+ * copy of the ledger. The flat list behind {@link #getTransactions()} is derived from the id index the first
+ * time a snapshot is asked for it, which costs O(n) once per snapshot; {@link #inMonth(YearMonth)} and
+ * {@link #inCategory(Category)} pay the same once per bucket that changed.
+ *
+ * <p>Lists come back in id order, which is the order the transactions were added in, since ids only grow.
+ *
+ * <p>Transactions handed out by the read methods are shared between snapshots and must not be modified;
+ * use {@link #updateTransaction(long, Transaction)} instead.
+ *
+ * <p>Supports every {@link StorageFormat} except {@link StorageFormat#SHARDED}. In {@link SaveMode#AUTO}
+ * each change rewrites the file, in {@link SaveMode#DEFERRED} writes are coalesced by a {@link SnapshotWriter}.
+ */
+public class ConcurrentTransactionManager {
+
+    //one published version of the ledger, never modified after construction
+    public static final class Snapshot {
+        private final long version;
+        private final IdChunks byId;
+        private final NavigableMap<YearMonth, IdChunks> months;
+        private final Map<Category, IdChunks> categories;
+        private final Money balance;
+
+        private Snapshot(long version, IdChunks byId, NavigableMap<YearMonth, IdChunks> months, Map<Category, IdChunks> categories, Money balance){
+            this.version = version;
+            this.byId = byId;
+            this.months = months;
+            this.categories = categories;
+            this.balance = balance;
+        }
+
+        public long version(){
+            return version;
+        }
+
+        //in id order, built on first use
+        public List<Transaction> transactions(){
+            return byId.list();
+        }
+
+        public Map<Long, Transaction> byId(){
+            return byId;
+        }
+
+        public NavigableMap<YearMonth, List<Transaction>> byMonth(){
+            NavigableMap<YearMonth, List<Transaction>> out = new TreeMap<>();
+            months.forEach((ym, bucket) -> out.put(ym, bucket.list()));
+            return Collections.unmodifiableNavigableMap(out);
+        }
+
+        public Map<Category, List<Transaction>> byCategory(){
+            Map<Category, List<Transaction>> out = new EnumMap<>(Category.class);
+            categories.forEach((cat, bucket) -> out.put(cat, bucket.list()));
+            return Collections.unmodifiableMap(out);
+        }
+
+        public Money balance(){
+            return balance;
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private Snapshot current;                   //guarded by lock, replaced (never mutated) by writers
+    private long nextId = 1;                    //guarded by the write lock
+
+    private final SaveMode saveMode;
+    private final StorageFormat storageFormat;
+    private final Object saveLock = new Object();  //one file write at a time, never taken by readers
+    private volatile long savedVersion;
+    private SnapshotWriter writer;              //DEFERRED mode only
+
+    public ConcurrentTransactionManager(SaveMode saveMode){
+        this(saveMode, StorageFormat.JSON, FsyncPolicy.ALWAYS);
+    }
+
+    public ConcurrentTransactionManager(SaveMode saveMode, StorageFormat storageFormat, FsyncPolicy fsyncPolicy){
+        if(storageFormat == StorageFormat.SHARDED)
+            throw new IllegalArgumentException("ConcurrentTransactionManager keeps the ledger in a single file, " + storageFormat + " is not supported");
+
+        this.saveMode = saveMode;
+        this.storageFormat = storageFormat;
+
+        List<Transaction> loaded = saveMode == SaveMode.NONE ? new ArrayList<>() : FileStorage.loadTransactions(storageFormat);
+        nextId = TransactionManager.assignMissingIds(loaded);
+        current = build(0, loaded);
+        savedVersion = 0;
+
+        if(saveMode == SaveMode.DEFERRED){
+            writer = new SnapshotWriter(Path.of(storageFormat.fileName()), storageFormat, fsyncPolicy,
+                                        SnapshotWriter.DEFAULT_DEBOUNCE_MILLIS, () -> snapshot().transactions());
+        }
+    }
+
+    /* ───── reads (lock-free unless a writer is publishing) ───── */
+
+    public Snapshot snapshot(){
+        long stamp = lock.tryOptimisticRead();
+        Snapshot s = current;
+
+        if(!lock.validate(stamp)){
+            stamp = lock.readLock();
+            try{
+                s = current;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return s;
+    }
+
+    public List<Transaction> getTransactions(){
+        return snapshot().transactions();
+    }
+
+    public Optional<Transaction> findTransaction(long id){
+        return Optional.ofNullable(snapshot().byId.find(id));
+    }
+
+    public Money getBalance(){
+        return snapshot().balance();
+    }
+
+    public List<Transaction> inMonth(YearMonth ym){
+        return snapshot().months.getOrDefault(ym, IdChunks.EMPTY).list();
+    }
+
+    //both months included
+    public List<Transaction> inMonths(YearMonth from, YearMonth to){
+        List<Transaction> out = new ArrayList<>();
+        snapshot().months.subMap(from, true, to, true).values().forEach(bucket -> out.addAll(bucket.list()));
+        return out;
+    }
+
+    public List<Transaction> inCategory(Category cat){
+        return snapshot().categories.getOrDefault(cat, IdChunks.EMPTY).list();
+    }
+
+    public Map<Category, Money> summariseByCategory(List<Transaction> list){
+        return TransactionManager.sumByCategory(list);
+    }
+
+    /* ───── writes (serialised, copy-on-write) ───── */
+
+    //assigns the next id to the transaction if it has none, returns the id it is stored under
+    public long addTransaction(Transaction t){
+        long stamp = lock.writeLock();
+        try{
+            Snapshot s = current;
+            if(t.getId() == null || s.byId.find(t.getId()) != null)
+                t.setId(nextId);
+            nextId = Math.max(nextId, t.getId() + 1);
+
+            current = publish(s, null, t);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        changed();
+        return t.getId();
+    }
+
+    //returns false if no transaction has that id
+    public boolean updateTransaction(long id, Transaction repl){
+        long stamp = lock.writeLock();
+        try{
+            Snapshot s = current;
+            Transaction old = s.byId.find(id);
+            if(old == null)
+                return false;
+
+            repl.setId(id);
+            current = publish(s, old, repl);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        changed();
+        return true;
+    }
+
+    //returns false if no transaction has that id
+    public boolean deleteTransaction(long id){
+        long stamp = lock.writeLock();
+        try{
+            Snapshot s = current;
+            Transaction old = s.byId.find(id);
+            if(old == null)
+                return false;
+
+            current = publish(s, old, null);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        changed();
+        return true;
+    }
+
+    /* ───── persistence helpers ───── */
+
+    //writes the snapshot current at the time of the call, readers and writers are not held up by the disk
+    public void save(){
+        if(writer != null){
+            writer.flush();
+            return;
+        }
+
+        synchronized(saveLock){
+            Snapshot s = snapshot();
+            if(s.version() == savedVersion && saveMode == SaveMode.AUTO)
+                return;         //a concurrent save already wrote this version
+
+            FileStorage.saveTransactions(s.transactions(), storageFormat);
+            savedVersion = s.version();
+        }
+    }
+
+    public boolean hasUnsavedChanges(){
+        if(writer != null)
+            return writer.hasPendingWrites();
+        return snapshot().version() != savedVersion;
+    }
+
+    public Optional<SnapshotWriter.Stats> writerStats(){
+        return writer == null ? Optional.empty() : Optional.of(writer.stats());
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private void changed(){
+        if(saveMode == SaveMode.AUTO)
+            save();
+        else if(writer != null)
+            writer.request();
+    }
+
+    //new snapshot sharing every chunk with "s" except the ones holding the changed row
+    private static Snapshot publish(Snapshot s, Transaction removed, Transaction added){
+        IdChunks byId = s.byId;
+        NavigableMap<YearMonth, IdChunks> months = new TreeMap<>(s.months);
+        Map<Category, IdChunks> categories = new EnumMap<>(Category.class);
+        categories.putAll(s.categories);
+        Money balance = s.balance;
+
+        if(removed != null){
+            byId = byId.without(removed.getId());
+            if(removed.getDate() != null)
+                without(months, YearMonth.from(removed.getDate()), removed);
+            if(removed.getCategory() != null)
+                without(categories, removed.getCategory(), removed);
+            balance = balance.subtract(TransactionManager.signed(removed));
+        }
+
+        if(added != null){
+            byId = byId.with(added);
+            if(added.getDate() != null)
+                with(months, YearMonth.from(added.getDate()), added);
+            if(added.getCategory() != null)
+                with(categories, added.getCategory(), added);
+            balance = balance.add(TransactionManager.signed(added));
+        }
+
+        return new Snapshot(s.version + 1, byId, months, categories, balance);
+    }
+
+    private static Snapshot build(long version, List<Transaction> loaded){
+        Map<YearMonth, List<Transaction>> months = new HashMap<>();
+        Map<Category, List<Transaction>> categories = new EnumMap<>(Category.class);
+        Money balance = Money.zero();
+
+        for(Transaction t : loaded){
+            if(t.getDate() != null)
+                months.computeIfAbsent(YearMonth.from(t.getDate()), k -> new ArrayList<>()).add(t);
+            if(t.getCategory() != null)
+                categories.computeIfAbsent(t.getCategory(), k -> new ArrayList<>()).add(t);
+            balance = balance.add(TransactionManager.signed(t));
+        }
+
+        NavigableMap<YearMonth, IdChunks> monthChunks = new TreeMap<>();
+        months.forEach((ym, rows) -> monthChunks.put(ym, IdChunks.of(rows)));
+        Map<Category, IdChunks> categoryChunks = new EnumMap<>(Category.class);
+        categories.forEach((cat, rows) -> categoryChunks.put(cat, IdChunks.of(rows)));
+
+        return new Snapshot(version, IdChunks.of(loaded), monthChunks, categoryChunks, balance);
+    }
+
+    private static <K> void with(Map<K, IdChunks> index, K key, Transaction t){
+        index.put(key, index.getOrDefault(key, IdChunks.EMPTY).with(t));
+    }
+
+    private static <K> void without(Map<K, IdChunks> index, K key, Transaction t){
+        IdChunks bucket = index.getOrDefault(key, IdChunks.EMPTY).without(t.getId());
+
+        if(bucket.isEmpty())
+            index.remove(key);
+        else
+            index.put(key, bucket);
+    }
+}
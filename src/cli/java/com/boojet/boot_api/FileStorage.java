@@ -0,0 +1,311 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+// imports for JSON processing, file handling and data structures
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;    //Jackson doesn't support LocalDate so need to use JavaTime Module
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+public class FileStorage {
+
+    public static final String FILE_NAME = "transactions.json";     //file name
+    //Jackson ObjectMapper handles converting between Java objects and JSON
+    public static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final int APPROX_COMPRESSION_RATIO = 6;          //JSON ledgers shrink about this much, used to presize the list
+    private static final int APPROX_BYTES_PER_RECORD = 128;        //used to presize the list on load
+
+    //Account is written with its derived isActive() as "active", which it has no setter for
+    private static final ObjectReader accountReader;
+
+    static {
+        //register the module to support LocalDate, LocalDateTime, etc.
+        mapper.registerModule(new JavaTimeModule());
+        accountReader = mapper.readerFor(Account.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    // save JSON
+    public static void saveTransactions(List<Transaction> transactions){
+        saveTransactions(transactions, StorageFormat.JSON);
+    }
+
+    // save in the given format, to that format's file
+    public static void saveTransactions(List<Transaction> transactions, StorageFormat format){
+        try{
+            //convert list of transactions to JSON (or binary) file
+            writeAtomically(transactions, Path.of(format.fileName()), format, false);
+        } catch(IOException e){
+            System.out.println("Error saving transactions: "+ e.getMessage());
+        }
+    }
+
+    // write next to the target and rename over it, so a crash mid-write never leaves a half written ledger.
+    // Returns the number of bytes written.
+    public static long writeAtomically(List<Transaction> transactions, Path path, StorageFormat format, boolean sync) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        writeTransactions(transactions, tmp, format, sync);
+        long bytes = Files.size(tmp);
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        if(sync)
+            syncDirectory(target.getParent());
+
+        return bytes;
+    }
+
+    // write to any path, optionally forcing it to disk before returning
+    public static void writeTransactions(List<Transaction> transactions, Path path, StorageFormat format, boolean sync) throws IOException {
+        if(format == StorageFormat.BINARY){
+            BinaryLedgerFormat.write(transactions, path, sync);
+            return;
+        }
+        if(format == StorageFormat.SHARDED)
+            throw new IllegalArgumentException("Sharded ledgers are written shard by shard, see ShardedStorage");
+
+        //compressed formats deflate on the fly between Jackson and the file, nothing is buffered in full
+        Deflater deflater = null;
+        try(FileOutputStream file = new FileOutputStream(path.toFile());
+            BufferedOutputStream buffered = new BufferedOutputStream(file, WRITE_BUFFER_SIZE)){
+
+            OutputStream out = buffered;
+            if(format == StorageFormat.JSON_GZIP)
+                out = new GZIPOutputStream(buffered, WRITE_BUFFER_SIZE);
+            else if(format == StorageFormat.JSON_DEFLATE)
+                out = new DeflaterOutputStream(buffered, deflater = new Deflater(), WRITE_BUFFER_SIZE);
+
+            try(JsonGenerator gen = mapper.getFactory().createGenerator(out)){
+                mapper.writeValue(gen, transactions);
+                gen.flush();
+
+                if(out instanceof DeflaterOutputStream compressed)
+                    compressed.finish();
+                buffered.flush();
+
+                if(sync)
+                    file.getFD().sync();
+            }
+        } finally {
+            if(deflater != null)
+                deflater.end();
+        }
+    }
+
+    // load JSON
+    public static List<Transaction> loadTransactions(){
+        return loadTransactions(Path.of(FILE_NAME));
+    }
+
+    // load the given format's file, falling back to an existing JSON ledger the first time a new format is used
+    public static List<Transaction> loadTransactions(StorageFormat format){
+        Path path = Path.of(format.fileName());
+
+        if(format == StorageFormat.SHARDED && Files.isDirectory(path)){
+            try{
+                return new ShardedStorage(path).loadAll();
+            } catch(IOException e){
+                System.out.println("Error loading transactions: "+ e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+
+        if(!Files.exists(path) && format != StorageFormat.JSON)
+            path = Path.of(FILE_NAME);
+
+        return loadTransactions(path);
+    }
+
+    // format is detected from the first bytes of the file, so callers do not need to know it
+    public static List<Transaction> loadTransactions(Path path){
+        if(!Files.exists(path))
+            return new ArrayList<>();       //return empty list if no file exists
+
+        try{
+            StorageFormat format = detect(path);
+            if(format == StorageFormat.BINARY)
+                return BinaryLedgerFormat.read(path);
+
+            return readJson(path, format);
+        } catch(IOException | RuntimeException e){
+            System.out.println("Error loading transactions: "+ e.getMessage());
+        }
+
+        //return empty list if loading failed
+        return new ArrayList<>();
+    }
+
+    // plain or compressed JSON, whichever the file holds
+    public static List<Transaction> readJson(Path path) throws IOException {
+        return readJson(path, detect(path));
+    }
+
+    // streams the file record by record: no tree model and no second copy of the document in memory
+    private static List<Transaction> readJson(Path path, StorageFormat format) throws IOException {
+        Inflater inflater = null;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel), READ_BUFFER_SIZE);
+            long approxJsonBytes = channel.size();
+
+            if(format == StorageFormat.JSON_GZIP)
+                in = new GZIPInputStream(in, READ_BUFFER_SIZE);
+            else if(format == StorageFormat.JSON_DEFLATE)
+                in = new InflaterInputStream(in, inflater = new Inflater(), READ_BUFFER_SIZE);
+
+            if(format != StorageFormat.JSON)
+                approxJsonBytes *= APPROX_COMPRESSION_RATIO;
+
+            try(JsonParser parser = mapper.getFactory().createParser(in)){
+                int expected = (int) Math.min(Integer.MAX_VALUE - 8, approxJsonBytes / APPROX_BYTES_PER_RECORD);
+                return readTransactions(parser, expected);
+            }
+        } finally {
+            if(inflater != null)
+                inflater.end();
+        }
+    }
+
+    // tells the formats apart by their first bytes, anything unrecognised is read as plain JSON
+    public static StorageFormat detect(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            ByteBuffer head = ByteBuffer.allocate(4);
+            while(head.hasRemaining() && channel.read(head) >= 0){ }
+
+            if(head.position() == 4 && head.getInt(0) == BinaryLedgerFormat.MAGIC)
+                return StorageFormat.BINARY;
+            if(head.position() >= 2){
+                int b0 = head.get(0) & 0xff, b1 = head.get(1) & 0xff;
+                if(b0 == 0x1f && b1 == 0x8b)
+                    return StorageFormat.JSON_GZIP;
+                if(b0 == 0x78 && ((b0 << 8) | b1) % 31 == 0)        //zlib header: deflate method, checksum over both bytes
+                    return StorageFormat.JSON_DEFLATE;
+            }
+            return StorageFormat.JSON;
+        }
+    }
+
+    //makes the rename itself durable; not every platform can open a directory, so this is best effort
+    private static void syncDirectory(Path dir){
+        try(FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)){
+            channel.force(true);
+        } catch(IOException | UnsupportedOperationException e){
+            //nothing more we can do
+        }
+    }
+
+    // decode a top-level JSON array of transactions, one record at a time
+    public static List<Transaction> readTransactions(JsonParser p, int expected) throws IOException {
+        List<Transaction> transactions = new ArrayList<>(expected);
+
+        if(p.nextToken() != JsonToken.START_ARRAY)
+            throw new JsonParseException(p, "Expected a JSON array of transactions");
+
+        while(p.nextToken() == JsonToken.START_OBJECT){
+            transactions.add(readTransaction(p));
+        }
+
+        return transactions;
+    }
+
+    /* ───── streaming decode helpers ───── */
+
+    //also accepts the older shapes still found in existing ledgers ("isIncome", {"amount": n}, [y, m, d] dates)
+    private static Transaction readTransaction(JsonParser p) throws IOException {
+        Transaction t = new Transaction();
+
+        while(p.nextToken() == JsonToken.FIELD_NAME){
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+
+            switch(field){
+                case "id" -> t.setId(value == JsonToken.VALUE_NULL ? null : p.getLongValue());
+                case "description" -> t.setDescription(value == JsonToken.VALUE_NULL ? null : p.getText());
+                case "amount" -> t.setAmount(readMoney(p, value));
+                case "date" -> t.setDate(readDate(p, value));
+                case "category" -> t.setCategory(readCategory(p, value));
+                case "income", "isIncome" -> t.setIncome(p.getValueAsBoolean());
+                case "account" -> t.setAccount(value == JsonToken.VALUE_NULL ? null : accountReader.readValue(p));
+                default -> p.skipChildren();        //anything else the CLI does not use
+            }
+        }
+
+        return t;
+    }
+
+    private static Money readMoney(JsonParser p, JsonToken value) throws IOException {
+        return switch(value){
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> Money.of(p.getDecimalValue());
+            case VALUE_STRING -> Money.of(p.getText());
+            case START_OBJECT -> {
+                Money m = null;
+                while(p.nextToken() == JsonToken.FIELD_NAME){
+                    JsonToken inner = p.nextToken();
+                    if("amount".equals(p.currentName()))
+                        m = readMoney(p, inner);
+                    else
+                        p.skipChildren();
+                }
+                yield m;
+            }
+            default -> null;
+        };
+    }
+
+    private static LocalDate readDate(JsonParser p, JsonToken value) throws IOException {
+        return switch(value){
+            case VALUE_STRING -> LocalDate.parse(p.getText());
+            case START_ARRAY -> {
+                p.nextToken();
+                int year = p.getIntValue();
+                p.nextToken();
+                int month = p.getIntValue();
+                p.nextToken();
+                int day = p.getIntValue();
+                p.nextToken();      //END_ARRAY
+                yield LocalDate.of(year, month, day);
+            }
+            default -> null;
+        };
+    }
+
+    private static Category readCategory(JsonParser p, JsonToken value) throws IOException {
+        return switch(value){
+            case VALUE_STRING -> Category.valueOf(p.getText());
+            case VALUE_NUMBER_INT -> Category.values()[p.getIntValue()];
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.boojet.boot_api;
+
+public enum FsyncPolicy {
+    ALWAYS,     //force to disk after every write (safest, slowest)
+    INTERVAL,   //force at most once per second, a crash may lose the last second of changes
+    NEVER       //leave flushing to the OS
+}
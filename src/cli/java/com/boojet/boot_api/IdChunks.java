@@ -0,0 +1,254 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.domain.Transaction;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable id → transaction map used by {@link ConcurrentTransactionManager} for its snapshots.
+ * <p>
+ * Entries are kept in id order in chunks of at most {@link #MAX_CHUNK} rows. {@link #with(Transaction)} and
+ * {@link #without(long)} return a new map that shares every chunk but the one changed, so a change costs a copy
+ * of one chunk plus the chunk table (about n / 1,024 references) instead of a copy of the whole map.
+ * <p>
+ * Reads are a binary search over the chunk table, then one inside the chunk. {@link #list()} is built the first
+ * time it is asked for and kept, so maps that are shared between snapshots build it once.
+ */
+final class IdChunks extends AbstractMap<Long, Transaction> {
+
+    static final int MAX_CHUNK = 1_024;
+    static final IdChunks EMPTY = new IdChunks(new Chunk[0], 0);
+
+    //ids ascending, each row at the position of its id; never empty and never modified once published
+    private record Chunk(long[] ids, Transaction[] rows) {
+        long first(){
+            return ids[0];
+        }
+    }
+
+    private final Chunk[] chunks;               //ordered by first id, the id ranges do not overlap
+    private final int size;
+    private List<Transaction> list;             //built on first use; racing threads build equal lists, the list is immutable
+
+    private IdChunks(Chunk[] chunks, int size){
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    //ids must be distinct
+    static IdChunks of(Collection<Transaction> rows){
+        Transaction[] sorted = rows.toArray(Transaction[]::new);
+        Arrays.sort(sorted, Comparator.comparingLong(Transaction::getId));
+
+        Chunk[] chunks = new Chunk[(sorted.length + MAX_CHUNK - 1) / MAX_CHUNK];
+        for(int c = 0; c < chunks.length; c++){
+            Transaction[] part = Arrays.copyOfRange(sorted, c * MAX_CHUNK, Math.min(sorted.length, (c + 1) * MAX_CHUNK));
+            chunks[c] = new Chunk(idsOf(part), part);
+        }
+        return new IdChunks(chunks, sorted.length);
+    }
+
+    /* ───── reads ───── */
+
+    Transaction find(long id){
+        int c = chunkFor(id);
+        if(c < 0)
+            return null;
+
+        Chunk chunk = chunks[c];
+        int i = Arrays.binarySearch(chunk.ids(), id);
+        return i < 0 ? null : chunk.rows()[i];
+    }
+
+    //the transactions in id order
+    List<Transaction> list(){
+        List<Transaction> l = list;
+        if(l == null){
+            Transaction[] all = new Transaction[size];
+            int pos = 0;
+            for(Chunk chunk : chunks){
+                System.arraycopy(chunk.rows(), 0, all, pos, chunk.rows().length);
+                pos += chunk.rows().length;
+            }
+            list = l = Collections.unmodifiableList(Arrays.asList(all));
+        }
+        return l;
+    }
+
+    /* ───── changes (each returns a new map) ───── */
+
+    //adds t, or replaces the transaction with the same id
+    IdChunks with(Transaction t){
+        long id = t.getId();
+        if(chunks.length == 0)
+            return new IdChunks(new Chunk[]{ new Chunk(new long[]{ id }, new Transaction[]{ t }) }, 1);
+
+        int c = Math.max(chunkFor(id), 0);      //ids below the first chunk go to the front of it
+        Chunk chunk = chunks[c];
+        int i = Arrays.binarySearch(chunk.ids(), id);
+
+        if(i >= 0){
+            Transaction[] rows = chunk.rows().clone();
+            rows[i] = t;
+            return replace(c, new Chunk(chunk.ids(), rows), size);
+        }
+
+        int at = -i - 1;
+        int n = chunk.ids().length;
+
+        //ids are handed out in increasing order: a new highest id starts a new chunk and leaves the full one full
+        if(n == MAX_CHUNK && at == n && c == chunks.length - 1){
+            Chunk[] next = Arrays.copyOf(chunks, chunks.length + 1);
+            next[chunks.length] = new Chunk(new long[]{ id }, new Transaction[]{ t });
+            return new IdChunks(next, size + 1);
+        }
+
+        long[] ids = new long[n + 1];
+        Transaction[] rows = new Transaction[n + 1];
+        System.arraycopy(chunk.ids(), 0, ids, 0, at);
+        System.arraycopy(chunk.rows(), 0, rows, 0, at);
+        ids[at] = id;
+        rows[at] = t;
+        System.arraycopy(chunk.ids(), at, ids, at + 1, n - at);
+        System.arraycopy(chunk.rows(), at, rows, at + 1, n - at);
+
+        if(n < MAX_CHUNK)
+            return replace(c, new Chunk(ids, rows), size + 1);
+
+        //a full chunk splits in two halves
+        int half = (n + 1) / 2;
+        Chunk[] next = new Chunk[chunks.length + 1];
+        System.arraycopy(chunks, 0, next, 0, c);
+        next[c] = new Chunk(Arrays.copyOfRange(ids, 0, half), Arrays.copyOfRange(rows, 0, half));
+        next[c + 1] = new Chunk(Arrays.copyOfRange(ids, half, n + 1), Arrays.copyOfRange(rows, half, n + 1));
+        System.arraycopy(chunks, c + 1, next, c + 2, chunks.length - c - 1);
+        return new IdChunks(next, size + 1);
+    }
+
+    //this map itself if there is no such id
+    IdChunks without(long id){
+        int c = chunkFor(id);
+        if(c < 0)
+            return this;
+
+        Chunk chunk = chunks[c];
+        int i = Arrays.binarySearch(chunk.ids(), id);
+        if(i < 0)
+            return this;
+
+        int n = chunk.ids().length;
+        if(n == 1){
+            Chunk[] next = new Chunk[chunks.length - 1];
+            System.arraycopy(chunks, 0, next, 0, c);
+            System.arraycopy(chunks, c + 1, next, c, chunks.length - c - 1);
+            return new IdChunks(next, size - 1);
+        }
+
+        long[] ids = new long[n - 1];
+        Transaction[] rows = new Transaction[n - 1];
+        System.arraycopy(chunk.ids(), 0, ids, 0, i);
+        System.arraycopy(chunk.rows(), 0, rows, 0, i);
+        System.arraycopy(chunk.ids(), i + 1, ids, i, n - i - 1);
+        System.arraycopy(chunk.rows(), i + 1, rows, i, n - i - 1);
+        return replace(c, new Chunk(ids, rows), size - 1);
+    }
+
+    /* ───── Map view (read-only) ───── */
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key){
+        return key instanceof Long id && find(id) != null;
+    }
+
+    @Override
+    public Transaction get(Object key){
+        return key instanceof Long id ? find(id) : null;
+    }
+
+    @Override
+    public Collection<Transaction> values(){
+        return list();
+    }
+
+    @Override
+    public Set<Map.Entry<Long, Transaction>> entrySet(){
+        return new AbstractSet<>() {
+            @Override
+            public int size(){
+                return size;
+            }
+
+            @Override
+            public Iterator<Map.Entry<Long, Transaction>> iterator(){
+                return new Iterator<>() {
+                    private int c = 0, i = 0;
+
+                    @Override
+                    public boolean hasNext(){
+                        return c < chunks.length;
+                    }
+
+                    @Override
+                    public Map.Entry<Long, Transaction> next(){
+                        if(!hasNext())
+                            throw new NoSuchElementException();
+
+                        Chunk chunk = chunks[c];
+                        Map.Entry<Long, Transaction> e = new AbstractMap.SimpleImmutableEntry<>(chunk.ids()[i], chunk.rows()[i]);
+                        if(++i == chunk.ids().length){
+                            c++;
+                            i = 0;
+                        }
+                        return e;
+                    }
+                };
+            }
+        };
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    //the last chunk starting at or below the id, -1 if the id is below every chunk
+    private int chunkFor(long id){
+        int lo = 0, hi = chunks.length - 1, found = -1;
+        while(lo <= hi){
+            int mid = (lo + hi) >>> 1;
+            if(chunks[mid].first() <= id){
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private IdChunks replace(int c, Chunk chunk, int newSize){
+        Chunk[] next = chunks.clone();
+        next[c] = chunk;
+        return new IdChunks(next, newSize);
+    }
+
+    private static long[] idsOf(Transaction[] rows){
+        long[] ids = new long[rows.length];
+        for(int i = 0; i < rows.length; i++){
+            ids[i] = rows[i].getId();
+        }
+        return ids;
+    }
+}
@@ -2,6 +2,7 @@ package com.boojet.boot_api;
 
 public enum SaveMode {
     AUTO,       //write file after every change
+    DEFERRED,   //rewrite the whole file in the background shortly after changes, bursts become one write
     MANUAL,     //keep data in memory until user chooses save
     NONE        //for testing purposes
 }
@@ -0,0 +1,172 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Directory layout for the CLI ledger ({@link StorageFormat#SHARDED}): one JSON file per {@link YearMonth}
+ * plus a small manifest.
+ * <p>
+ * The manifest lists every shard with its row count and net amount, and the next free id, so the
+ * {@link TransactionManager} can show a balance and hand out ids without opening any shard. Shards are
+ * loaded one month at a time when a view needs them, and a save rewrites only the shards that changed.
+ *
+ * <p><b>Files:</b>
+ * <ul>
+ *   <li>{@code manifest.json} - written last on every save, so it never points at a half written shard.</li>
+ *   <li>{@code yyyy-MM.json} - the transactions of one month.</li>
+ *   <li>{@code undated.json} - transactions without a date, if any.</li>
+ * </ul>
+ */
+public class ShardedStorage {
+
+    public static final String MANIFEST = "manifest.json";
+    public static final String UNDATED = "undated";
+    public static final int VERSION = 1;
+
+    public record Shard(String file, int count, BigDecimal net) {}
+    public record Manifest(int version, long nextId, Map<String, Shard> shards) {}
+
+    private final Path dir;
+    private Manifest manifest = new Manifest(VERSION, 1, new TreeMap<>());
+
+    public ShardedStorage(Path dir){
+        this.dir = dir.toAbsolutePath();
+    }
+
+    public boolean exists(){
+        return Files.exists(dir.resolve(MANIFEST));
+    }
+
+    /* ───── manifest ───── */
+
+    public synchronized void open() throws IOException {
+        Manifest read = FileStorage.mapper.readValue(dir.resolve(MANIFEST).toFile(), Manifest.class);
+        if(read.version() > VERSION)
+            throw new IOException("Unsupported ledger manifest version " + read.version() + " (max " + VERSION + ")");
+
+        manifest = new Manifest(read.version(), read.nextId(), new TreeMap<>(read.shards()));
+    }
+
+    public synchronized long nextId(){
+        return manifest.nextId();
+    }
+
+    //months that have a shard on disk, oldest first
+    public synchronized Set<YearMonth> months(){
+        Set<YearMonth> months = new TreeSet<>();
+        for(String key : manifest.shards().keySet()){
+            if(!key.equals(UNDATED))
+                months.add(YearMonth.parse(key));
+        }
+        return months;
+    }
+
+    //net amount of one shard as recorded in the manifest, zero if there is none
+    public synchronized Money net(String key){
+        Shard shard = manifest.shards().get(key);
+        return shard == null ? Money.zero() : Money.of(shard.net());
+    }
+
+    /* ───── reading ───── */
+
+    public List<Transaction> loadMonth(YearMonth ym){
+        return loadShard(key(ym));
+    }
+
+    public List<Transaction> loadShard(String key){
+        Shard shard;
+        synchronized(this){
+            shard = manifest.shards().get(key);
+        }
+        if(shard == null)
+            return new ArrayList<>();
+
+        return FileStorage.loadTransactions(dir.resolve(shard.file()));
+    }
+
+    //every shard, oldest month first and undated last
+    public List<Transaction> loadAll() throws IOException {
+        if(exists())
+            open();
+
+        List<Transaction> all = new ArrayList<>();
+        for(YearMonth ym : months()){
+            all.addAll(loadMonth(ym));
+        }
+        all.addAll(loadShard(UNDATED));
+        return all;
+    }
+
+    /* ───── writing ───── */
+
+    //rewrites the given shards (an empty list removes the shard), then the manifest; returns bytes written
+    public synchronized long write(Map<String, List<Transaction>> changed, long nextId, boolean sync) throws IOException {
+        Files.createDirectories(dir);
+        Map<String, Shard> shards = new TreeMap<>(manifest.shards());
+        long bytes = 0;
+
+        for(Map.Entry<String, List<Transaction>> e : changed.entrySet()){
+            String file = e.getKey() + ".json";
+            List<Transaction> rows = e.getValue();
+
+            if(rows.isEmpty()){
+                Files.deleteIfExists(dir.resolve(file));
+                shards.remove(e.getKey());
+                continue;
+            }
+
+            bytes += FileStorage.writeAtomically(rows, dir.resolve(file), StorageFormat.JSON, sync);
+            shards.put(e.getKey(), new Shard(file, rows.size(), netOf(rows)));
+        }
+
+        Manifest next = new Manifest(VERSION, nextId, shards);
+        bytes += writeManifest(next, sync);
+        manifest = next;
+        return bytes;
+    }
+
+    public static String key(YearMonth ym){
+        return ym.toString();
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private long writeManifest(Manifest m, boolean sync) throws IOException {
+        Path target = dir.resolve(MANIFEST);
+        Path tmp = dir.resolve(MANIFEST + ".tmp");
+        byte[] json = FileStorage.mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(m);
+
+        Files.write(tmp, json);
+        if(sync){
+            try(FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)){
+                ch.force(true);
+            }
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return json.length;
+    }
+
+    private static BigDecimal netOf(List<Transaction> rows){
+        Money net = Money.zero();
+        for(Transaction t : rows){
+            net = net.add(TransactionManager.signed(t));
+        }
+        return net.asBigDecimal();
+    }
+}
@@ -0,0 +1,150 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.domain.Transaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Writes ledger snapshots on a background thread, used by {@link TransactionManager} in {@link SaveMode#DEFERRED}.
+ * <p>
+ * {@link #request()} only schedules a write; every request that arrives before the write starts is served by it,
+ * so a burst of edits costs one write. The ledger is read when the write starts, written to a temp file and
+ * renamed over the target, so a crash mid-write leaves the previous file intact.
+ */
+public class SnapshotWriter implements Closeable {
+
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+    private static final long INTERVAL_MILLIS = 1_000;
+
+    //counters since the writer was created
+    public record Stats(long requests, long writes, long failures, long bytesWritten, long lastMillis, long maxMillis, long totalMillis) {
+        public long averageMillis(){
+            return writes == 0 ? 0 : totalMillis / writes;
+        }
+    }
+
+    //one write of whatever changed, returns the number of bytes written
+    public interface Target { long write(boolean sync) throws IOException; }
+
+    private final Target target;
+    private final FsyncPolicy fsyncPolicy;
+    private final long debounceMillis;
+    private final ScheduledExecutorService executor;
+
+    private ScheduledFuture<?> pending;         //guarded by this
+    private volatile boolean lastWriteFailed = false;
+    private long lastForce = 0;                 //writer thread only
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong lastNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    //whole ledger into one file, read from the supplier when the write starts
+    public SnapshotWriter(Path file, StorageFormat format, FsyncPolicy fsyncPolicy, long debounceMillis, Supplier<List<Transaction>> source){
+        this(fsyncPolicy, debounceMillis, sync -> FileStorage.writeAtomically(source.get(), file, format, sync));
+    }
+
+    public SnapshotWriter(FsyncPolicy fsyncPolicy, long debounceMillis, Target target){
+        this.target = target;
+        this.fsyncPolicy = fsyncPolicy;
+        this.debounceMillis = debounceMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "snapshot-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    //never blocks on disk: joins the write that is already scheduled, or schedules one
+    public synchronized void request(){
+        requests.incrementAndGet();
+        if(pending == null)
+            pending = executor.schedule(this::write, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    //write now and wait for it, used on Save & Exit
+    public void flush(){
+        synchronized(this){
+            if(pending != null && pending.cancel(false))
+                pending = null;
+        }
+
+        try{
+            executor.submit(this::write).get();
+        } catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        } catch(ExecutionException e){
+            System.out.println("Error saving transactions: " + e.getCause().getMessage());
+        }
+    }
+
+    //true while a requested write has not reached the disk yet, or the last one failed
+    public synchronized boolean hasPendingWrites(){
+        return pending != null || lastWriteFailed;
+    }
+
+    public Stats stats(){
+        return new Stats(requests.get(), writes.get(), failures.get(), bytesWritten.get(),
+                lastNanos.get() / 1_000_000, maxNanos.get() / 1_000_000, totalNanos.get() / 1_000_000);
+    }
+
+    @Override
+    public void close(){
+        flush();
+        executor.shutdown();
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private void write(){
+        //requests arriving from here on schedule the next write, they may not be in this snapshot
+        synchronized(this){
+            pending = null;
+        }
+
+        long start = System.nanoTime();
+        try{
+            bytesWritten.addAndGet(target.write(forceDue()));
+            lastWriteFailed = false;
+        } catch(IOException | RuntimeException e){
+            lastWriteFailed = true;
+            failures.incrementAndGet();
+            System.out.println("Error saving transactions: " + e.getMessage());
+            return;
+        }
+
+        long took = System.nanoTime() - start;
+        writes.incrementAndGet();
+        lastNanos.set(took);
+        totalNanos.addAndGet(took);
+        maxNanos.accumulateAndGet(took, Math::max);
+    }
+
+    private boolean forceDue(){
+        return switch(fsyncPolicy){
+            case ALWAYS -> true;
+            case INTERVAL -> {
+                long now = System.currentTimeMillis();
+                if(now - lastForce < INTERVAL_MILLIS)
+                    yield false;
+                lastForce = now;
+                yield true;
+            }
+            case NEVER -> false;
+        };
+    }
+}
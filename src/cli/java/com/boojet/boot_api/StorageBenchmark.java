@@ -0,0 +1,108 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Stand-alone startup benchmark for the CLI ledger storage.
+ * <p>
+ * Generates a synthetic ledger (1,000,000 rows by default), writes it with {@link FileStorage} into a
+ * temporary directory and reports how long it takes to load it back, best of a few runs.
+ *
+ * <p>Usage: {@code java com.boojet.boot_api.StorageBenchmark [rows] [runs]}
+ */
+public class StorageBenchmark {
+
+    private static final String[] MERCHANTS = {
+        "Starbucks", "Staples", "Instacart", "Pizza Pizza", "Hydro One", "Presto", "Landlord", "Cineplex", "Shoppers", "Paycheck"
+    };
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Path dir = Files.createTempDirectory("boojet-bench");
+        List<Transaction> ledger = generate(rows, new Random(42));
+
+        Path json = dir.resolve(FileStorage.FILE_NAME);
+        long saveMs = time(() -> FileStorage.writeTransactions(ledger, json, StorageFormat.JSON, false));
+        System.out.printf("%-26s %,d rows  %,.1f MB  save %,d ms (%,.0f MB/s of JSON)%n", "json",
+                rows, Files.size(json) / 1e6, saveMs, Files.size(json) / 1e3 / Math.max(1, saveMs));
+
+        report("json (streaming)", runs, () -> FileStorage.loadTransactions(json));
+        report("json (databind)", runs, () -> FileStorage.mapper.readValue(json.toFile(), new TypeReference<List<Transaction>>() {}));
+
+        Path binary = dir.resolve(StorageFormat.BINARY.fileName());
+        saveMs = time(() -> FileStorage.writeTransactions(ledger, binary, StorageFormat.BINARY, false));
+        System.out.printf("%-26s %,d rows  %,.1f MB  save %,d ms%n", "binary", rows, Files.size(binary) / 1e6, saveMs);
+
+        report("binary", runs, () -> BinaryLedgerFormat.read(binary));
+
+        for(StorageFormat compressed : new StorageFormat[]{ StorageFormat.JSON_GZIP, StorageFormat.JSON_DEFLATE }){
+            Path file = dir.resolve(compressed.fileName());
+            saveMs = time(() -> FileStorage.writeTransactions(ledger, file, compressed, false));
+            System.out.printf("%-26s %,d rows  %,.1f MB  save %,d ms (%,.0f MB/s of JSON)%n", compressed.name().toLowerCase(),
+                    rows, Files.size(file) / 1e6, saveMs, Files.size(json) / 1e3 / Math.max(1, saveMs));
+
+            report(compressed.name().toLowerCase() + " (streaming)", runs, () -> FileStorage.loadTransactions(file));
+        }
+
+        Files.walk(dir).sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+    }
+
+    /* ───── helpers ───── */
+
+    interface Load { List<Transaction> run() throws IOException; }
+    interface Task { void run() throws IOException; }
+
+    private static void report(String label, int runs, Load load) throws IOException {
+        long best = Long.MAX_VALUE;
+        int size = 0;
+
+        for(int i = 0; i < runs; i++){
+            System.gc();
+            long start = System.nanoTime();
+            size = load.run().size();
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        System.out.printf("%-26s %,d rows  load %,d ms (best of %d)%n", label, size, best, runs);
+    }
+
+    private static long time(Task task) throws IOException {
+        long start = System.nanoTime();
+        task.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    //also seeds the JMH ledger benchmark (src/jmh/java)
+    public static List<Transaction> generate(int rows, Random rnd){
+        List<Transaction> out = new ArrayList<>(rows);
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        Category[] categories = Category.values();
+
+        for(int i = 0; i < rows; i++){
+            boolean income = rnd.nextInt(10) == 0;
+            out.add(Transaction.builder()
+                    .description(MERCHANTS[rnd.nextInt(MERCHANTS.length)])
+                    .amount(Money.of(BigDecimal.valueOf(100 + rnd.nextInt(500_000), 2)))
+                    .date(start.plusDays(rnd.nextInt(3650)))
+                    .category(income ? Category.INCOME : categories[rnd.nextInt(categories.length - 1)])
+                    .income(income)
+                    .build());
+        }
+
+        return out;
+    }
+}
@@ -0,0 +1,19 @@
+package com.boojet.boot_api;
+
+public enum StorageFormat {
+    JSON("transactions.json"),          //human readable, the original format
+    JSON_GZIP("transactions.json.gz"),  //the same JSON, gzip compressed
+    JSON_DEFLATE("transactions.json.z"),//the same JSON, zlib/deflate compressed
+    BINARY("transactions.ledger"),      //compact columnar file, see BinaryLedgerFormat
+    SHARDED("transactions");            //directory with one JSON file per month, see ShardedStorage
+
+    private final String fileName;
+
+    StorageFormat(String fileName){
+        this.fileName = fileName;
+    }
+
+    public String fileName(){
+        return fileName;
+    }
+}
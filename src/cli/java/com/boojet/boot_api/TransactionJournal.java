@@ -0,0 +1,311 @@
+package com.boojet.boot_api;
+
+import com.boojet.boot_api.domain.Transaction;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only log of the changes made to the ledger since the last snapshot (e.g. {@code transactions.json}).
+ * <p>
+ * Used by {@link TransactionManager} in {@link SaveMode#AUTO} so that each add/edit/delete costs one
+ * small append instead of rewriting the whole file. Every entry carries a sequence number; the snapshot
+ * remembers the last sequence it contains in a small checkpoint file, so replay after a crash never
+ * applies an entry twice.
+ *
+ * <p><b>Files next to the snapshot:</b>
+ * <ul>
+ *   <li>{@code .journal} - entries appended since the last rotation.</li>
+ *   <li>{@code .journal.old} - entries being folded into the snapshot by a background compaction.</li>
+ *   <li>{@code .checkpoint} - sequence number of the last entry contained in the snapshot.</li>
+ *   <li>{@code .<seq>.ready} - a fully written snapshot that has not been promoted yet.</li>
+ * </ul>
+ */
+public class TransactionJournal implements Closeable {
+
+    public enum Op { ADD, UPDATE, DELETE }
+
+    //one line of the journal, "id" is the stable id the manager assigned to the transaction
+    public record Entry(long seq, Op op, long id, Transaction tx) {}
+
+    private static final long INTERVAL_MILLIS = 1_000;
+
+    //what replay found in one file: complete entries, and the length of the file they fill
+    private record Replayed(int entries, long validBytes) {}
+
+    private final Path snapshot;
+    private final Path active;
+    private final Path rotated;
+    private final Path checkpoint;
+    private final Path tmp;
+    private final StorageFormat format;
+    private final FsyncPolicy fsyncPolicy;
+
+    private FileChannel channel;
+    private long lastSeq = 0;
+    private int entries = 0;                //entries in the active file
+    private long lastForce = System.currentTimeMillis();
+
+    public TransactionJournal(Path snapshot, StorageFormat format, FsyncPolicy fsyncPolicy){
+        this.snapshot = snapshot.toAbsolutePath();
+        this.active = sibling(".journal");
+        this.rotated = sibling(".journal.old");
+        this.checkpoint = sibling(".checkpoint");
+        this.tmp = sibling(".tmp");
+        this.format = format;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /* ───── recovery ───── */
+
+    //finish an interrupted compaction, load the snapshot and replay every entry it does not contain yet
+    public List<Transaction> recover() throws IOException {
+        finishPendingSnapshot();
+
+        long covered = readCheckpoint();
+        List<Transaction> loaded = FileStorage.loadTransactions(snapshot);
+        TransactionManager.assignMissingIds(loaded);       //entries refer to transactions by id
+        lastSeq = covered;
+
+        Map<Long, Transaction> transactions = new LinkedHashMap<>();
+        for(Transaction t : loaded){
+            transactions.put(t.getId(), t);
+        }
+
+        replay(rotated, covered, transactions);
+        Replayed tail = replay(active, covered, transactions);
+        entries = tail.entries();
+
+        channel = FileChannel.open(active, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if(channel.size() > tail.validBytes()){
+            channel.truncate(tail.validBytes());        //new entries must not be glued onto a torn one
+            channel.force(true);
+        }
+        return new ArrayList<>(transactions.values());
+    }
+
+    //true if a previous run left entries in a rotated file that must be compacted before rotating again
+    public boolean hasRotatedEntries(){
+        return Files.exists(rotated);
+    }
+
+    /* ───── writing ───── */
+
+    //append one change, returns false if it could not be written
+    public boolean append(Op op, long id, Transaction tx){
+        try{
+            Entry entry = new Entry(lastSeq + 1, op, id, tx);
+            byte[] json = FileStorage.mapper.writeValueAsBytes(entry);
+
+            ByteBuffer buf = ByteBuffer.allocate(json.length + 1);
+            buf.put(json).put((byte) '\n').flip();
+            while(buf.hasRemaining()){
+                channel.write(buf);
+            }
+
+            lastSeq = entry.seq();
+            entries++;
+            forceIfDue();
+            return true;
+        } catch(IOException e){
+            System.out.println("Error writing journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public int size(){
+        return entries;
+    }
+
+    public long lastSeq(){
+        return lastSeq;
+    }
+
+    //move the active file aside so a background compaction can fold it in while new entries keep coming
+    public boolean rotate(){
+        if(Files.exists(rotated))
+            return false;               //previous compaction still running (or failed), keep appending
+
+        try{
+            channel.force(true);
+            channel.close();
+            Files.move(active, rotated, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(active, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            entries = 0;
+            return true;
+        } catch(IOException e){
+            System.out.println("Error rotating journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /* ───── compaction ───── */
+
+    //background half of a compaction: snapshot holds everything up to seq, which is all of the rotated file
+    public void compactRotated(List<Transaction> copy, long seq) throws IOException {
+        writeSnapshot(copy, seq);
+        Files.deleteIfExists(rotated);
+    }
+
+    //synchronous compaction of everything (used on exit), caller must make sure no background compaction is running
+    public void compactAll(List<Transaction> transactions) throws IOException {
+        writeSnapshot(transactions, lastSeq);
+        Files.deleteIfExists(rotated);
+        channel.truncate(0);
+        channel.force(true);
+        entries = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(channel != null && channel.isOpen()){
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private Path sibling(String suffix){
+        return snapshot.resolveSibling(snapshot.getFileName() + suffix);
+    }
+
+    private void forceIfDue() throws IOException {
+        switch(fsyncPolicy){
+            case ALWAYS -> channel.force(false);
+            case INTERVAL -> {
+                long now = System.currentTimeMillis();
+                if(now - lastForce >= INTERVAL_MILLIS){
+                    channel.force(false);
+                    lastForce = now;
+                }
+            }
+            case NEVER -> { }
+        }
+    }
+
+    //write to a temp file, then rename to "<seq>.ready" so a complete snapshot is always recognisable
+    private void writeSnapshot(List<Transaction> transactions, long seq) throws IOException {
+        FileStorage.writeTransactions(transactions, tmp, format, true);
+        Path ready = sibling("." + seq + ".ready");
+        Files.move(tmp, ready, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        promote(ready, seq);
+    }
+
+    //checkpoint first, then the snapshot: a crash in between is finished by finishPendingSnapshot()
+    private void promote(Path ready, long seq) throws IOException {
+        Path checkpointTmp = sibling(".checkpoint.tmp");
+        try(FileChannel ch = FileChannel.open(checkpointTmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            ch.write(ByteBuffer.wrap(Long.toString(seq).getBytes(StandardCharsets.US_ASCII)));
+            ch.force(true);
+        }
+        Files.move(checkpointTmp, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(ready, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void finishPendingSnapshot() throws IOException {
+        Files.deleteIfExists(tmp);      //a half written temp file is never trusted
+
+        Path newest = null;
+        long newestSeq = -1;
+        String prefix = snapshot.getFileName() + ".";
+
+        try(DirectoryStream<Path> dir = Files.newDirectoryStream(snapshot.getParent(), prefix + "*.ready")){
+            for(Path p : dir){
+                String name = p.getFileName().toString();
+                String seqText = name.substring(prefix.length(), name.length() - ".ready".length());
+                try{
+                    long seq = Long.parseLong(seqText);
+                    if(seq > newestSeq){
+                        if(newest != null) Files.deleteIfExists(newest);
+                        newest = p;
+                        newestSeq = seq;
+                    } else {
+                        Files.deleteIfExists(p);
+                    }
+                } catch(NumberFormatException e){
+                    //not one of ours, leave it alone
+                }
+            }
+        }
+
+        if(newest != null){
+            promote(newest, newestSeq);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if(!Files.exists(checkpoint))
+            return 0;
+        return Long.parseLong(Files.readString(checkpoint, StandardCharsets.US_ASCII).trim());
+    }
+
+    //apply entries newer than "covered"; stops at the first line that is not a complete entry
+    private Replayed replay(Path file, long covered, Map<Long, Transaction> transactions) throws IOException {
+        if(!Files.exists(file))
+            return new Replayed(0, 0);
+
+        int lines = 0;
+        long valid = 0;                     //bytes up to and including the newline of the last complete entry
+        try(InputStream in = new BufferedInputStream(Files.newInputStream(file))){
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            int b;
+            while((b = in.read()) != -1){
+                if(b != '\n'){
+                    line.write(b);
+                    continue;
+                }
+
+                long end = valid + line.size() + 1;
+                String text = line.toString(StandardCharsets.UTF_8);
+                line.reset();
+                if(text.isBlank()){
+                    valid = end;
+                    continue;
+                }
+
+                Entry entry;
+                try{
+                    entry = FileStorage.mapper.readValue(text, Entry.class);
+                } catch(IOException e){
+                    break;
+                }
+
+                valid = end;
+                lines++;
+                if(entry.seq() <= covered || entry.seq() <= lastSeq)
+                    continue;
+
+                apply(entry, transactions);
+                lastSeq = entry.seq();
+            }
+        }
+
+        //an append is acknowledged only once its newline is written, so whatever follows is a torn write from a crash
+        if(valid < Files.size(file))
+            System.out.println("Ignoring incomplete journal entry in " + file.getFileName());
+        return new Replayed(lines, valid);
+    }
+
+    private void apply(Entry entry, Map<Long, Transaction> transactions){
+        switch(entry.op()){
+            case ADD, UPDATE -> transactions.put(entry.id(), entry.tx());
+            case DELETE -> transactions.remove(entry.id());
+        }
+    }
+}
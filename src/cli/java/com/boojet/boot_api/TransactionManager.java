@@ -0,0 +1,475 @@
+package com.boojet.boot_api;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+import java.time.YearMonth;
+
+public class TransactionManager{
+
+    private static final int COMPACT_AFTER_ENTRIES = 1_000;     //journal size that triggers a background compaction
+
+    //primary store, keyed by stable id in insertion order; the indexes below are kept in step on every change
+    private final Map<Long, Transaction> byId = new LinkedHashMap<>();
+    private final TreeMap<YearMonth, Map<Long, Transaction>> byMonth = new TreeMap<>();
+    private final EnumMap<Category, Map<Long, Transaction>> byCategory = new EnumMap<>(Category.class);
+    private Money balance = Money.zero();
+    private long nextId = 1;
+
+    private final SaveMode saveMode;
+    private final StorageFormat storageFormat;
+    private boolean dirty = false;       //tracks unsaved edits
+
+    //AUTO mode only: changes are appended to the journal and folded into the snapshot in the background
+    private TransactionJournal journal;
+    private ExecutorService compactor;
+    private Future<?> compaction;
+
+    //DEFERRED mode only: coalesces changes into background snapshot writes
+    private SnapshotWriter writer;
+
+    //SHARDED format only: months still on disk, their net amount, and the shards changed since the last save
+    private ShardedStorage shards;
+    private final Set<YearMonth> unloadedMonths = new HashSet<>();
+    private Money unloadedNet = Money.zero();
+    private final Map<Long, Transaction> undated = new LinkedHashMap<>();
+    private final Set<String> changedShards = new HashSet<>();
+    
+    public TransactionManager(SaveMode saveMode){
+        this(saveMode, StorageFormat.JSON, FsyncPolicy.ALWAYS);
+    }
+
+    public TransactionManager(SaveMode saveMode, FsyncPolicy fsyncPolicy){
+        this(saveMode, StorageFormat.JSON, fsyncPolicy);
+    }
+
+    public TransactionManager(SaveMode saveMode, StorageFormat storageFormat, FsyncPolicy fsyncPolicy){
+        this.saveMode = saveMode;
+        this.storageFormat = storageFormat;
+
+        if (saveMode == SaveMode.NONE)
+            return;
+
+        //a sharded ledger only rewrites the months that changed, so AUTO saves shards directly instead of journaling
+        if (storageFormat == StorageFormat.SHARDED)
+            openShards();
+        else if (saveMode == SaveMode.AUTO)
+            openJournal(fsyncPolicy);
+        else
+            load(FileStorage.loadTransactions(storageFormat));
+
+        if (saveMode == SaveMode.DEFERRED){
+            writer = shards != null
+                    ? new SnapshotWriter(fsyncPolicy, SnapshotWriter.DEFAULT_DEBOUNCE_MILLIS, this::saveShards)
+                    : new SnapshotWriter(Path.of(storageFormat.fileName()), storageFormat, fsyncPolicy,
+                                        SnapshotWriter.DEFAULT_DEBOUNCE_MILLIS, this::snapshot);
+        }
+    }
+
+    //assigns the next id to the transaction if it has none, returns the id it is stored under
+    public synchronized long addTransaction(Transaction t){
+        if(t.getId() == null || byId.containsKey(t.getId()))
+            t.setId(nextId);
+        nextId = Math.max(nextId, t.getId() + 1);
+
+        if(t.getDate() != null)
+            ensureMonthLoaded(YearMonth.from(t.getDate()));
+        index(t);
+        //FileStorage.saveTransactions(transactions); //update file on every change
+        markDirty(TransactionJournal.Op.ADD, t.getId(), t);
+        return t.getId();
+    }
+
+    //returns false if no transaction has that id
+    public synchronized boolean updateTransaction(long id, Transaction repl){
+        Transaction old = lookup(id);
+        if(old == null)
+            return false;
+
+        if(repl.getDate() != null)
+            ensureMonthLoaded(YearMonth.from(repl.getDate()));
+        unindex(old);
+        repl.setId(id);
+        index(repl);
+        markDirty(TransactionJournal.Op.UPDATE, id, repl);
+        return true;
+    }
+
+    //returns false if no transaction has that id
+    public synchronized boolean deleteTransaction(long id) {
+        Transaction old = lookup(id);
+        if(old == null)
+            return false;
+
+        byId.remove(id);
+        unindex(old);
+        markDirty(TransactionJournal.Op.DELETE, id, null);
+        return true;
+    }
+
+    public synchronized Optional<Transaction> findTransaction(long id){
+        return Optional.ofNullable(lookup(id));
+    }
+
+    //read-only list for UI to display Transaction ids to user, in the order they were added
+    public synchronized List<Transaction> getTransactions(){
+        ensureAllLoaded();
+        return List.copyOf(byId.values());
+    }
+
+    public void listTransactions(){
+        for(Transaction t : getTransactions()){
+            System.out.println(t);
+        }
+    }
+
+    //kept up to date on every change, so this is O(1); months not loaded yet count with their manifest total
+    public synchronized Money getBalance(){
+        return balance.add(unloadedNet);
+    }
+
+    /* ───── Filtering and Summary ───── */
+
+    //return the transactions in that month
+    public synchronized List<Transaction> inMonth(YearMonth ym){
+        ensureMonthLoaded(ym);       //sharded ledgers read just this month's file, the first time only
+        Map<Long, Transaction> month = byMonth.get(ym);
+        return month == null ? List.of() : List.copyOf(month.values());
+    }
+
+    //return the transactions from "from" to "to", both months included
+    public synchronized List<Transaction> inMonths(YearMonth from, YearMonth to){
+        for(YearMonth ym : List.copyOf(unloadedMonths)){
+            if(!ym.isBefore(from) && !ym.isAfter(to))
+                ensureMonthLoaded(ym);
+        }
+
+        List<Transaction> out = new ArrayList<>();
+        byMonth.subMap(from, true, to, true).values().forEach(m -> out.addAll(m.values()));
+        return out;
+    }
+
+    //return all transactions for that category
+    public synchronized List<Transaction> inCategory(Category cat){
+        ensureAllLoaded();
+        Map<Long, Transaction> category = byCategory.get(cat);
+        return category == null ? List.of() : List.copyOf(category.values());
+    }
+
+    //summary??
+    public Map<Category, Money> summariseByCategory(List<Transaction> list){
+        return sumByCategory(list);
+
+        //make list into stream -> collect data in a map -> group transactions by category -> instead of getting whole transaction object just get the amounts
+        //-> add all amounts up/reduce to total (starts at zero) 
+
+
+        // -------------------A more readable version---------------------
+        // Map<Category, BigDecimal> summary = new HashMap<>();
+
+        // for (Transaction t : list) {
+        //     Category cat = t.getCategory();
+        //     BigDecimal amt = t.getAmount();
+
+        //     summary.put(cat, summary.getOrDefault(cat, BigDecimal.ZERO).add(amt));
+        // }
+
+        // return summary;
+        // ---------------------------------------------------------------
+    
+    }
+
+    /* ───── persistence helpers ───── */
+
+    public void save(){
+        if(journal != null){
+            compactJournal();
+            return;
+        }
+
+        if(writer != null){
+            writer.flush();
+            dirty = writer.hasPendingWrites();
+            return;
+        }
+
+        if(shards != null){
+            try{
+                saveShards(false);
+                dirty = false;
+            } catch(IOException e){
+                System.out.println("Error saving transactions: " + e.getMessage());
+            }
+            return;
+        }
+
+        FileStorage.saveTransactions(new ArrayList<>(byId.values()), storageFormat);
+        dirty = false;
+    }
+
+    public boolean hasUnsavedChanges(){
+        if(writer != null)
+            return writer.hasPendingWrites();
+        return dirty;
+    }
+
+    public void markDirty(){
+        dirty = true;
+        if(saveMode == SaveMode.AUTO)
+            save();
+        else if(writer != null)
+            writer.request();           //returns right away, the write happens on the writer thread
+    }
+
+    //DEFERRED mode only: request/write counts, write latency and bytes written so far
+    public Optional<SnapshotWriter.Stats> writerStats(){
+        return writer == null ? Optional.empty() : Optional.of(writer.stats());
+    }
+
+    //called by the snapshot writer thread, the lock keeps it from copying a half applied change
+    private synchronized List<Transaction> snapshot(){
+        return new ArrayList<>(byId.values());
+    }
+
+    //AUTO mode: one O(1) journal append per change instead of rewriting the whole file
+    private void markDirty(TransactionJournal.Op op, long id, Transaction t){
+        if(journal == null){
+            markDirty();
+            return;
+        }
+
+        //an entry that failed to reach the journal stays "unsaved" until the next successful compaction
+        dirty = !journal.append(op, id, t) || dirty;
+
+        if(journal.size() >= COMPACT_AFTER_ENTRIES)
+            compactInBackground();
+    }
+
+    /* ───── journal helpers (AUTO mode) ───── */
+
+    private void openJournal(FsyncPolicy fsyncPolicy){
+        journal = new TransactionJournal(Path.of(storageFormat.fileName()), storageFormat, fsyncPolicy);
+        compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "journal-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try{
+            load(journal.recover());
+
+            //leftovers of an interrupted compaction are folded in right away so rotation can resume
+            if(journal.hasRotatedEntries())
+                compactJournal();
+        } catch(IOException e){
+            System.out.println("Error recovering transactions: " + e.getMessage());
+        }
+    }
+
+    private void compactInBackground(){
+        if(compaction != null && !compaction.isDone())
+            return;
+
+        //snapshot of the list and the last sequence it contains, taken on the UI thread
+        List<Transaction> copy = new ArrayList<>(byId.values());
+        long seq = journal.lastSeq();
+
+        if(!journal.rotate())
+            return;
+
+        compaction = compactor.submit(() -> {
+            try{
+                journal.compactRotated(copy, seq);
+            } catch(IOException e){
+                System.out.println("Error compacting journal: " + e.getMessage());
+            }
+        });
+    }
+
+    //synchronous: waits for any background compaction, then writes the full snapshot and empties the journal
+    private void compactJournal(){
+        try{
+            if(compaction != null)
+                compaction.get();
+
+            journal.compactAll(new ArrayList<>(byId.values()));
+            dirty = false;
+        } catch(Exception e){
+            System.out.println("Error saving transactions: " + e.getMessage());
+        }
+    }
+
+    /* ───── shard helpers (SHARDED format) ───── */
+
+    private void openShards(){
+        shards = new ShardedStorage(Path.of(storageFormat.fileName()));
+
+        if(!shards.exists()){
+            //first run with shards: start from the single-file ledger, every month is written on the first save
+            load(FileStorage.loadTransactions(Path.of(FileStorage.FILE_NAME)));
+            return;
+        }
+
+        try{
+            shards.open();
+            nextId = shards.nextId();
+            for(YearMonth ym : shards.months()){
+                unloadedMonths.add(ym);
+                unloadedNet = unloadedNet.add(shards.net(ShardedStorage.key(ym)));
+            }
+
+            for(Transaction t : shards.loadShard(ShardedStorage.UNDATED)){
+                index(t);
+            }
+            changedShards.clear();
+        } catch(IOException e){
+            System.out.println("Error loading transactions: " + e.getMessage());
+        }
+    }
+
+    private void ensureMonthLoaded(YearMonth ym){
+        if(!unloadedMonths.remove(ym))
+            return;
+
+        for(Transaction t : shards.loadMonth(ym)){
+            index(t);
+        }
+        unloadedNet = unloadedNet.subtract(shards.net(ShardedStorage.key(ym)));
+        changedShards.remove(ShardedStorage.key(ym));        //loading is not a change
+    }
+
+    private void ensureAllLoaded(){
+        for(YearMonth ym : List.copyOf(unloadedMonths)){
+            ensureMonthLoaded(ym);
+        }
+    }
+
+    private Transaction lookup(long id){
+        Transaction t = byId.get(id);
+        if(t == null && !unloadedMonths.isEmpty()){
+            ensureAllLoaded();
+            t = byId.get(id);
+        }
+        return t;
+    }
+
+    //copies the changed shards under the lock, writes them outside it (called on the writer thread in DEFERRED mode)
+    private long saveShards(boolean sync) throws IOException {
+        Map<String, List<Transaction>> changed = new TreeMap<>();
+        long next;
+
+        synchronized(this){
+            for(String key : changedShards){
+                Map<Long, Transaction> rows = key.equals(ShardedStorage.UNDATED)
+                        ? undated
+                        : byMonth.getOrDefault(YearMonth.parse(key), Map.of());
+                changed.put(key, new ArrayList<>(rows.values()));
+            }
+            changedShards.clear();
+            next = nextId;
+        }
+
+        try{
+            return shards.write(changed, next, sync);
+        } catch(IOException e){
+            synchronized(this){
+                changedShards.addAll(changed.keySet());      //try these again on the next save
+            }
+            throw e;
+        }
+    }
+
+    /* ───── index helpers ───── */
+
+    private void load(List<Transaction> loaded){
+        nextId = assignMissingIds(loaded);
+        for(Transaction t : loaded){
+            index(t);
+        }
+    }
+
+    private void index(Transaction t){
+        byId.put(t.getId(), t);
+        if(t.getDate() != null)
+            byMonth.computeIfAbsent(YearMonth.from(t.getDate()), k -> new LinkedHashMap<>()).put(t.getId(), t);
+        else
+            undated.put(t.getId(), t);
+        if(t.getCategory() != null)
+            byCategory.computeIfAbsent(t.getCategory(), k -> new LinkedHashMap<>()).put(t.getId(), t);
+        balance = balance.add(signed(t));
+        changedShards.add(shardKey(t));
+    }
+
+    //secondary indexes and balance only: an update replaces the primary entry in place to keep its position
+    private void unindex(Transaction t){
+        if(t.getDate() != null)
+            removeFrom(byMonth, YearMonth.from(t.getDate()), t.getId());
+        else
+            undated.remove(t.getId());
+        if(t.getCategory() != null)
+            removeFrom(byCategory, t.getCategory(), t.getId());
+        balance = balance.subtract(signed(t));
+        changedShards.add(shardKey(t));
+    }
+
+    private static String shardKey(Transaction t){
+        return t.getDate() == null ? ShardedStorage.UNDATED : ShardedStorage.key(YearMonth.from(t.getDate()));
+    }
+
+    private static <K> void removeFrom(Map<K, Map<Long, Transaction>> index, K key, long id){
+        Map<Long, Transaction> bucket = index.get(key);
+        if(bucket != null && bucket.remove(id) != null && bucket.isEmpty())
+            index.remove(key);
+    }
+
+    //also used by ConcurrentTransactionManager
+    static Map<Category, Money> sumByCategory(List<Transaction> list){
+        return list.stream().collect(
+            Collectors.groupingBy(Transaction::getCategory,
+                                    Collectors.mapping(Transaction::getAmount,
+                                        Collectors.reducing(Money.zero(), (a,b)-> a.add(b)))));
+    }
+
+    //amount as it counts towards the balance, also used by ConcurrentTransactionManager and ShardedStorage
+    static Money signed(Transaction t){
+        if(t.getAmount() == null)
+            return Money.zero();
+        return t.isIncome() ? t.getAmount() : t.getAmount().negate();
+    }
+
+    //older ledgers were saved without ids: number them after the highest existing id, in file order,
+    //so the same snapshot always gets the same ids (journal entries refer to them). Returns the next free id.
+    static long assignMissingIds(List<Transaction> transactions){
+        long next = 1;
+        for(Transaction t : transactions){
+            if(t.getId() != null)
+                next = Math.max(next, t.getId() + 1);
+        }
+
+        Set<Long> seen = new HashSet<>();
+        for(Transaction t : transactions){
+            if(t.getId() == null || !seen.add(t.getId())){
+                t.setId(next++);
+                seen.add(t.getId());
+            }
+        }
+        return next;
+    }
+}
@@ -0,0 +1,236 @@
+package com.boojet.boot_api.UI;
+
+import com.boojet.boot_api.FileStorage;
+import com.boojet.boot_api.TransactionManager;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-interactive counterpart of {@link ConsoleUI}: applies a script of commands to the {@link TransactionManager}
+ * in one pass and saves once at the end.
+ *
+ * <p><b>Script</b> (one command per line, fields separated by {@code |}, blank lines and {@code #} comments ignored):
+ * <pre>
+ * add|income|1200.00|INCOME|2025-09-28|First Salary      (date may be left empty for today)
+ * add|expense|12.50|FOOD||Lunch
+ * edit|42|amount=15.00|category=FOOD|description=Dinner|date=2025-09-29|type=expense
+ * delete|42
+ * summary|2025-09
+ * balance
+ * </pre>
+ *
+ * <p><b>Output</b> is one JSON object per command, e.g. {@code {"line":1,"op":"add","ok":true,"id":9}} or
+ * {@code {"line":3,"op":"edit","ok":false,"error":"..."}}, followed by a final
+ * {@code {"op":"done","applied":..,"failed":..,"saved":..,"balance":..}} line.
+ */
+public class BatchRunner {
+
+    private final TransactionManager manager;
+    private final PrintStream out;
+
+    private int applied = 0;
+    private int failed = 0;
+
+    public BatchRunner(TransactionManager manager, PrintStream out){
+        this.manager = manager;
+        this.out = out;
+    }
+
+    //returns the number of commands that failed, so callers can turn it into an exit code
+    public int run(BufferedReader script) throws IOException {
+        int changes = 0;
+        String line;
+        int lineNo = 0;
+
+        while((line = script.readLine()) != null){
+            lineNo++;
+            line = line.strip();
+            if(line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            String[] f = line.split("\\|", -1);
+            String op = f[0].strip().toLowerCase();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("line", lineNo);
+            result.put("op", op);
+            result.put("ok", false);
+
+            try{
+                switch(op){
+                    case "add" -> { result.put("id", add(f)); changes++; }
+                    case "edit" -> { result.put("id", edit(f)); changes++; }
+                    case "delete" -> { result.put("id", delete(f)); changes++; }
+                    case "summary" -> summary(f, result);
+                    case "balance" -> result.put("balance", manager.getBalance());
+                    default -> throw new IllegalArgumentException("Unknown command: " + op);
+                }
+                result.put("ok", true);
+                applied++;
+            } catch(RuntimeException e){
+                //one bad line (or bad data in the ledger) must not lose the changes already applied
+                result.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                failed++;
+            }
+
+            print(result);
+        }
+
+        //one save for the whole script, whatever the save mode
+        boolean saved = changes > 0;
+        if(saved)
+            manager.save();
+
+        Map<String, Object> done = new LinkedHashMap<>();
+        done.put("op", "done");
+        done.put("applied", applied);
+        done.put("failed", failed);
+        done.put("saved", saved && !manager.hasUnsavedChanges());
+        done.put("balance", manager.getBalance());
+        print(done);
+
+        return failed;
+    }
+
+    // ───── commands ─────
+
+    //add|type|amount|category|date|description, type is income or expense
+    private long add(String[] f){
+        require(f, 6, "add|income or expense|amount|category|date|description");
+
+        Transaction t = Transaction.builder()
+                .income(type(f[1]))
+                .amount(money(f[2]))
+                .category(category(f[3]))
+                .date(f[4].isBlank() ? LocalDate.now() : LocalDate.parse(f[4].strip()))
+                .description(joinRest(f, 5))
+                .build();
+
+        return manager.addTransaction(t);
+    }
+
+    //edit|id|field=value|...
+    private long edit(String[] f){
+        require(f, 3, "edit|id|field=value|...");
+        long id = id(f[1]);
+        Transaction old = manager.findTransaction(id)
+                .orElseThrow(() -> new IllegalArgumentException("No transaction with id " + id));
+
+        Transaction updated = Transaction.builder()
+                .description(old.getDescription())
+                .amount(old.getAmount())
+                .date(old.getDate())
+                .category(old.getCategory())
+                .income(old.isIncome())
+                .account(old.getAccount())
+                .build();
+
+        for(int i = 2; i < f.length; i++){
+            String[] kv = f[i].split("=", 2);
+            if(kv.length != 2)
+                throw new IllegalArgumentException("Expected field=value, got: " + f[i]);
+
+            String value = kv[1].strip();
+            switch(kv[0].strip().toLowerCase()){
+                case "description" -> updated.setDescription(value);
+                case "amount" -> updated.setAmount(money(value));
+                case "category" -> updated.setCategory(category(value));
+                case "date" -> updated.setDate(LocalDate.parse(value));
+                case "type" -> updated.setIncome(type(value));
+                default -> throw new IllegalArgumentException("Unknown field: " + kv[0]);
+            }
+        }
+
+        manager.updateTransaction(id, updated);
+        return id;
+    }
+
+    //delete|id
+    private long delete(String[] f){
+        require(f, 2, "delete|id");
+        long id = id(f[1]);
+        if(!manager.deleteTransaction(id))
+            throw new IllegalArgumentException("No transaction with id " + id);
+        return id;
+    }
+
+    //summary|yyyy-MM
+    private void summary(String[] f, Map<String, Object> result){
+        require(f, 2, "summary|yyyy-MM");
+        YearMonth ym = YearMonth.parse(f[1].strip());
+        List<Transaction> subset = manager.inMonth(ym);
+        //older ledgers can hold rows without an amount or category, they are left out of the totals they lack
+        List<Transaction> withAmount = subset.stream().filter(t -> t.getAmount() != null).toList();
+        List<Transaction> categorised = withAmount.stream().filter(t -> t.getCategory() != null).toList();
+
+        Money net = withAmount.stream()
+                              .map(t -> t.isIncome() ? t.getAmount() : t.getAmount().negate())
+                              .reduce(Money.zero(), Money::add);
+
+        result.put("month", ym.toString());
+        result.put("count", subset.size());
+        result.put("categories", manager.summariseByCategory(categorised));
+        result.put("net", net);
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private void print(Map<String, Object> result){
+        try{
+            out.println(FileStorage.mapper.writeValueAsString(result));
+        } catch(JsonProcessingException e){
+            out.println("{\"ok\":false,\"error\":\"could not encode result\"}");
+        }
+    }
+
+    private static void require(String[] f, int fields, String usage){
+        if(f.length < fields)
+            throw new IllegalArgumentException("Usage: " + usage);
+    }
+
+    private static boolean type(String s){
+        return switch(s.strip().toLowerCase()){
+            case "income", "i" -> true;
+            case "expense", "e" -> false;
+            default -> throw new IllegalArgumentException("Type must be income or expense, got: " + s);
+        };
+    }
+
+    private static Money money(String s){
+        s = s.strip();
+        if(!s.matches("\\d+(\\.\\d{1,2})?"))
+            throw new IllegalArgumentException("Enter a positive amount with up to two decimals, got: " + s);
+        return Money.of(s);
+    }
+
+    private static Category category(String s){
+        try{
+            return Category.valueOf(s.strip().toUpperCase());
+        } catch(IllegalArgumentException e){
+            throw new IllegalArgumentException("Unknown category: " + s);
+        }
+    }
+
+    private static long id(String s){
+        try{
+            return Long.parseLong(s.strip());
+        } catch(NumberFormatException e){
+            throw new IllegalArgumentException("Not a transaction id: " + s);
+        }
+    }
+
+    //descriptions may themselves contain '|'
+    private static String joinRest(String[] f, int from){
+        return String.join("|", List.of(f).subList(from, f.length)).strip();
+    }
+}
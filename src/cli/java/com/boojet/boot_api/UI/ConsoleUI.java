@@ -69,7 +69,7 @@ public class ConsoleUI {
         String desc = readLine("Description: ");
         Money amount = readMoney("Amount: ");
         Category cat = readCategory("Catergory (FOOD, RENT, etc.): ");
-        Transaction t = new Transaction(desc, amount, LocalDate.now(), cat, isIncome);
+        Transaction t = new Transaction(desc, amount, LocalDate.now(), cat, isIncome, null);      //CLI ledgers have no accounts
         manager.addTransaction(t);
         System.out.println("Transaction added!");
     }
@@ -82,8 +82,9 @@ public class ConsoleUI {
             return;
         }
 
-        for(int i = 0; i < list.size(); i++){
-            System.out.printf("%3d) %s%n", i + 1, list.get(i));
+        //ids stay the same across edits and deletes, unlike list positions
+        for(Transaction t : list){
+            System.out.printf("%5d) %s%n", t.getId(), t);
         }
     }
 
@@ -95,8 +96,13 @@ public class ConsoleUI {
             return;
         }
 
-        int choice = readInt("Choose which transaction number to edit: ") - 1;
-        Transaction old = manager.getTransactions().get(choice);
+        long id = readInt("Choose which transaction number to edit: ");
+        Transaction old = manager.findTransaction(id).orElse(null);
+
+        if(old == null){
+            System.out.println("No transaction with number " + id);
+            return;
+        }
 
         String desc = readLine("Description [" + old.getDescription()+ "]: ");
         
@@ -115,8 +121,8 @@ public class ConsoleUI {
                                     (old.isIncome() ? "I" : "E") + "]: ").strip()
                                     .equalsIgnoreCase("I") ? true : old.isIncome();
 
-        Transaction updated = new Transaction(desc, amount, old.getDate(), cat, isIncome);
-        manager.updateTransaction(choice, updated);
+        Transaction updated = new Transaction(desc, amount, old.getDate(), cat, isIncome, old.getAccount());
+        manager.updateTransaction(id, updated);
         System.out.println(" Transaction Updated.");
         
     }
@@ -129,11 +135,16 @@ public class ConsoleUI {
             return;
         }
 
-        int choice = readInt("Choose which transaction number to delete: ") - 1;
+        long id = readInt("Choose which transaction number to delete: ");
+        if(manager.findTransaction(id).isEmpty()){
+            System.out.println("No transaction with number " + id);
+            return;
+        }
+
         String confirm = readLine("Are you sure you want to delete this? (y/n): ");
         
         if(confirm.toLowerCase().startsWith("y")){
-            manager.deleteTransaction(choice);
+            manager.deleteTransaction(id);
             System.out.println("DELETED!");
         }
     }
@@ -0,0 +1,63 @@
+package com.boojet.boot_api.bench;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.boojet.boot_api.domain.IncomePlan;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.PayType;
+
+/**
+ * {@link IncomePlan#calculateMonthlyAmount(YearMonth)} for each {@link PayType}, once for a month the plan
+ * is active in and once for a month it is not (the early return).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncomePlanBenchmark {
+
+    @Param({"HOURLY", "WEEKLY", "BIWEEKLY", "MONTHLY", "ANNUAL"})
+    private PayType payType;
+
+    private final YearMonth active = YearMonth.of(2025, 6);
+    private final YearMonth inactive = YearMonth.of(2019, 6);
+    private IncomePlan plan;
+
+    @Setup
+    public void setup(){
+        plan = IncomePlan.builder()
+                .sourceName("Bench")
+                .payType(payType)
+                .amount(Money.of(payType == PayType.HOURLY ? "27.50" : "2450.00"))
+                .hoursPerWeek(payType == PayType.HOURLY ? new BigDecimal("37.5") : null)
+                .effectiveFrom(LocalDate.of(2024, 1, 1))
+                .build();
+    }
+
+    @Benchmark
+    public Money activeMonth(){
+        return plan.calculateMonthlyAmount(active);
+    }
+
+    @Benchmark
+    public Money inactiveMonth(){
+        return plan.calculateMonthlyAmount(inactive);
+    }
+}
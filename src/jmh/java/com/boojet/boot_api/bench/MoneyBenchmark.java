@@ -0,0 +1,93 @@
+package com.boojet.boot_api.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.boojet.boot_api.domain.Money;
+
+/**
+ * {@link Money} construction and arithmetic. Every operation rescales to 2 decimals and allocates,
+ * so this is the floor under every balance and summary the API computes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int AMOUNTS = 1024;
+
+    private final BigDecimal[] decimals = new BigDecimal[AMOUNTS];
+    private final String[] strings = new String[AMOUNTS];
+    private final Money[] amounts = new Money[AMOUNTS];
+    private int i;
+
+    @Setup
+    public void setup(){
+        for(int k = 0; k < AMOUNTS; k++){
+            decimals[k] = BigDecimal.valueOf(100 + k * 7919L % 500_000, 2);
+            strings[k] = decimals[k].toPlainString();
+            amounts[k] = Money.of(decimals[k]);
+        }
+    }
+
+    @Benchmark
+    public Money ofBigDecimal(){
+        return Money.of(decimals[next()]);
+    }
+
+    @Benchmark
+    public Money ofString(){
+        return Money.of(strings[next()]);
+    }
+
+    @Benchmark
+    public Money add(){
+        int k = next();
+        return amounts[k].add(amounts[(k + 1) & (AMOUNTS - 1)]);
+    }
+
+    @Benchmark
+    public Money subtract(){
+        int k = next();
+        return amounts[k].subtract(amounts[(k + 1) & (AMOUNTS - 1)]);
+    }
+
+    @Benchmark
+    public void compareTo(Blackhole bh){
+        int k = next();
+        bh.consume(amounts[k].compareTo(amounts[(k + 1) & (AMOUNTS - 1)]));
+    }
+
+    //what a balance or category total does: fold a run of amounts starting from zero
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public Money sum(){
+        Money total = Money.zero();
+        for(Money m : amounts){
+            total = total.add(m);
+        }
+        return total;
+    }
+
+    //-----helpers-----
+
+    private int next(){
+        return i++ & (AMOUNTS - 1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.boojet.boot_api.bench;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.boojet.boot_api.controllers.PageResponse;
+import com.boojet.boot_api.controllers.dto.TransactionDto;
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson serialization of a {@code GET /transactions} page, {@link PageResponse} of {@link TransactionDto},
+ * with an {@link ObjectMapper} built the way Spring Boot builds the application's. Deserialization is
+ * measured too since the UI and the import path read the same shape back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageResponseJsonBenchmark {
+
+    private static final String[] MERCHANTS = {
+        "Starbucks", "Staples", "Instacart", "Pizza Pizza", "Hydro One", "Presto", "Landlord", "Cineplex", "Shoppers", "Paycheck"
+    };
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private ObjectMapper mapper;
+    private PageResponse<TransactionDto> page;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writerFor(new TypeReference<PageResponse<TransactionDto>>() {});
+
+        Random rnd = new Random(42);
+        Account account = Account.builder().id(1L).name("Chequing").build();
+        List<TransactionDto> content = new ArrayList<>(pageSize);
+        for(int i = 0; i < pageSize; i++){
+            boolean income = rnd.nextInt(10) == 0;
+            content.add(TransactionDto.builder()
+                    .id(1_000L + i)
+                    .description(MERCHANTS[rnd.nextInt(MERCHANTS.length)])
+                    .amount(Money.of(BigDecimal.valueOf(100 + rnd.nextInt(500_000), 2)))
+                    .date(LocalDate.of(2025, 6, 1).plusDays(rnd.nextInt(30)))
+                    .category(income ? Category.INCOME : Category.values()[rnd.nextInt(Category.values().length - 1)])
+                    .income(income)
+                    .Account(account)
+                    .version(0L)
+                    .build());
+        }
+
+        page = new PageResponse<>(content, 0, pageSize, 10_000, 10_000 / pageSize, true, false);
+        json = writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageResponse<TransactionDto> deserialize() throws IOException {
+        return mapper.readValue(json, new TypeReference<PageResponse<TransactionDto>>() {});
+    }
+}
@@ -0,0 +1,83 @@
+package com.boojet.boot_api.bench;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.boojet.boot_api.SaveMode;
+import com.boojet.boot_api.StorageBenchmark;
+import com.boojet.boot_api.TransactionManager;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+/**
+ * Summaries over the CLI's in-memory ledger ({@link TransactionManager}) with 1,000,000 rows by default,
+ * the same synthetic ledger {@link StorageBenchmark} loads. Nothing is persisted ({@link SaveMode#NONE}).
+ * <p>
+ * The ledger is built once per fork, in a 2 GB heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionManagerBenchmark {
+
+    @Param("1000000")
+    private int rows;
+
+    private TransactionManager manager;
+    private YearMonth month;
+
+    @Setup
+    public void setup(){
+        manager = new TransactionManager(SaveMode.NONE);
+        for(Transaction t : StorageBenchmark.generate(rows, new Random(42))){
+            manager.addTransaction(t);
+        }
+        month = YearMonth.of(2020, 6);           //generated dates span 2015-2024
+    }
+
+    @Benchmark
+    public Money balance(){
+        return manager.getBalance();
+    }
+
+    @Benchmark
+    public Map<Category, Money> monthSummary(){
+        return manager.summariseByCategory(manager.inMonth(month));
+    }
+
+    @Benchmark
+    public Map<Category, Money> yearSummary(){
+        return manager.summariseByCategory(manager.inMonths(month.minusMonths(11), month));
+    }
+
+    @Benchmark
+    public List<Transaction> categoryList(){
+        return manager.inCategory(Category.FOOD);
+    }
+
+    //the worst case: every row copied out and folded
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<Category, Money> fullSummary(){
+        return manager.summariseByCategory(manager.getTransactions());
+    }
+}
@@ -0,0 +1,73 @@
+package com.boojet.boot_api.bench;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.boojet.boot_api.config.MapperConfig;
+import com.boojet.boot_api.controllers.dto.TransactionDto;
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+import com.boojet.boot_api.mappers.Impl.TransactionMapper;
+
+/**
+ * {@link TransactionMapper} both ways, configured exactly like the application's ({@link MapperConfig}).
+ * Every row of a transactions page goes through {@code mapTo}, every write through {@code mapFrom}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMapperBenchmark {
+
+    private TransactionMapper mapper;
+    private Transaction entity;
+    private TransactionDto dto;
+
+    @Setup
+    public void setup(){
+        mapper = new TransactionMapper(new MapperConfig().modelMapper());
+
+        Account account = Account.builder().id(1L).name("Chequing").build();
+        entity = Transaction.builder()
+                .id(42L)
+                .description("Instacart")
+                .amount(Money.of("87.15"))
+                .date(LocalDate.of(2025, 6, 14))
+                .category(Category.FOOD)
+                .income(false)
+                .account(account)
+                .version(3L)
+                .build();
+        dto = mapper.mapTo(entity);
+    }
+
+    @Benchmark
+    public TransactionDto mapTo(){
+        return mapper.mapTo(entity);
+    }
+
+    @Benchmark
+    public Transaction mapFrom(){
+        return mapper.mapFrom(dto);
+    }
+
+    @Benchmark
+    public Transaction roundTrip(){
+        return mapper.mapFrom(mapper.mapTo(entity));
+    }
+}
@@ -57,5 +57,15 @@ public class BootApiApplication implements CommandLineRunner {
 			} catch (Exception e) {
 				log.warning("Could not ensure default user: " + e.getMessage());
 			}
+
+			// Rows written before transactions.version existed start at version 0
+			try {
+				jdbc.execute("UPDATE transactions SET version = 0 WHERE version IS NULL");
+				jdbc.execute("ALTER TABLE transactions ALTER COLUMN version SET DEFAULT 0");
+				jdbc.execute("ALTER TABLE transactions ALTER COLUMN version SET NOT NULL");
+				log.info("Verified transactions.version column");
+			} catch (Exception e) {
+				log.warning("Could not backfill transactions.version: " + e.getMessage());
+			}
 		}
 	}
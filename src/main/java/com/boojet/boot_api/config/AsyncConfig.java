@@ -0,0 +1,18 @@
+package com.boojet.boot_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+
+/**
+ * Turns on {@code @Async} support.
+ * <p>
+ * No executor is declared here on purpose: Spring Boot's auto-configured {@code applicationTaskExecutor}
+ * is used, and with {@code spring.threads.virtual.enabled=true} it starts one virtual thread per task
+ * (the same switch moves Tomcat's request handling onto virtual threads). Database access from those
+ * threads is throttled by {@link ConnectionBulkhead}.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,119 @@
+package com.boojet.boot_api.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+
+/**
+ * {@link DataSource} that limits how many connections can be checked out at once.
+ * <p>
+ * A permit is taken before asking the target for a connection and handed back when that connection is
+ * closed (exactly once, however many times {@code close()} is called). Callers that cannot get a permit
+ * within the configured wait fail with a {@link SQLTransientConnectionException}, the same type the
+ * Hikari pool throws on its own timeout.
+ *
+ * <p>Extends {@link DelegatingDataSource} so Spring Boot can still unwrap the pool for metrics and
+ * health checks, and {@code unwrap()} on the returned connections reaches the driver connection.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long maxWaitMillis;
+
+    public BulkheadDataSource(DataSource target, int maxPermits, long maxWaitMillis){
+        super(target);
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try{
+            return guard(super.getConnection());
+        } catch(SQLException | RuntimeException e){
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try{
+            return guard(super.getConnection(username, password));
+        } catch(SQLException | RuntimeException e){
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return number of connections currently checked out through the bulkhead
+     */
+    public int inUse(){
+        return maxPermits - permits.availablePermits();
+    }
+
+    /**
+     * @return number of callers waiting for a permit (an estimate, see {@link Semaphore#getQueueLength()})
+     */
+    public int waiting(){
+        return permits.getQueueLength();
+    }
+
+    //-----helpers-----
+
+    private void acquire() throws SQLException {
+        try{
+            if(!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS))
+                throw new SQLTransientConnectionException("Connection bulkhead: no connection available after " + maxWaitMillis
+                        + " ms (" + maxPermits + " in use, " + permits.getQueueLength() + " waiting)");
+        } catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    //hands the permit back when the connection is closed
+    private Connection guard(Connection target){
+        AtomicBoolean released = new AtomicBoolean(false);
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{ Connection.class },
+            (proxy, method, args) -> {
+                switch(method.getName()){
+                    case "close" -> {
+                        try{
+                            target.close();
+                        } finally {
+                            if(released.compareAndSet(false, true))
+                                permits.release();
+                        }
+                        return null;
+                    }
+                    case "equals" -> { return proxy == args[0]; }
+                    case "hashCode" -> { return System.identityHashCode(proxy); }
+                    case "toString" -> { return "Bulkhead[" + target + "]"; }
+                    default -> {
+                        try{
+                            return method.invoke(target, args);
+                        } catch(InvocationTargetException e){
+                            throw e.getTargetException();
+                        }
+                    }
+                }
+            });
+    }
+}
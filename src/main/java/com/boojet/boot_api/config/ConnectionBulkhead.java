@@ -0,0 +1,53 @@
+package com.boojet.boot_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.java.Log;
+
+
+/**
+ * Wraps the application's {@link HikariDataSource} in a {@link BulkheadDataSource} with one permit per
+ * pooled connection.
+ * <p>
+ * With virtual threads there is no longer a small, fixed number of request threads, so thousands of
+ * requests can reach the pool at the same moment. The bulkhead makes them queue on a fair semaphore
+ * (which parks a virtual thread cheaply) instead of piling up inside the pool, and gives up after
+ * {@code boojet.db.bulkhead.max-wait-ms} so a slow database surfaces as an error rather than an
+ * unbounded backlog.
+ *
+ * <p>Disable with {@code boojet.db.bulkhead.enabled=false}.
+ */
+@Log
+@Component
+public class ConnectionBulkhead implements BeanPostProcessor, Ordered {
+
+    private final boolean enabled;
+    private final long maxWaitMillis;
+
+    public ConnectionBulkhead(@Value("${boojet.db.bulkhead.enabled:true}") boolean enabled,
+                              @Value("${boojet.db.bulkhead.max-wait-ms:30000}") long maxWaitMillis){
+        this.enabled = enabled;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName){
+        if(!enabled || !(bean instanceof HikariDataSource hikari))
+            return bean;
+
+        int permits = hikari.getMaximumPoolSize();
+        log.info("Connection bulkhead on '" + beanName + "': " + permits + " permits, max wait " + maxWaitMillis + " ms");
+        return new BulkheadDataSource(hikari, permits, maxWaitMillis);
+    }
+
+    //must see the HikariDataSource itself, before other decorators (e.g. SlowQueryCapture) wrap it
+    @Override
+    public int getOrder(){
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
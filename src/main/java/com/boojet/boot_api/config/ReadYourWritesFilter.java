@@ -0,0 +1,101 @@
+package com.boojet.boot_api.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+
+/**
+ * Read-your-writes stickiness for {@link ReplicaRoutingDataSource}.
+ * <p>
+ * When a write transaction commits during a request, the client gets a short-lived cookie and every
+ * read it makes until the cookie expires (including the rest of the current request) goes to the
+ * primary. That covers the usual "save, then reload the list" round trip while a replica catches up.
+ *
+ * <p>State is kept per request thread. Clients that do not send cookies back simply get replica reads.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "boojet-primary-until";
+
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final long stickyMillis;
+
+    public ReadYourWritesFilter(long stickyMillis){
+        this.stickyMillis = stickyMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        CURRENT.set(new RequestState(response, pinnedUntil(request), stickyMillis));
+        try{
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * @return true if the current request's client wrote recently and must read from the primary
+     */
+    static boolean pinnedToPrimary(){
+        RequestState state = CURRENT.get();
+        return state != null && state.pinnedUntil > System.currentTimeMillis();
+    }
+
+    /**
+     * Called after a write transaction commits: pins the current client to the primary.
+     * Does nothing outside a request (startup code, background jobs).
+     */
+    static void recordWrite(){
+        RequestState state = CURRENT.get();
+        if(state == null)
+            return;
+
+        state.pinnedUntil = System.currentTimeMillis() + state.stickyMillis;
+        if(!state.response.isCommitted()){
+            Cookie cookie = new Cookie(COOKIE, Long.toString(state.pinnedUntil));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, state.stickyMillis / 1000));
+            state.response.addCookie(cookie);
+        }
+    }
+
+    //-----helpers-----
+
+    private static final class RequestState {
+        final HttpServletResponse response;
+        final long stickyMillis;
+        long pinnedUntil;
+
+        RequestState(HttpServletResponse response, long pinnedUntil, long stickyMillis){
+            this.response = response;
+            this.pinnedUntil = pinnedUntil;
+            this.stickyMillis = stickyMillis;
+        }
+    }
+
+    private static long pinnedUntil(HttpServletRequest request){
+        if(request.getCookies() == null)
+            return 0;
+
+        for(Cookie cookie : request.getCookies()){
+            if(COOKIE.equals(cookie.getName())){
+                try{
+                    return Long.parseLong(cookie.getValue());
+                } catch(NumberFormatException e){
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
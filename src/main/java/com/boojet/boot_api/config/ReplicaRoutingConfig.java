@@ -0,0 +1,92 @@
+package com.boojet.boot_api.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+
+/**
+ * Primary/replica data sources, active only when {@code boojet.datasource.replica-urls} is set.
+ * <p>
+ * The primary is built from the usual {@code spring.datasource.*} and {@code spring.datasource.hikari.*}
+ * properties. Each replica URL gets its own Hikari pool with the same credentials and pool size, named
+ * {@code replica-0}, {@code replica-1}, ... The application-facing {@link DataSource} is a
+ * {@link LazyConnectionDataSourceProxy} over a {@link ReplicaRoutingDataSource}, so repositories and
+ * services need no changes: {@code @Transactional(readOnly = true)} is what sends a read to a replica.
+ *
+ * <p>Without replica URLs this class is skipped and Spring Boot configures the single data source as before.
+ */
+@Configuration
+@ConditionalOnExpression("'${boojet.datasource.replica-urls:}' != ''")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties){
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                             DataSourceProperties properties,
+                                                             @Value("${boojet.datasource.replica-urls}") List<String> replicaUrls,
+                                                             @Value("${boojet.datasource.replica-max-lag-ms:5000}") long maxLagMillis,
+                                                             @Value("${boojet.datasource.replica-check-interval-ms:1000}") long checkIntervalMillis,
+                                                             @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                                             @Value("${boojet.db.bulkhead.enabled:true}") boolean bulkhead,
+                                                             @Value("${boojet.db.bulkhead.max-wait-ms:30000}") long bulkheadWaitMillis,
+                                                             ObjectProvider<MeterRegistry> meterRegistry){
+        List<DataSource> replicas = new ArrayList<>();
+        for(int i = 0; i < replicaUrls.size(); i++){
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i).trim())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            //not beans either, so Boot's hikaricp.* metrics are wired by hand (pool tag replica-N)
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+            //replicas are not beans, so ConnectionBulkhead does not see them
+            replicas.add(bulkhead ? new BulkheadDataSource(replica, poolSize, bulkheadWaitMillis) : replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, maxLagMillis, checkIntervalMillis);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing){
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(@Value("${boojet.datasource.read-your-writes-ms:5000}") long stickyMillis){
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyMillis));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,167 @@
+package com.boojet.boot_api.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.java.Log;
+
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * Meant to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so the
+ * target is picked on the first statement, after {@code @Transactional(readOnly = true)} has been applied.
+ *
+ * <p><b>Routing rules, in order:</b>
+ * <ul>
+ *   <li>Not in a read-only transaction (writes, and code running outside any transaction) -> primary.
+ *   A write transaction that commits pins the current client to the primary, see {@link ReadYourWritesFilter}.</li>
+ *   <li>Client pinned to the primary by a recent write -> primary.</li>
+ *   <li>Otherwise the next healthy replica, round robin. A replica is healthy when its last lag check
+ *   succeeded and it was at most {@code maxLagMillis} behind. With no healthy replica -> primary.</li>
+ * </ul>
+ * Lag is checked on a background thread every {@code checkIntervalMillis}, so routing itself never
+ * waits on a replica.
+ */
+@Log
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    //null when the receiver is not streaming; 0 when everything received has been replayed (an idle primary
+    //stops producing commit timestamps, so replay time alone would look like ever-growing lag)
+    private static final String LAG_SQL = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+                   END
+            """;
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Map<String, DataSource> replicas = new HashMap<>();
+    private final long maxLagMillis;
+
+    //one flag per replica key, written by the checker thread only
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, long maxLagMillis, long checkIntervalMillis){
+        this.maxLagMillis = maxLagMillis;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for(int i = 0; i < replicaDataSources.size(); i++){
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            replicas.put(key, replicaDataSources.get(i));
+            healthy.put(key, false);            //not used until the first check says so
+            targets.put(key, replicaDataSources.get(i));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-check");
+            t.setDaemon(true);
+            return t;
+        });
+        checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey(){
+        if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly()){
+            if(TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isSynchronizationActive()){
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization(){
+                    @Override
+                    public void afterCommit(){
+                        ReadYourWritesFilter.recordWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        if(ReadYourWritesFilter.pinnedToPrimary())
+            return PRIMARY;
+
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for(int i = 0; i < size; i++){
+            String key = replicaKeys.get((start + i) % size);
+            if(healthy.get(key))
+                return key;
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * @return replica key -> whether reads are currently sent to it
+     */
+    public Map<String, Boolean> replicaHealth(){
+        return Map.copyOf(healthy);
+    }
+
+    @Override
+    public void close(){
+        checker.shutdownNow();
+        for(DataSource replica : replicas.values()){
+            DataSource pool = replica instanceof DelegatingDataSource delegating ? delegating.getTargetDataSource() : replica;
+            if(pool instanceof AutoCloseable closeable){
+                try{
+                    closeable.close();
+                } catch(Exception e){
+                    log.warning("Could not close replica pool: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    //-----helpers-----
+
+    private void checkReplicas(){
+        for(String key : replicaKeys){
+            boolean ok = false;
+            try(Connection c = replicas.get(key).getConnection(); Statement st = c.createStatement()){
+                st.setQueryTimeout(2);
+                try(ResultSet rs = st.executeQuery(LAG_SQL)){
+                    rs.next();
+                    double lag = rs.getDouble(1);
+                    ok = !rs.wasNull() && lag <= maxLagMillis;
+                    if(!ok && healthy.get(key))
+                        log.warning(key + " is " + (rs.wasNull() ? "not streaming" : Math.round(lag) + " ms behind") + ", reading from the primary");
+                }
+            } catch(SQLException | RuntimeException e){
+                if(healthy.get(key))
+                    log.warning(key + " is unreachable, reading from the primary: " + e.getMessage());
+            }
+
+            if(ok && !healthy.get(key))
+                log.info(key + " is in sync, serving reads");
+            healthy.put(key, ok);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.boojet.boot_api.config;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import com.boojet.boot_api.services.diagnostics.SlowQueryLog;
+
+import lombok.extern.java.Log;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+
+/**
+ * Times every statement on the application's {@link DataSource} and hands the ones slower than
+ * {@code boojet.slow-query.threshold-ms} to {@link SlowQueryLog} (browsable at {@code GET /admin/slow-queries}).
+ * <p>
+ * The data source bean is wrapped in a datasource-proxy {@code ProxyDataSource} after every other decorator
+ * (bulkhead, replica routing), so the timing covers what the application actually waits for. EXPLAINs run
+ * against the unwrapped data source and are never captured themselves. Bind values are redacted to their
+ * type unless {@code boojet.slow-query.redact-binds=false}.
+ *
+ * <p>Disable with {@code boojet.slow-query.enabled=false}.
+ */
+@Log
+@Component
+public class SlowQueryCapture implements BeanPostProcessor, Ordered {
+
+    private static final int MAX_BIND_CHARS = 64;
+
+    private final ObjectProvider<SlowQueryLog> slowQueries;
+    private final boolean enabled;
+    private final long thresholdMillis;
+    private final boolean redactBinds;
+
+    public SlowQueryCapture(ObjectProvider<SlowQueryLog> slowQueries,
+                            @Value("${boojet.slow-query.enabled:true}") boolean enabled,
+                            @Value("${boojet.slow-query.threshold-ms:200}") long thresholdMillis,
+                            @Value("${boojet.slow-query.redact-binds:true}") boolean redactBinds){
+        this.slowQueries = slowQueries;
+        this.enabled = enabled;
+        this.thresholdMillis = thresholdMillis;
+        this.redactBinds = redactBinds;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName){
+        if(!enabled || !"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource))
+            return bean;
+
+        log.info("Slow query capture on '" + beanName + "': statements over " + thresholdMillis + " ms");
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name("slow-query")
+                .listener(new Listener(dataSource))
+                .build();
+    }
+
+    //outermost wrapper, after ConnectionBulkhead
+    @Override
+    public int getOrder(){
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    //-----helpers-----
+
+    private final class Listener implements QueryExecutionListener {
+
+        private final DataSource target;
+
+        Listener(DataSource target){
+            this.target = target;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList){
+            //only the outcome matters
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList){
+            if(execInfo.getElapsedTime() < thresholdMillis || queryInfoList.isEmpty())
+                return;
+
+            QueryInfo query = queryInfoList.get(0);
+            List<List<ParameterSetOperation>> parameters = query.getParametersList();
+            List<ParameterSetOperation> first = parameters.isEmpty() ? List.of() : sortedByIndex(parameters.get(0));
+
+            //a batch or a callable cannot be replayed as one EXPLAIN
+            boolean explainable = !execInfo.isBatch() && execInfo.getStatementType() != StatementType.CALLABLE;
+            SlowQueryLog.Binder binder = !explainable ? null : ps -> {
+                for(ParameterSetOperation op : first){
+                    try{
+                        op.getMethod().invoke(ps, op.getArgs());
+                    } catch(ReflectiveOperationException e){
+                        throw new SQLException("Cannot replay bind parameter " + op.getArgs()[0], e);
+                    }
+                }
+            };
+
+            slowQueries.ifAvailable(slowQueryLog -> slowQueryLog.record(query.getQuery(), execInfo.getElapsedTime(), describe(first), binder, target));
+        }
+
+        private List<ParameterSetOperation> sortedByIndex(List<ParameterSetOperation> ops){
+            List<ParameterSetOperation> sorted = new ArrayList<>(ops);
+            sorted.sort(Comparator.comparingInt(op -> op.getArgs()[0] instanceof Integer index ? index : 0));
+            return sorted;
+        }
+
+        private List<String> describe(List<ParameterSetOperation> ops){
+            List<String> binds = new ArrayList<>(ops.size());
+            for(ParameterSetOperation op : ops){
+                Object[] args = op.getArgs();
+                Object value = ParameterSetOperation.isSetNullParameterOperation(op) || args.length < 2 ? null : args[1];
+                binds.add(describe(value));
+            }
+            return binds;
+        }
+
+        private String describe(Object value){
+            if(value == null)
+                return "null";
+
+            if(redactBinds){
+                String type = value.getClass().getSimpleName();
+                return value instanceof CharSequence text ? type + "(" + text.length() + ")" : type;
+            }
+
+            String text = String.valueOf(value);
+            return text.length() > MAX_BIND_CHARS ? text.substring(0, MAX_BIND_CHARS) + "..." : text;
+        }
+    }
+}
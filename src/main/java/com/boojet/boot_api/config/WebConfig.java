@@ -0,0 +1,32 @@
+package com.boojet.boot_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.boojet.boot_api.web.ConditionalGetInterceptor;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final boolean conditionalGet;
+
+    public WebConfig(ConditionalGetInterceptor conditionalGetInterceptor,
+                     @Value("${boojet.conditional-get.enabled:false}") boolean conditionalGet){
+        this.conditionalGetInterceptor = conditionalGetInterceptor;
+        this.conditionalGet = conditionalGet;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry){
+        //the versions behind the tags are per instance, so this is only safe for a single instance (see DataVersions)
+        if(!conditionalGet)
+            return;
+
+        //304s for unchanged reads, answered before any controller runs
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/transactions/**", "/account/**", "/plan/**");
+    }
+}
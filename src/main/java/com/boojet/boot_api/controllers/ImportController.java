@@ -0,0 +1,45 @@
+package com.boojet.boot_api.controllers;
+
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boojet.boot_api.domain.LegacyImport;
+import com.boojet.boot_api.services.LegacyImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Import")
+@RestController
+@RequestMapping("/import")
+public class ImportController {
+
+    private final LegacyImportService legacyImportService;
+
+    public ImportController(LegacyImportService legacyImportService){
+        this.legacyImportService = legacyImportService;
+    }
+
+    // the request body is the CLI's transactions.json, streamed straight into the importer
+    // e.g. curl -X POST -H 'Content-Type: application/json' --data-binary @transactions.json 'localhost:8080/import/legacy?accountId=1'
+    @Operation(summary = "Import a legacy CLI ledger", description = "Streams a transactions.json file from the CLI into the given account using PostgreSQL COPY. Pass the returned importId again to resume an interrupted import.")
+    @PostMapping(value = "/legacy", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public LegacyImport importLegacy(@RequestParam Long accountId,
+                                     @RequestParam(required = false) String importId,
+                                     InputStream ledger){
+        return legacyImportService.importLedger(importId, accountId, ledger);
+    }
+
+    @Operation(summary = "Get import progress", description = "Returns how many records of a legacy import have been read, imported and skipped so far.")
+    @GetMapping("/legacy/{importId}")
+    public LegacyImport progress(@PathVariable String importId){
+        return legacyImportService.findImport(importId);
+    }
+}
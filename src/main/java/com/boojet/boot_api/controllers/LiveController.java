@@ -0,0 +1,32 @@
+package com.boojet.boot_api.controllers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.boojet.boot_api.services.LiveUpdateService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Live updates")
+@RestController
+@RequestMapping("/live")
+public class LiveController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    public LiveController(LiveUpdateService liveUpdateService){
+        this.liveUpdateService = liveUpdateService;
+    }
+
+    // e.g. new EventSource('/live?year=2026&month=1')
+    @Operation(summary = "Stream balance and summary changes", description = "Server-Sent Events. After every committed write: 'balances' with the new total and the balances of the affected accounts, and 'summary' with the net report and category totals of the given month when it was affected. 'resync' means updates were dropped and the client should reload. 429 when too many streams are open.")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Integer year, @RequestParam(required = false) Integer month){
+        return liveUpdateService.subscribe(year, month);
+    }
+}
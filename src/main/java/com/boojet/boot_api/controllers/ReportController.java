@@ -0,0 +1,57 @@
+package com.boojet.boot_api.controllers;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boojet.boot_api.controllers.dto.ReportRequest;
+import com.boojet.boot_api.services.ReportService;
+import com.boojet.boot_api.services.reports.ReportJob;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Reports")
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    public ReportController(ReportService reportService){
+        this.reportService = reportService;
+    }
+
+    // e.g. {"type": "MULTI_YEAR_SUMMARY", "fromYear": 2020, "fromMonth": 1, "toYear": 2025, "toMonth": 12} or {"type": "ACCOUNT_BALANCES"}
+    @Operation(summary = "Submit a report job", description = "Queues a long-running report and returns its job (202). Poll GET /reports/{jobId} for progress and fetch GET /reports/{jobId}/result once it has COMPLETED. 429 when the queue is full.")
+    @PostMapping
+    public ResponseEntity<ReportJob> submit(@RequestBody ReportRequest request){
+        ReportJob job = reportService.submit(request);
+        return ResponseEntity.accepted().location(URI.create("/reports/" + job.getJobId())).body(job);
+    }
+
+    @Operation(summary = "Get report job progress", description = "Returns the job's status (QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED) and how far it has got. Finished jobs expire after a while.")
+    @GetMapping("/{jobId}")
+    public ReportJob progress(@PathVariable String jobId){
+        return reportService.findJob(jobId);
+    }
+
+    @Operation(summary = "Get report result", description = "Returns the result of a COMPLETED job. 409 while the job has not completed.")
+    @GetMapping("/{jobId}/result")
+    public Object result(@PathVariable String jobId){
+        return reportService.result(jobId);
+    }
+
+    @Operation(summary = "Cancel a report job", description = "Stops a queued or running job and forgets it.")
+    @DeleteMapping("/{jobId}")
+    public void cancel(@PathVariable String jobId){
+        reportService.cancel(jobId);
+    }
+}
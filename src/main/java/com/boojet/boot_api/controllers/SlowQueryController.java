@@ -0,0 +1,43 @@
+package com.boojet.boot_api.controllers;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.services.diagnostics.SlowQuery;
+import com.boojet.boot_api.services.diagnostics.SlowQueryLog;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Admin")
+@RestController
+@RequestMapping("/admin/slow-queries")
+public class SlowQueryController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryController(SlowQueryLog slowQueryLog){
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Operation(summary = "List recent slow queries", description = "Newest first: SQL, redacted bind parameters, duration, the repository method that ran it and its EXPLAIN plan (ANALYZE, BUFFERS for reads). The plan shows 'pending' until the background EXPLAIN has run.")
+    @GetMapping
+    public List<SlowQuery> recent(@RequestParam(defaultValue = "50") int limit){
+        if(limit <= 0){
+            throw new BadRequestException("limit must be positive");
+        }
+        return slowQueryLog.recent(limit);
+    }
+
+    @Operation(summary = "Clear slow queries", description = "Empties the buffer and forgets which statements were explained recently.")
+    @DeleteMapping
+    public void clear(){
+        slowQueryLog.clear();
+    }
+}
@@ -1,5 +1,6 @@
 package com.boojet.boot_api.controllers;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springdoc.core.annotations.ParameterObject;
@@ -7,6 +8,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,9 +18,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.boojet.boot_api.controllers.dto.BulkDeleteResult;
 import com.boojet.boot_api.controllers.dto.CategorySummaryDto;
 import com.boojet.boot_api.controllers.dto.TransactionDto;
 import com.boojet.boot_api.controllers.dto.TxSuggestionDetails;
@@ -26,6 +32,7 @@ import com.boojet.boot_api.domain.Transaction;
 import com.boojet.boot_api.mappers.Mapper;
 
 import com.boojet.boot_api.services.TransactionService;
+import com.boojet.boot_api.web.ETags;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -79,25 +86,27 @@ public class TransactionController {
         
     }
     
-    @Operation(summary = "Get transaction by ID", description = "Retrieve a specific transaction by its ID.")
+    @Operation(summary = "Get transaction by ID", description = "Retrieve a specific transaction by its ID. The ETag header carries the transaction's version, for use with If-Match.")
     @GetMapping("/{id}")
-    public TransactionDto getOne(@PathVariable Long id) {
+    public ResponseEntity<TransactionDto> getOne(@PathVariable Long id) {
         Transaction transaction = transactionService.findTransaction(id);
-        return transactionMapper.mapTo(transaction);
+        return withETag(transactionMapper.mapTo(transaction));
     }
 
-    @Operation(summary = "Update a transaction by ID", description = "Update the details of an existing transaction by its ID.")
+    @Operation(summary = "Update a transaction by ID", description = "Update the details of an existing transaction by its ID. With If-Match the update only happens if the transaction is still at that version, otherwise 412.")
     @PutMapping("/{id}")
-    public TransactionDto updateTransaction(@PathVariable Long id, @RequestBody TransactionDto transactionDto) {
-        Transaction updatedTransaction = transactionService.updateTransactionComplete(id, transactionMapper.mapFrom(transactionDto));
-        return transactionMapper.mapTo(updatedTransaction);
+    public ResponseEntity<TransactionDto> updateTransaction(@PathVariable Long id, @RequestBody TransactionDto transactionDto,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Transaction updatedTransaction = transactionService.updateTransactionComplete(id, transactionMapper.mapFrom(transactionDto), ETags.expectedVersion(ifMatch));
+        return withETag(transactionMapper.mapTo(updatedTransaction));
     }
 
-    @Operation(summary = "Partially update a transaction by ID", description = "Partially update the details of an existing transaction by its ID.")
+    @Operation(summary = "Partially update a transaction by ID", description = "Partially update the details of an existing transaction by its ID. With If-Match the update only happens if the transaction is still at that version, otherwise 412.")
     @PatchMapping("/{id}")
-    public TransactionDto patchTransaction(@PathVariable Long id, @RequestBody TransactionDto transactionDto) {
-        Transaction patchedTransaction =  transactionService.updateTransaction(id, transactionMapper.mapFrom(transactionDto));
-        return transactionMapper.mapTo(patchedTransaction);
+    public ResponseEntity<TransactionDto> patchTransaction(@PathVariable Long id, @RequestBody TransactionDto transactionDto,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Transaction patchedTransaction =  transactionService.updateTransaction(id, transactionMapper.mapFrom(transactionDto), ETags.expectedVersion(ifMatch));
+        return withETag(transactionMapper.mapTo(patchedTransaction));
     }
 
     @Operation(summary = "Delete a transaction by ID", description = "Delete an existing transaction by its ID.")
@@ -106,6 +115,15 @@ public class TransactionController {
         transactionService.delete(id);
     }
 
+    @Operation(summary = "Delete transactions matching filters", description = "Deletes every transaction matching the given account, category and/or date range (inclusive). At least one filter is required. Runs in chunks that each commit on their own, so a failure part way leaves earlier chunks deleted.")
+    @DeleteMapping
+    public BulkDeleteResult deleteMatching(@RequestParam(required = false) Long accountId,
+                                           @RequestParam(required = false) Category category,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return transactionService.deleteMatching(accountId, category, from, to);
+    }
+
     //--------------------------------Filters / Reports---------------------------------------------
 
     @Operation(summary = "Get transactions by category", description = "Retrieve a list of transactions filtered by the specified category.")
@@ -145,12 +163,13 @@ public class TransactionController {
         return transactionService.monthlySummaryByCategory(year, month);
     }
 
-    //TODO: add userId to this endpoint once Auth has been implemented
-    @Operation(summary = "Get a list of suggested descriptions", description = "Returns a list of transactions descriptions that corresponds to the input String. Helps autofill names for that user")
+    //TODO: take userId from the authenticated principal once Auth has been implemented
+    @Operation(summary = "Get a list of suggested descriptions", description = "Returns a list of transactions descriptions that corresponds to the input String. Helps autofill names for that user. When userId is provided only that user's ledger is ranked")
     @GetMapping("/suggestions")
     public List<String> suggestDescription(@RequestParam String description,
-                                            @RequestParam(defaultValue = "10") int howMany){
-        return transactionService.suggest(description, howMany);
+                                            @RequestParam(defaultValue = "10") int howMany,
+                                            @RequestParam(required = false) Long userId){
+        return transactionService.suggest(userId, description, howMany);
     }
 
     @Operation(summary = "Get Transaction details that match input", description = "Returns a record of Transaction category, amount, income, account that match the description input. Useful for autofill")
@@ -158,6 +177,15 @@ public class TransactionController {
     public TxSuggestionDetails suggestDetails(@RequestParam String description) {
         return transactionService.suggestionDetails(description);
     }
-    
+
+    //-----helpers-----
+
+    private ResponseEntity<TransactionDto> withETag(TransactionDto dto){
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if(dto.getVersion() != null){
+            response.eTag(ETags.of(dto.getVersion()));
+        }
+        return response.body(dto);
+    }
 
 }
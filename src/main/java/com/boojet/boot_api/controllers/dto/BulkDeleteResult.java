@@ -0,0 +1,6 @@
+package com.boojet.boot_api.controllers.dto;
+
+public record BulkDeleteResult(
+    long deleted,
+    int chunks
+) {}
@@ -0,0 +1,12 @@
+package com.boojet.boot_api.controllers.dto;
+
+import com.boojet.boot_api.domain.ReportType;
+
+//the month range is only used by MULTI_YEAR_SUMMARY, both ends inclusive
+public record ReportRequest(
+    ReportType type,
+    Integer fromYear,
+    Integer fromMonth,
+    Integer toYear,
+    Integer toMonth
+) {}
@@ -24,4 +24,5 @@ public class TransactionDto {
     private Category category;
     private boolean income;
     private Account Account;
+    private Long version;                   //same value as the ETag of /transactions/{id}
 }
@@ -0,0 +1,5 @@
+package com.boojet.boot_api.domain;
+
+public enum ImportStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,49 @@
+package com.boojet.boot_api.domain;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress and checkpoint of one import of a legacy CLI ledger ({@code transactions.json}) into an {@link Account}.
+ * <p>
+ * The row is updated in the same database transaction as every batch of copied transactions, so
+ * {@link #rowsRead} always matches what was committed. Re-running an import with the same {@link #importId}
+ * skips that many records of the file and continues from there.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "legacy_imports")
+public class LegacyImport {
+
+    @Id
+    private String importId;                    // chosen by the client, or generated on the first run
+
+    @Column(nullable = false)
+    private Long accountId;                     // every record of the file is imported into this account
+
+    private long rowsRead;                      // records consumed from the file (imported + skipped)
+    private long rowsImported;
+    private long rowsSkipped;                   // records without an amount or category, or with a negative amount
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportStatus status;
+
+    private String message;                     // failure reason, if any
+
+    private Instant startedAt;
+    private Instant updatedAt;
+}
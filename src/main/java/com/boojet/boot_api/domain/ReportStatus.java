@@ -0,0 +1,5 @@
+package com.boojet.boot_api.domain;
+
+public enum ReportStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+}
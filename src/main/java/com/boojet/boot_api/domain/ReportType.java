@@ -0,0 +1,6 @@
+package com.boojet.boot_api.domain;
+
+public enum ReportType {
+    MULTI_YEAR_SUMMARY,     //net report and category totals for every month of a range
+    ACCOUNT_BALANCES        //current balance of every account, recomputed from its transactions
+}
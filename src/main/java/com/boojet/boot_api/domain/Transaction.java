@@ -1,5 +1,6 @@
 package com.boojet.boot_api.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
@@ -10,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,6 +31,10 @@ import java.time.LocalDate;
  * <p><b>Income vs Expense:</b>
  * The {@link #income} flag indicates whether the transaction should be treated as income ({@code true})
  * or expense ({@code false}). (This is independent of the numeric sign of {@link #amount}.)
+ *
+ * <p><b>Versioning:</b>
+ * {@link #version} is bumped on every update and is exposed to API clients as the ETag of
+ * {@code /transactions/{id}}, so a client can make its write conditional with {@code If-Match}.
  */
 @Data
 @NoArgsConstructor
@@ -48,6 +54,7 @@ public class Transaction{
     @Convert(converter = MoneyConverter.class)
     private Money amount;
     @JsonProperty
+    @Column(nullable = false)                           // partition key of the transactions table
     private LocalDate date;
     
     @JsonProperty
@@ -61,6 +68,10 @@ public class Transaction{
     @ManyToOne(optional = false)
     private Account account;                            // The account associated with this transaction
 
+    @Version
+    @JsonIgnore                                         // surfaced as the ETag, not part of CLI ledgers
+    private Long version;
+
     /**
      * Convenience constructor for creating a transaction without an id.
      *
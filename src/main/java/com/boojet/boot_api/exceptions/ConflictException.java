@@ -0,0 +1,12 @@
+package com.boojet.boot_api.exceptions;
+
+/**
+ * Thrown when a request cannot be served in the resource's current state,
+ * e.g. asking for the result of a report job that has not finished yet.
+ * Mapped to HTTP 409 by the global exception handler.
+ */
+public class ConflictException extends RuntimeException{
+    public ConflictException(String message){
+        super(message);
+    }
+}
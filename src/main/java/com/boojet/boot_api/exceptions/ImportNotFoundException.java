@@ -0,0 +1,13 @@
+package com.boojet.boot_api.exceptions;
+
+/**
+ * Thrown when no legacy ledger import with the given id has been started.
+ */
+public class ImportNotFoundException extends NotFoundException {
+    /**
+     * @param importId the missing import id
+     */
+    public ImportNotFoundException(String importId){
+        super("Import " + importId + " not found!");
+    }
+}
@@ -0,0 +1,13 @@
+package com.boojet.boot_api.exceptions;
+
+/**
+ * Thrown when a conditional request does not hold any more, e.g. the {@code If-Match} version
+ * of a transaction is not the current one because someone else updated it first.
+ * <p>
+ * Mapped to HTTP 412 by the global exception handler. The client should reload the resource and retry.
+ */
+public class PreconditionFailedException extends RuntimeException{
+    public PreconditionFailedException(String message){
+        super(message);
+    }
+}
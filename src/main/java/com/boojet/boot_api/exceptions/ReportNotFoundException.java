@@ -0,0 +1,14 @@
+package com.boojet.boot_api.exceptions;
+
+/**
+ * Thrown when a report job does not exist, or its result has already expired.
+ */
+public class ReportNotFoundException extends NotFoundException{
+
+    /**
+     * @param jobId the missing job id
+     */
+    public ReportNotFoundException(String jobId){
+        super("Report job " + jobId + " not found!");
+    }
+}
@@ -0,0 +1,11 @@
+package com.boojet.boot_api.exceptions;
+
+/**
+ * Thrown when a bounded resource is full and the client should retry later,
+ * e.g. the report job queue. Mapped to HTTP 429 by the global exception handler.
+ */
+public class TooManyRequestsException extends RuntimeException{
+    public TooManyRequestsException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.boojet.boot_api.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.boojet.boot_api.domain.LegacyImport;
+
+@Repository
+public interface LegacyImportRepository extends JpaRepository<LegacyImport, String>{
+
+}
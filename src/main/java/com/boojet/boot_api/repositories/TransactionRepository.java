@@ -11,10 +11,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.boojet.boot_api.domain.Category;
 import com.boojet.boot_api.domain.Transaction;
 import com.boojet.boot_api.repositories.projections.CategoryTotalView;
+import com.boojet.boot_api.repositories.projections.DeletedTransactionView;
+import com.boojet.boot_api.repositories.projections.DescriptionUsageView;
+import com.boojet.boot_api.repositories.projections.OwnerCountView;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -95,6 +99,27 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             """)
     List<String> suggestContains(@Param("q") String q, Pageable pageable);
 
+    /**
+     * Returns every distinct description used by the given user, with how often and how recently it was used.
+     *
+     * <p>This is the raw material for a per-user suggestion index: the ranking is applied in memory
+     * so that prefix and contains lookups do not need a round trip each.</p>
+     *
+     * @param userId the owner of the accounts to scan
+     * @return one row per distinct, non-blank description owned by the user
+     */
+    @Query("""
+            select t.description as description,
+                   count(t) as uses,
+                   max(t.date) as lastUsed
+            from Transaction t
+            where t.account.user.id = :userId
+              and t.description is not null
+              and t.description <> ''
+            group by t.description
+            """)
+    List<DescriptionUsageView> descriptionUsageForUser(@Param("userId") Long userId);
+
     /**
      * Returns the most recently used Transaction for the given description (case-insensitive).
      *
@@ -109,6 +134,97 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     Optional<Transaction> findTopByDescriptionIgnoreCaseOrderByDateDescIdDesc(String description);
 
+    /**
+     * Applies the non-null values to transaction {@code id} in one statement, if its version still matches.
+     *
+     * <p>Every {@code null} argument keeps the stored value (so the same statement serves PUT and PATCH).
+     * The version is bumped on every successful update. With {@code expectedVersion == null} the update is
+     * unconditional. An unknown {@code accountId} fails on the foreign key.</p>
+     *
+     * @param id transaction to update
+     * @param expectedVersion version the caller last saw, or {@code null} to skip the check
+     * @return the updated row, or empty if there is no such transaction or its version differs
+     */
+    @Query(nativeQuery = true, value = """
+            UPDATE transactions
+               SET description = COALESCE(CAST(:description AS varchar), description),
+                   amount      = COALESCE(CAST(:amount AS numeric), amount),
+                   date        = COALESCE(CAST(:date AS date), date),
+                   category    = COALESCE(CAST(:category AS smallint), category),
+                   is_income   = COALESCE(CAST(:income AS boolean), is_income),
+                   account_id  = COALESCE(CAST(:accountId AS bigint), account_id),
+                   version     = version + 1
+             WHERE id = :id
+               AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint))
+            RETURNING *
+            """)
+    Optional<Transaction> updateIfVersionMatches(@Param("id") Long id,
+            @Param("expectedVersion") Long expectedVersion,
+            @Param("description") String description,
+            @Param("amount") BigDecimal amount,
+            @Param("date") LocalDate date,
+            @Param("category") Integer category,
+            @Param("income") Boolean income,
+            @Param("accountId") Long accountId);
+
+    /**
+     * Deletes transaction {@code id} in one statement.
+     *
+     * @param id transaction to delete
+     * @return the owning user, account and date of the deleted row (for cache invalidation and live updates),
+     *         or empty if there was no such transaction
+     */
+    @Query(nativeQuery = true, value = """
+            DELETE FROM transactions t
+             USING accounts a
+             WHERE t.id = :id
+               AND a.id = t.account_id
+            RETURNING a.user_id AS "ownerId", t.account_id AS "accountId", t.date AS "date"
+            """)
+    Optional<DeletedTransactionView> deleteReturning(@Param("id") Long id);
+
+    /**
+     * Deletes at most {@code chunkSize} transactions matching the filters, lowest ids first.
+     *
+     * <p>Runs in its own short transaction so a large delete never holds its row locks for long; call it
+     * until it reports nothing deleted. {@code null} filters match everything, the date range is inclusive.</p>
+     *
+     * @return one row per owning user with how many of their transactions this chunk deleted
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            WITH doomed AS (
+                SELECT t.id
+                  FROM transactions t
+                 WHERE (CAST(:accountId AS bigint) IS NULL OR t.account_id = CAST(:accountId AS bigint))
+                   AND (CAST(:category AS smallint) IS NULL OR t.category = CAST(:category AS smallint))
+                   AND (CAST(:fromDate AS date) IS NULL OR t.date >= CAST(:fromDate AS date))
+                   AND (CAST(:toDate AS date) IS NULL OR t.date <= CAST(:toDate AS date))
+                 ORDER BY t.id
+                 LIMIT :chunkSize
+            ), deleted AS (
+                DELETE FROM transactions t
+                 USING doomed d, accounts a
+                 WHERE t.id = d.id
+                   AND a.id = t.account_id
+                RETURNING a.user_id
+            )
+            SELECT user_id AS "ownerId", count(*) AS "deleted"
+              FROM deleted
+             GROUP BY user_id
+            """)
+    List<OwnerCountView> deleteChunkMatching(@Param("accountId") Long accountId,
+            @Param("category") Integer category,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("chunkSize") int chunkSize);
+
+    @Query("select t.version from Transaction t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select t.account.user.id from Transaction t where t.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
 
     @Query("""
                 select coalesce(
@@ -0,0 +1,9 @@
+package com.boojet.boot_api.repositories.projections;
+
+import java.time.LocalDate;
+
+public interface DescriptionUsageView {
+    String getDescription();
+    Long getUses();
+    LocalDate getLastUsed();
+}
@@ -0,0 +1,6 @@
+package com.boojet.boot_api.repositories.projections;
+
+public interface OwnerCountView {
+    Long getOwnerId();
+    Long getDeleted();
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,23 +22,33 @@ import com.boojet.boot_api.repositories.AccountRepository;
 import com.boojet.boot_api.repositories.UserRepository;
 import com.boojet.boot_api.services.AccountService;
 import com.boojet.boot_api.services.TransactionService;
+import com.boojet.boot_api.services.accounts.AccountReferenceCache;
+import com.boojet.boot_api.services.live.LedgerChangedEvent;
 
+import io.micrometer.core.annotation.Timed;
 
+
+@Timed(value = "boojet.service", description = "Service method latency, tagged by class and method")
 @Service
 public class AccountServiceImpl implements AccountService{
 
     private final AccountRepository accountRepo;
     private final UserRepository userRepo;
     private final TransactionService transactionService;
+    private final AccountReferenceCache accountReferences;
+    private final ApplicationEventPublisher events;
 
     private static final Long DEFAULT_USER_ID = 1L; //temporary until user management is implemented
     private static int DEFAULT_COUNTER = 1;
 
 
-    public AccountServiceImpl(AccountRepository accountRepo, UserRepository userRepo, TransactionService transactionService){
+    public AccountServiceImpl(AccountRepository accountRepo, UserRepository userRepo, TransactionService transactionService,
+                              AccountReferenceCache accountReferences, ApplicationEventPublisher events){
         this.accountRepo = accountRepo;
         this.userRepo = userRepo;
         this.transactionService = transactionService;
+        this.accountReferences = accountReferences;
+        this.events = events;
     }
 
     //----------------------CRUD----------------------------
@@ -52,7 +63,9 @@ public class AccountServiceImpl implements AccountService{
         applyCreateDefaults(account);
         Account verifiedAccount = validateAccount(account, ValidationMode.CREATE);
 
-        return accountRepo.save(verifiedAccount);
+        Account saved = accountRepo.save(verifiedAccount);
+        events.publishEvent(LedgerChangedEvent.account(saved.getId()));
+        return saved;
     }
 
     @Override
@@ -106,6 +119,8 @@ public class AccountServiceImpl implements AccountService{
             Optional.ofNullable(verifiedAccount.getOpeningBalance()).ifPresent(existingAccount::setOpeningBalance);
             Optional.ofNullable(verifiedAccount.getCreatedAt()).ifPresent(existingAccount::setCreatedAt);
             Optional.ofNullable(verifiedAccount.getClosedAt()).ifPresent(existingAccount::setClosedAt);
+            accountReferences.invalidateAfterCommit(id);
+            events.publishEvent(LedgerChangedEvent.account(id));
             return accountRepo.save(existingAccount);
         }).orElseThrow(() -> new AccountNotFoundException(id));
     }
@@ -119,6 +134,8 @@ public class AccountServiceImpl implements AccountService{
             throw new AccountNotFoundException(id);
         }
         accountRepo.deleteById(id);
+        accountReferences.invalidateAfterCommit(id);
+        events.publishEvent(LedgerChangedEvent.account(id));
     }
 
     //------------------------------------------------------//
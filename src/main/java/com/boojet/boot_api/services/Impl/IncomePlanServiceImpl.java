@@ -5,6 +5,7 @@ import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,10 +18,14 @@ import com.boojet.boot_api.repositories.IncomePlanRepository;
 import com.boojet.boot_api.repositories.UserRepository;
 import com.boojet.boot_api.services.IncomePlanService;
 import com.boojet.boot_api.services.TransactionService;
+import com.boojet.boot_api.services.live.LedgerChangedEvent;
 import com.boojet.boot_api.exceptions.BadRequestException;
 import com.boojet.boot_api.exceptions.IncomePlanNotFoundException;
 
+import io.micrometer.core.annotation.Timed;
 
+
+@Timed(value = "boojet.service", description = "Service method latency, tagged by class and method")
 @Service
 @Transactional(readOnly = true)
 public class IncomePlanServiceImpl implements IncomePlanService{
@@ -29,16 +34,19 @@ public class IncomePlanServiceImpl implements IncomePlanService{
     private final IncomePlanRepository incomePlanRepo;
     private final TransactionService transactionService;                    //NOTE: IncomePLanServiceImpl depends on TransactionService
                                                                             //DO NOT CREATE CIRCULAR DEPENDENCY
+    private final ApplicationEventPublisher events;
 
     private static final Long DEAFULT_USER_ID = 1L; //temporary until user management is implemented
 
     private static int DEFAULT_INCOMEPLAN_COUNTER = 1;
 
 
-    public IncomePlanServiceImpl(IncomePlanRepository incomePlanRepo, TransactionService transactionService, UserRepository userRepo){
+    public IncomePlanServiceImpl(IncomePlanRepository incomePlanRepo, TransactionService transactionService, UserRepository userRepo,
+                                 ApplicationEventPublisher events){
         this.incomePlanRepo = incomePlanRepo;
         this.transactionService = transactionService;
         this.userRepo = userRepo;
+        this.events = events;
     }
 
     //----------------------------------------CRUD---------------------------------------------------
@@ -53,7 +61,9 @@ public class IncomePlanServiceImpl implements IncomePlanService{
         applyCreateDefaults(plan);
         IncomePlan verifiedIncomePlan = validateIncomePlan(plan, ValidationMode.CREATE);
 
-        return incomePlanRepo.save(verifiedIncomePlan);
+        IncomePlan saved = incomePlanRepo.save(verifiedIncomePlan);
+        events.publishEvent(LedgerChangedEvent.incomePlans());
+        return saved;
     }
 
     @Override
@@ -95,6 +105,7 @@ public class IncomePlanServiceImpl implements IncomePlanService{
             Optional.ofNullable(verifiedIncomePlan.getHoursPerWeek()).ifPresent(existingPlan::setHoursPerWeek);
             Optional.ofNullable(verifiedIncomePlan.getEffectiveFrom()).ifPresent(existingPlan::setEffectiveFrom);
             Optional.ofNullable(verifiedIncomePlan.getEffectiveTo()).ifPresent(existingPlan::setEffectiveTo);
+            events.publishEvent(LedgerChangedEvent.incomePlans());
             return incomePlanRepo.save(existingPlan);
         }).orElseThrow(() -> new IncomePlanNotFoundException(id));
     }
@@ -109,6 +120,7 @@ public class IncomePlanServiceImpl implements IncomePlanService{
         }
  
         incomePlanRepo.deleteById(id);
+        events.publishEvent(LedgerChangedEvent.incomePlans());
     }
 
     //------------------------------------------------------------------------------------------------
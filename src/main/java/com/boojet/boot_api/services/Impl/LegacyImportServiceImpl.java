@@ -0,0 +1,336 @@
+package com.boojet.boot_api.services.Impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.ImportStatus;
+import com.boojet.boot_api.domain.LegacyImport;
+import com.boojet.boot_api.exceptions.AccountNotFoundException;
+import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.exceptions.ImportNotFoundException;
+import com.boojet.boot_api.repositories.AccountRepository;
+import com.boojet.boot_api.repositories.LegacyImportRepository;
+import com.boojet.boot_api.services.LegacyImportService;
+import com.boojet.boot_api.services.imports.LegacyLedgerReader;
+import com.boojet.boot_api.services.imports.LegacyRecord;
+import com.boojet.boot_api.services.live.LedgerChangedEvent;
+import com.boojet.boot_api.services.suggestions.SuggestionIndexCache;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.java.Log;
+
+@Log
+@Service
+public class LegacyImportServiceImpl implements LegacyImportService {
+
+    // Transaction ids come from the same sequence Hibernate uses. Hibernate's pooled optimizer treats every
+    // nextval() as the top of a block of "increment" ids, so the importer reserves whole blocks the same way.
+    private static final String ID_SEQUENCE = "transaction_id_seq";
+
+    private static final String COPY_SQL =
+        "COPY transactions (id, description, amount, date, category, is_income, account_id) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String CHECKPOINT_SQL = """
+        INSERT INTO legacy_imports (import_id, account_id, rows_read, rows_imported, rows_skipped, status, message, started_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (import_id) DO UPDATE SET
+            rows_read = EXCLUDED.rows_read, rows_imported = EXCLUDED.rows_imported, rows_skipped = EXCLUDED.rows_skipped,
+            status = EXCLUDED.status, message = EXCLUDED.message, updated_at = EXCLUDED.updated_at
+        """;
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final DataSource dataSource;
+    private final AccountRepository accountRepository;
+    private final LegacyImportRepository importRepository;
+    private final SuggestionIndexCache suggestionIndexes;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final int batchRows;
+
+    public LegacyImportServiceImpl(DataSource dataSource, AccountRepository accountRepository,
+                                   LegacyImportRepository importRepository, SuggestionIndexCache suggestionIndexes,
+                                   ObjectMapper objectMapper, ApplicationEventPublisher events,
+                                   @Value("${boojet.import.batch-rows:50000}") int batchRows){
+        this.dataSource = dataSource;
+        this.accountRepository = accountRepository;
+        this.importRepository = importRepository;
+        this.suggestionIndexes = suggestionIndexes;
+        this.objectMapper = objectMapper;
+        this.events = events;
+        this.batchRows = batchRows;
+    }
+
+    @Override
+    public LegacyImport importLedger(String importId, Long accountId, InputStream ledger) {
+        if(accountId == null || accountId <= 0)
+            throw new BadRequestException("A valid accountId is required");
+        if(importId != null && (importId.isBlank() || importId.length() > 64))
+            throw new BadRequestException("importId must be 1-64 characters");
+
+        Account account = accountRepository.findById(accountId).orElseThrow(() -> new AccountNotFoundException(accountId));
+
+        LegacyImport state = importId == null ? null : importRepository.findById(importId).orElse(null);
+        if(state == null){
+            state = LegacyImport.builder()
+                        .importId(importId != null ? importId : UUID.randomUUID().toString())
+                        .accountId(accountId)
+                        .status(ImportStatus.RUNNING)
+                        .startedAt(Instant.now())
+                        .build();
+        } else if(!state.getAccountId().equals(accountId)){
+            throw new BadRequestException("Import " + state.getImportId() + " belongs to account " + state.getAccountId());
+        } else if(state.getStatus() == ImportStatus.COMPLETED){
+            return state;
+        }
+
+        try(Connection conn = dataSource.getConnection();
+            JsonParser parser = objectMapper.getFactory().createParser(ledger)){
+
+            conn.setAutoCommit(false);
+            try{
+                run(conn, new LegacyLedgerReader(parser), state);
+            } catch(IOException | SQLException | RuntimeException e){
+                conn.rollback();
+                fail(conn, state, e);
+                throw e;
+            }
+        } catch(JsonProcessingException e){
+            throw new BadRequestException("Malformed ledger after record " + state.getRowsRead() + ": " + e.getOriginalMessage());
+        } catch(IOException | SQLException e){
+            throw new IllegalStateException("Import " + state.getImportId() + " stopped after record " + state.getRowsRead() + ": " + e.getMessage(), e);
+        } finally {
+            if(state.getRowsImported() > 0 && account.getUser() != null)
+                suggestionIndexes.invalidate(account.getUser().getId());
+            if(state.getRowsImported() > 0)
+                events.publishEvent(LedgerChangedEvent.bulk(accountId));    //batches committed on their own connection, no transaction to wait for
+        }
+
+        return state;
+    }
+
+    @Override
+    public LegacyImport findImport(String importId) {
+        if(importId == null || importId.isBlank())
+            throw new BadRequestException("importId is required");
+
+        return importRepository.findById(importId).orElseThrow(() -> new ImportNotFoundException(importId));
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private void run(Connection conn, LegacyLedgerReader reader, LegacyImport state) throws IOException, SQLException {
+        long resumeAt = state.getRowsRead();
+        if(resumeAt > 0){
+            long skipped = reader.skip(resumeAt);
+            if(skipped < resumeAt)
+                throw new BadRequestException("Ledger has " + skipped + " records but import " + state.getImportId() + " already read " + resumeAt);
+            log.info("Import " + state.getImportId() + ": resuming after record " + resumeAt);
+        }
+
+        checkpoint(conn, state, ImportStatus.RUNNING, null);
+        conn.commit();
+
+        IdBlocks ids = new IdBlocks(conn, batchRows);
+        long started = System.nanoTime();
+        long readThisRun = 0;
+
+        while(true){
+            long before = state.getRowsRead();
+            boolean more = copyBatch(conn, reader, ids, state);
+
+            checkpoint(conn, state, more ? ImportStatus.RUNNING : ImportStatus.COMPLETED, null);
+            conn.commit();
+
+            readThisRun += state.getRowsRead() - before;
+            double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+            log.info(String.format("Import %s: %,d records read (%,d imported, %,d skipped), %,.0f records/s",
+                    state.getImportId(), state.getRowsRead(), state.getRowsImported(), state.getRowsSkipped(), readThisRun / seconds));
+
+            if(!more)
+                return;
+        }
+    }
+
+    //copies up to batchRows records in one COPY, returns false once the ledger is exhausted
+    private boolean copyBatch(Connection conn, LegacyLedgerReader reader, IdBlocks ids, LegacyImport state) throws IOException, SQLException {
+        ids.reserve(batchRows);                 //the connection cannot run nextval once the COPY is open
+        PGConnection pg = conn.unwrap(PGConnection.class);
+        PGCopyOutputStream copy = new PGCopyOutputStream(pg, COPY_SQL, COPY_BUFFER_SIZE);
+        LocalDate today = LocalDate.now();
+        int read = 0;
+
+        try(Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE)){
+            LegacyRecord r = null;
+            while(read < batchRows && (r = reader.next()) != null){
+                read++;
+                state.setRowsRead(state.getRowsRead() + 1);
+
+                if(r.amount() == null || r.category() == null || r.amount().signum() < 0){
+                    state.setRowsSkipped(state.getRowsSkipped() + 1);
+                    continue;
+                }
+
+                writeRow(out, ids.next(), r, today, state.getAccountId());
+                state.setRowsImported(state.getRowsImported() + 1);
+            }
+
+            return r != null;
+        } catch(IOException | RuntimeException e){
+            if(copy.isActive())
+                copy.cancelCopy();
+            throw e;
+        }
+    }
+
+    //one CSV line: id, description, amount, date, category (ordinal, as mapped by the entity), is_income, account_id
+    private static void writeRow(Writer out, long id, LegacyRecord r, LocalDate today, long accountId) throws IOException {
+        String description = r.description() == null || r.description().isBlank() ? "No description" : r.description().trim();
+        BigDecimal amount = r.amount().setScale(2, RoundingMode.HALF_UP);       //same rounding as Money
+
+        out.write(Long.toString(id));
+        out.write(',');
+        out.write('"');
+        out.write(description.replace("\"", "\"\""));
+        out.write('"');
+        out.write(',');
+        out.write(amount.toPlainString());
+        out.write(',');
+        out.write((r.date() == null ? today : r.date()).toString());
+        out.write(',');
+        out.write(Integer.toString(r.category().ordinal()));
+        out.write(',');
+        out.write(r.income() ? "true" : "false");
+        out.write(',');
+        out.write(Long.toString(accountId));
+        out.write('\n');
+    }
+
+    private static void checkpoint(Connection conn, LegacyImport state, ImportStatus status, String message) throws SQLException {
+        state.setStatus(status);
+        state.setMessage(message);
+        state.setUpdatedAt(Instant.now());
+
+        try(PreparedStatement ps = conn.prepareStatement(CHECKPOINT_SQL)){
+            ps.setString(1, state.getImportId());
+            ps.setLong(2, state.getAccountId());
+            ps.setLong(3, state.getRowsRead());
+            ps.setLong(4, state.getRowsImported());
+            ps.setLong(5, state.getRowsSkipped());
+            ps.setString(6, status.name());
+            ps.setString(7, message);
+            ps.setTimestamp(8, Timestamp.from(state.getStartedAt()));
+            ps.setTimestamp(9, Timestamp.from(state.getUpdatedAt()));
+            ps.executeUpdate();
+        }
+    }
+
+    //counters go back to the last committed checkpoint, then the failure is recorded on its own
+    private void fail(Connection conn, LegacyImport state, Exception cause){
+        try{
+            LegacyImport committed = importRepository.findById(state.getImportId()).orElse(null);
+            state.setRowsRead(committed == null ? 0 : committed.getRowsRead());
+            state.setRowsImported(committed == null ? 0 : committed.getRowsImported());
+            state.setRowsSkipped(committed == null ? 0 : committed.getRowsSkipped());
+            checkpoint(conn, state, ImportStatus.FAILED, String.valueOf(cause.getMessage()));
+            conn.commit();
+        } catch(SQLException e){
+            log.warning("Could not record failure of import " + state.getImportId() + ": " + e.getMessage());
+        }
+        log.warning("Import " + state.getImportId() + " failed after record " + state.getRowsRead() + ": " + cause.getMessage());
+    }
+
+    // Hands out transaction ids from blocks reserved on the shared sequence, a batch worth of blocks per round trip.
+    private static final class IdBlocks {
+        private final Connection conn;
+        private final long increment;
+        private final int blocksPerFetch;
+        private final Deque<Long> tops = new ArrayDeque<>();
+        private long next = 1;
+        private long last = 0;
+
+        IdBlocks(Connection conn, int batchRows) throws SQLException {
+            this.conn = conn;
+            try(PreparedStatement ps = conn.prepareStatement(
+                    "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?")){
+                ps.setString(1, ID_SEQUENCE);
+                try(ResultSet rs = ps.executeQuery()){
+                    if(!rs.next())
+                        throw new IllegalStateException("Sequence " + ID_SEQUENCE + " does not exist");
+                    this.increment = rs.getLong(1);
+                }
+            }
+            this.blocksPerFetch = (int) Math.max(1, (batchRows + increment - 1) / increment);
+        }
+
+        //makes sure the next "rows" ids can be handed out without another round trip
+        void reserve(int rows) throws SQLException {
+            while(available() < rows){
+                fetch();
+            }
+        }
+
+        long next(){
+            if(next > last){
+                if(tops.isEmpty())
+                    throw new IllegalStateException("No ids reserved");
+                long top = tops.poll();
+                next = firstOf(top);
+                last = top;
+            }
+            return next++;
+        }
+
+        private long available(){
+            long count = last - next + 1;
+            for(long top : tops){
+                count += top - firstOf(top) + 1;
+            }
+            return count;
+        }
+
+        //the sequence starts at 1, so its first block is shorter than increment
+        private long firstOf(long top){
+            return Math.max(1, top - increment + 1);
+        }
+
+        private void fetch() throws SQLException {
+            try(PreparedStatement ps = conn.prepareStatement("SELECT nextval(?) FROM generate_series(1, ?)")){
+                ps.setString(1, ID_SEQUENCE);
+                ps.setInt(2, blocksPerFetch);
+                try(ResultSet rs = ps.executeQuery()){
+                    while(rs.next()){
+                        tops.add(rs.getLong(1));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.boojet.boot_api.services.Impl;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.exceptions.AccountNotFoundException;
+import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.exceptions.TooManyRequestsException;
+import com.boojet.boot_api.services.AccountService;
+import com.boojet.boot_api.services.IncomePlanService;
+import com.boojet.boot_api.services.LiveUpdateService;
+import com.boojet.boot_api.services.TransactionService;
+import com.boojet.boot_api.services.live.LedgerChangedEvent;
+import com.boojet.boot_api.services.live.LiveSubscriber;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+
+@Log
+@Service
+public class LiveUpdateServiceImpl implements LiveUpdateService {
+
+    private static final String HEARTBEAT = ":\n\n";
+
+    private final TransactionService transactionService;
+    private final AccountService accountService;
+    private final IncomePlanService incomePlanService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryReads;
+
+    private final Set<LiveSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openStreams = new AtomicInteger();     //slots taken, reserved before a stream is opened so concurrent subscribes cannot overshoot the cap
+    private final AtomicInteger streamCounter = new AtomicInteger();
+    private final ScheduledExecutorService publisher;
+
+    private final long coalesceMillis;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+
+    //changes since the last flush, guarded by "this"
+    private final Set<Long> pendingAccounts = new HashSet<>();
+    private final Set<YearMonth> pendingMonths = new HashSet<>();
+    private boolean pendingAllAccounts;
+    private boolean pendingAllMonths;
+    private boolean flushScheduled;
+
+    public LiveUpdateServiceImpl(TransactionService transactionService, AccountService accountService, IncomePlanService incomePlanService,
+                                 ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                 @Value("${boojet.live.coalesce-ms:100}") long coalesceMillis,
+                                 @Value("${boojet.live.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${boojet.live.heartbeat-seconds:25}") long heartbeatSeconds,
+                                 @Value("${boojet.live.client-buffer:16}") int bufferSize,
+                                 @Value("${boojet.live.max-subscribers:500}") int maxSubscribers){
+        this.transactionService = transactionService;
+        this.accountService = accountService;
+        this.incomePlanService = incomePlanService;
+        this.objectMapper = objectMapper;
+        this.coalesceMillis = coalesceMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+
+        //read-write on purpose: with replica routing that pins the reads to the primary, which already has the commit we are reporting
+        this.primaryReads = new TransactionTemplate(transactionManager);
+
+        this.publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "live-updates");
+            t.setDaemon(true);
+            return t;
+        });
+        //keeps idle streams from being cut by proxies and notices clients that have gone away
+        this.publisher.scheduleWithFixedDelay(() -> broadcast(HEARTBEAT, null), heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public SseEmitter subscribe(Integer year, Integer month){
+
+        YearMonth ym = toYearMonth(year, month);
+
+        if(openStreams.incrementAndGet() > maxSubscribers){
+            openStreams.decrementAndGet();
+            throw new TooManyRequestsException("Too many live update streams are open, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        LiveSubscriber subscriber = new LiveSubscriber(emitter, ym, bufferSize, this::release);
+        subscribers.add(subscriber);
+        subscriber.start("live-sse-" + streamCounter.incrementAndGet());
+
+        return emitter;
+    }
+
+    // after commit only, a rolled back write must not show up; fallbackExecution covers writes made outside a transaction (bulk delete chunks)
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLedgerChanged(LedgerChangedEvent event){
+        pendingAccounts.addAll(event.accountIds());
+        pendingMonths.addAll(event.months());
+        pendingAllAccounts |= event.allAccounts();
+        pendingAllMonths |= event.allMonths();
+
+        if(!flushScheduled){
+            flushScheduled = true;
+            publisher.schedule(this::flush, coalesceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public int subscriberCount(){
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        publisher.shutdownNow();
+        for(LiveSubscriber subscriber : subscribers){
+            subscriber.complete();
+        }
+    }
+
+    //-----helpers-----
+
+    //a subscriber can be closed from more than one callback, only the first removal frees its slot
+    private void release(LiveSubscriber subscriber){
+        if(subscribers.remove(subscriber))
+            openStreams.decrementAndGet();
+    }
+
+    private void flush(){
+        Set<Long> accounts;
+        Set<YearMonth> months;
+        boolean allAccounts;
+        boolean allMonths;
+
+        synchronized(this){
+            accounts = new HashSet<>(pendingAccounts);
+            months = new HashSet<>(pendingMonths);
+            allAccounts = pendingAllAccounts;
+            allMonths = pendingAllMonths;
+
+            pendingAccounts.clear();
+            pendingMonths.clear();
+            pendingAllAccounts = pendingAllMonths = false;
+            flushScheduled = false;
+        }
+
+        if(subscribers.isEmpty()){
+            return;                 //nobody to tell, nothing to compute
+        }
+
+        //only months somebody is looking at are worth recomputing
+        Set<YearMonth> watched = new HashSet<>();
+        for(LiveSubscriber subscriber : subscribers){
+            if(subscriber.month() != null)
+                watched.add(subscriber.month());
+        }
+        if(!allMonths){
+            watched.retainAll(months);
+        }
+
+        try{
+            primaryReads.executeWithoutResult(status -> {
+                if(allAccounts || !accounts.isEmpty()){
+                    broadcast(frame("balances", balances(accounts, allAccounts)), null);
+                }
+                for(YearMonth ym : watched){
+                    SummaryUpdate summary = new SummaryUpdate(ym.toString(),
+                            incomePlanService.netReport(ym.getYear(), ym.getMonthValue()),
+                            transactionService.monthlySummaryByCategory(ym.getYear(), ym.getMonthValue()));
+                    broadcast(frame("summary", summary), ym);
+                }
+            });
+        } catch(RuntimeException e){
+            //clients would otherwise keep showing stale numbers with no way to tell
+            log.log(Level.WARNING, "Live update failed, asking clients to resync", e);
+            broadcast(LiveSubscriber.RESYNC, null);
+        }
+    }
+
+    private BalancesUpdate balances(Set<Long> accountIds, boolean allAccounts){
+        Set<Long> ids = new HashSet<>(accountIds);
+        if(allAccounts){
+            for(Account account : accountService.findAllAccounts()){
+                ids.add(account.getId());
+            }
+        }
+
+        Map<Long, Money> balances = new LinkedHashMap<>();
+        for(Long id : ids){
+            try{
+                balances.put(id, accountService.balance(id));
+            } catch(AccountNotFoundException e){
+                balances.put(id, null);         //deleted
+            }
+        }
+
+        return new BalancesUpdate(transactionService.calculateTotalBalance(), balances);
+    }
+
+    //one rendered frame shared by every subscriber, serialized once
+    private String frame(String event, Object payload){
+        try{
+            return "event:" + event + "\ndata:" + objectMapper.writeValueAsString(payload) + "\n\n";
+        } catch(JsonProcessingException e){
+            throw new IllegalStateException("Cannot serialize live update " + event, e);
+        }
+    }
+
+    //null month: every subscriber
+    private void broadcast(String frame, YearMonth month){
+        for(LiveSubscriber subscriber : subscribers){
+            if(month == null || month.equals(subscriber.month()))
+                subscriber.offer(frame);
+        }
+    }
+
+    private YearMonth toYearMonth(Integer year, Integer month){
+        if(year == null && month == null){
+            return null;
+        }
+        if(year == null || month == null){
+            throw new BadRequestException("year and month must be given together");
+        }
+        try{
+            return YearMonth.of(year, month);
+        } catch(RuntimeException e){
+            throw new BadRequestException("Cannot build YearMonth from " + year + "/" + month);
+        }
+    }
+}
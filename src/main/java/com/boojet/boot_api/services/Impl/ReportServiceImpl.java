@@ -0,0 +1,261 @@
+package com.boojet.boot_api.services.Impl;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.boojet.boot_api.controllers.dto.ReportRequest;
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.ReportStatus;
+import com.boojet.boot_api.domain.ReportType;
+import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.exceptions.ConflictException;
+import com.boojet.boot_api.exceptions.ReportNotFoundException;
+import com.boojet.boot_api.exceptions.TooManyRequestsException;
+import com.boojet.boot_api.services.AccountService;
+import com.boojet.boot_api.services.IncomePlanService;
+import com.boojet.boot_api.services.ReportService;
+import com.boojet.boot_api.services.TransactionService;
+import com.boojet.boot_api.services.reports.ReportJob;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+
+@Log
+@Service
+public class ReportServiceImpl implements ReportService {
+
+    private static final int MAX_MONTHS = 12 * 50;
+
+    private final TransactionService transactionService;
+    private final IncomePlanService incomePlanService;
+    private final AccountService accountService;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService sweeper;
+    private final long resultTtlMillis;
+    private final int maxJobs;
+
+    public ReportServiceImpl(TransactionService transactionService, IncomePlanService incomePlanService, AccountService accountService,
+                             @Value("${boojet.reports.workers:2}") int workerCount,
+                             @Value("${boojet.reports.queue-capacity:20}") int queueCapacity,
+                             @Value("${boojet.reports.result-ttl-minutes:30}") long resultTtlMinutes,
+                             @Value("${boojet.reports.max-jobs:200}") int maxJobs){
+        this.transactionService = transactionService;
+        this.incomePlanService = incomePlanService;
+        this.accountService = accountService;
+        this.resultTtlMillis = TimeUnit.MINUTES.toMillis(resultTtlMinutes);
+        this.maxJobs = maxJobs;
+
+        //fixed size and a bounded queue: a burst of submissions is rejected instead of piling up
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("report-worker"), new ThreadPoolExecutor.AbortPolicy());
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemonThreads("report-sweeper"));
+        this.sweeper.scheduleWithFixedDelay(this::evictExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public ReportJob submit(ReportRequest request){
+
+        validateRequest(request);
+
+        if(jobs.size() >= maxJobs){
+            evictExpired();
+            if(jobs.size() >= maxJobs){
+                throw new TooManyRequestsException("Too many report jobs are being kept, try again later");
+            }
+        }
+
+        ReportJob job = new ReportJob(request);
+        jobs.put(job.getJobId(), job);
+
+        try{
+            job.setFuture(workers.submit(() -> run(job)));
+        } catch(RejectedExecutionException e){
+            jobs.remove(job.getJobId());
+            throw new TooManyRequestsException("The report queue is full, try again later");
+        }
+
+        return job;
+    }
+
+    @Override
+    public ReportJob findJob(String jobId){
+        ReportJob job = jobs.get(jobId);
+        if(job == null){
+            throw new ReportNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    @Override
+    public Object result(String jobId){
+        ReportJob job = findJob(jobId);
+
+        if(job.getStatus() != ReportStatus.COMPLETED){
+            throw new ConflictException("Report job " + jobId + " is " + job.getStatus()
+                    + (job.getError() != null ? ": " + job.getError() : " (" + job.getProgress() + "%)"));
+        }
+        return job.getResult();
+    }
+
+    @Override
+    public void cancel(String jobId){
+        ReportJob job = findJob(jobId);
+        job.cancel();
+        jobs.remove(jobId);
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        sweeper.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    //-----helpers-----
+
+    private void run(ReportJob job){
+        try{
+            Object result = switch(job.getType()){
+                case MULTI_YEAR_SUMMARY -> multiYearSummary(job);
+                case ACCOUNT_BALANCES -> accountBalances(job);
+            };
+
+            if(Thread.currentThread().isInterrupted()){
+                return;                             //cancelled, nobody is waiting for it any more
+            }
+            job.complete(result);
+            log.info("Report " + job.getJobId() + " (" + job.getType() + ") finished in "
+                    + (job.getFinishedAt().toEpochMilli() - job.getStartedAt().toEpochMilli()) + " ms");
+
+        } catch(CancelledException e){
+            //job.cancel() already recorded it
+        } catch(RuntimeException e){
+            log.warning("Report " + job.getJobId() + " failed: " + e.getMessage());
+            job.fail(e.getMessage());
+        }
+    }
+
+    //one net report and one category summary per month, the same calls the monthly endpoints make
+    private MultiYearSummary multiYearSummary(ReportJob job){
+        ReportRequest request = job.getRequest();
+        YearMonth from = YearMonth.of(request.fromYear(), request.fromMonth());
+        YearMonth to = YearMonth.of(request.toYear(), request.toMonth());
+
+        job.start((int) (from.until(to, ChronoUnit.MONTHS) + 1));
+
+        List<MonthlyReport> months = new ArrayList<>();
+        Money income = Money.zero();
+        Money expenses = Money.zero();
+
+        for(YearMonth ym = from; !ym.isAfter(to); ym = ym.plusMonths(1)){
+            checkCancelled();
+
+            IncomePlanService.NetReport net = incomePlanService.netReport(ym.getYear(), ym.getMonthValue());
+            months.add(new MonthlyReport(net, transactionService.monthlySummaryByCategory(ym.getYear(), ym.getMonthValue())));
+
+            income = income.add(net.actualIncome());
+            expenses = expenses.add(net.expenses());
+            job.stepDone();
+        }
+
+        return new MultiYearSummary(months, income, expenses, income.subtract(expenses));
+    }
+
+    //every account's balance recomputed from its transactions, as GET /account/balance/{id} does
+    private AccountBalances accountBalances(ReportJob job){
+        List<Account> accounts = accountService.findAllAccounts();
+        job.start(accounts.size());
+
+        List<AccountBalance> balances = new ArrayList<>(accounts.size());
+        Money total = Money.zero();
+
+        for(Account account : accounts){
+            checkCancelled();
+
+            Money balance = accountService.balance(account.getId());
+            balances.add(new AccountBalance(account.getId(), account.getName(), balance));
+            total = total.add(balance);
+            job.stepDone();
+        }
+
+        balances.sort(Comparator.comparing(AccountBalance::accountId));
+        return new AccountBalances(balances, total);
+    }
+
+    private void validateRequest(ReportRequest request){
+        if(request == null || request.type() == null){
+            throw new BadRequestException("Report type must be provided");
+        }
+
+        if(request.type() != ReportType.MULTI_YEAR_SUMMARY){
+            return;
+        }
+
+        if(request.fromYear() == null || request.fromMonth() == null || request.toYear() == null || request.toMonth() == null){
+            throw new BadRequestException("fromYear, fromMonth, toYear and toMonth are required for " + request.type());
+        }
+
+        YearMonth from, to;
+        try{
+            from = YearMonth.of(request.fromYear(), request.fromMonth());
+            to = YearMonth.of(request.toYear(), request.toMonth());
+        } catch(RuntimeException e){
+            throw new BadRequestException("Cannot build YearMonth. Invalid Year/Month in report range");
+        }
+
+        if(from.isAfter(to)){
+            throw new BadRequestException("Report range must not end before it starts");
+        }
+
+        if(from.until(to, ChronoUnit.MONTHS) >= MAX_MONTHS){
+            throw new BadRequestException("Report range must not exceed " + MAX_MONTHS + " months");
+        }
+    }
+
+    //drops finished jobs whose result has been kept long enough
+    private void evictExpired(){
+        long cutoff = Instant.now().toEpochMilli() - resultTtlMillis;
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt() != null && job.getFinishedAt().toEpochMilli() < cutoff);
+    }
+
+    private static void checkCancelled(){
+        if(Thread.currentThread().isInterrupted()){
+            throw new CancelledException();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name){
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static final class CancelledException extends RuntimeException {
+        CancelledException(){
+            super("cancelled", null, false, false);
+        }
+    }
+}
@@ -11,12 +11,17 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.boojet.boot_api.controllers.dto.BulkDeleteResult;
 import com.boojet.boot_api.controllers.dto.CategorySummaryDto;
 import com.boojet.boot_api.controllers.dto.TxSuggestionDetails;
 import com.boojet.boot_api.domain.Account;
@@ -26,12 +31,22 @@ import com.boojet.boot_api.domain.Transaction;
 import com.boojet.boot_api.domain.ValidationMode;
 import com.boojet.boot_api.exceptions.AccountNotFoundException;
 import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.exceptions.PreconditionFailedException;
 import com.boojet.boot_api.exceptions.TransactionNotFoundException;
 import com.boojet.boot_api.repositories.AccountRepository;
 import com.boojet.boot_api.repositories.TransactionRepository;
 import com.boojet.boot_api.repositories.projections.CategoryTotalView;
+import com.boojet.boot_api.repositories.projections.DeletedTransactionView;
+import com.boojet.boot_api.repositories.projections.OwnerCountView;
 import com.boojet.boot_api.services.TransactionService;
+import com.boojet.boot_api.services.accounts.AccountReferenceCache;
+import com.boojet.boot_api.services.live.LedgerChangedEvent;
+import com.boojet.boot_api.services.suggestions.SuggestionIndex;
+import com.boojet.boot_api.services.suggestions.SuggestionIndexCache;
 
+import io.micrometer.core.annotation.Timed;
+
+@Timed(value = "boojet.service", description = "Service method latency, tagged by class and method")
 @Service
 @Transactional(readOnly = true)
 public class TransactionServiceImpl implements TransactionService {
@@ -43,9 +58,26 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final AccountRepository accountRepository;
 
-    public TransactionServiceImpl(TransactionRepository transactionRepository, AccountRepository accountRepository) {
+    private final SuggestionIndexCache suggestionIndexes;
+
+    private final AccountReferenceCache accountReferences;
+
+    private final ApplicationEventPublisher events;
+
+    private final int deleteChunkRows;
+
+    private static final int SUGGESTION_LIMIT = 15;
+
+    public TransactionServiceImpl(TransactionRepository transactionRepository, AccountRepository accountRepository,
+                                  SuggestionIndexCache suggestionIndexes, AccountReferenceCache accountReferences,
+                                  ApplicationEventPublisher events,
+                                  @Value("${boojet.delete.chunk-rows:5000}") int deleteChunkRows) {
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
+        this.suggestionIndexes = suggestionIndexes;
+        this.accountReferences = accountReferences;
+        this.events = events;
+        this.deleteChunkRows = deleteChunkRows;
     }
 
     // ----------------------------CRUD operations----------------------------------
@@ -60,7 +92,10 @@ public class TransactionServiceImpl implements TransactionService {
         //verify transaction data (all fields including Account) or throw
         Transaction verifiedTransaction = validateTransaction(transaction, ValidationMode.CREATE);
 
-        return transactionRepository.save(verifiedTransaction);
+        Transaction saved = transactionRepository.save(verifiedTransaction);
+        suggestionIndexes.invalidateAfterCommit(ownerId(saved));
+        events.publishEvent(LedgerChangedEvent.transaction(saved.getAccount().getId(), saved.getDate()));
+        return saved;
     }
 
     // return a list of all transactions
@@ -108,42 +143,74 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional
     public Transaction updateTransactionComplete(Long id, Transaction transaction) {
-
-        Transaction verifiedTransaction = validateTransaction(transaction, ValidationMode.PUT_FULL);
-        return updateTransaction(id, verifiedTransaction);
+        return updateTransactionComplete(id, transaction, null);
     }
 
+    @Override
+    @Transactional
+    public Transaction updateTransactionComplete(Long id, Transaction transaction, Long expectedVersion) {
 
+        //field checks only, the account is checked by the foreign key in the update itself
+        validateFields(transaction, ValidationMode.PUT_FULL);
+        return updateTransaction(id, transaction, expectedVersion);
+    }
 
     // update an existing transaction by its ID and return the updated entity
     @Override
     @Transactional
     public Transaction updateTransaction(Long id, Transaction transaction) {
+        return updateTransaction(id, transaction, null);
+    }
+
+    // one UPDATE ... RETURNING: the version check, the write and the read back happen in a single round trip
+    @Override
+    @Transactional
+    public Transaction updateTransaction(Long id, Transaction transaction, Long expectedVersion) {
 
         //throws BadRequestException if id is null or not positive
         validateTransactionId(id);
+        validateFields(transaction, ValidationMode.PATCH_PARTIAL);
 
-        //attach verified account or throw
-        if(transaction.getAccount() != null && transaction.getAccount().getId() != null){
-            Account account = transaction.getAccount();
-            Account verifiedAccount = validateAccount(account.getId());
-            transaction.setAccount(verifiedAccount);
+        Long accountId = transaction.getAccount() != null ? transaction.getAccount().getId() : null;
+        if(accountId != null && accountId <= 0){
+            throw new BadRequestException("Account ID must be a positive number");
+        }
+
+        //moving to another account may change the owner, whose suggestions also need to go (rare, so one extra read is fine)
+        if(accountId != null){
+            transactionRepository.findOwnerIdById(id).ifPresent(suggestionIndexes::invalidateAfterCommit);
+        }
+
+        Optional<Transaction> updated;
+        try{
+            updated = transactionRepository.updateIfVersionMatches(id, expectedVersion,
+                    transaction.getDescription(),
+                    transaction.getAmount() != null ? transaction.getAmount().asBigDecimal() : null,
+                    transaction.getDate(),
+                    transaction.getCategory() != null ? transaction.getCategory().ordinal() : null,
+                    transaction.isIncome(),
+                    accountId);
+        } catch(DataIntegrityViolationException e){
+            if(accountId != null){
+                throw new AccountNotFoundException(accountId);
+            }
+            throw e;
         }
 
-        // Ensure the transaction to update has the correct ID
-        transaction.setId(id);
-
-        return transactionRepository.findById(id).map(existingTransaction -> {
-            Optional.ofNullable(transaction.getDescription()).ifPresent(existingTransaction::setDescription);
-            Optional.ofNullable(transaction.getAmount()).ifPresent(existingTransaction::setAmount);
-            Optional.ofNullable(transaction.getDate()).ifPresent(existingTransaction::setDate);
-            Optional.ofNullable(transaction.getCategory()).ifPresent(existingTransaction::setCategory);
-            Optional.ofNullable(transaction.isIncome()).ifPresent(existingTransaction::setIncome);
-            return transactionRepository.save(existingTransaction);
-        }).orElseThrow(() -> new TransactionNotFoundException(id));
+        //no row: either the transaction is gone or someone else updated it first, only now is it worth telling apart
+        Transaction saved = updated.orElseThrow(() -> transactionRepository.findVersionById(id)
+                .<RuntimeException>map(current -> new PreconditionFailedException(
+                        "Transaction " + id + " was modified (current version " + current + ", expected " + expectedVersion + ")"))
+                .orElseGet(() -> new TransactionNotFoundException(id)));
+
+        suggestionIndexes.invalidateAfterCommit(ownerId(saved));
+
+        events.publishEvent(LedgerChangedEvent.transactionUpdate(saved.getAccount().getId(), saved.getDate(),
+                accountId != null, transaction.getDate() != null));
+        return saved;
     }
 
-    // delete a transaction by its ID
+    // delete a transaction by its ID, a single DELETE ... RETURNING tells us "not found", whose suggestions to invalidate and what changed
     @Override
     @Transactional
     public void delete(Long id) {
@@ -151,12 +218,52 @@ public class TransactionServiceImpl implements TransactionService {
         //throws BadRequestException if id is null or not positive
         validateTransactionId(id);
 
-        //throw if not found
-        if(!transactionRepository.existsById(id)){
-            throw new TransactionNotFoundException(id);
+        DeletedTransactionView deleted = transactionRepository.deleteReturning(id)
+                .orElseThrow(() -> new TransactionNotFoundException(id));
+
+        suggestionIndexes.invalidateAfterCommit(deleted.getOwnerId());
+        events.publishEvent(LedgerChangedEvent.transaction(deleted.getAccountId(), deleted.getDate()));
+    }
+
+    // not one transaction on purpose: every chunk commits on its own (see TransactionRepository.deleteChunkMatching)
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkDeleteResult deleteMatching(Long accountId, Category category, LocalDate from, LocalDate to) {
+
+        if(accountId == null && category == null && from == null && to == null){
+            throw new BadRequestException("At least one filter (accountId, category, from, to) is required for a bulk delete");
+        }
+
+        if(from != null && to != null && from.isAfter(to)){
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        if(accountId != null && !accountRepository.existsById(accountId)){
+            throw new AccountNotFoundException(accountId);
         }
 
-        transactionRepository.deleteById(id);
+        Integer categoryOrdinal = category != null ? category.ordinal() : null;
+        long deleted = 0;
+        int chunks = 0;
+
+        while(true){
+            List<OwnerCountView> chunk = transactionRepository.deleteChunkMatching(accountId, categoryOrdinal, from, to, deleteChunkRows);
+            if(chunk.isEmpty()){
+                break;
+            }
+
+            chunks++;
+            for(OwnerCountView owner : chunk){
+                deleted += owner.getDeleted();
+                suggestionIndexes.invalidate(owner.getOwnerId());      //the chunk has committed already
+            }
+        }
+
+        if(deleted > 0){
+            events.publishEvent(LedgerChangedEvent.bulk(accountId));
+        }
+
+        return new BulkDeleteResult(deleted, chunks);
     }
 
     // -----------------------------------------------------------------------------
@@ -181,7 +288,7 @@ public class TransactionServiceImpl implements TransactionService {
         if(howMany <= 0)
             return List.of();
 
-        int limit = Math.min(howMany, 15);
+        int limit = Math.min(howMany, SUGGESTION_LIMIT);
 
         //LinkedHashSet keeps the order of insertions and keeps duplicates in check (dedupes)
         Set<String> out = new LinkedHashSet<>(limit);
@@ -210,6 +317,26 @@ public class TransactionServiceImpl implements TransactionService {
 
     }
 
+    @Override
+    public List<String> suggest(Long userId, String name, int howMany){
+
+        if(userId == null)
+            return suggest(name, howMany);
+
+        if(name == null)
+            return List.of();
+
+        String trim = name.trim();
+
+        if(trim.length() < 2 || howMany <= 0)
+            return List.of();
+
+        SuggestionIndex index = suggestionIndexes.get(userId,
+                id -> SuggestionIndex.of(transactionRepository.descriptionUsageForUser(id)));
+
+        return index.suggest(trim, Math.min(howMany, SUGGESTION_LIMIT));
+    }
+
     @Override
     public TxSuggestionDetails suggestionDetails(String description){
         
@@ -346,6 +473,19 @@ public class TransactionServiceImpl implements TransactionService {
 
     private Transaction validateTransaction(Transaction transaction, ValidationMode mode) {
 
+        validateFields(transaction, mode);
+
+        // if client provides an account with an id in any mode, verify it exists and attach verified account OR throw
+        if(transaction.getAccount() != null && transaction.getAccount().getId() != null){
+            transaction.setAccount(validateAccount(transaction.getAccount().getId()));
+        }
+
+        return transaction;
+    }
+
+    //checks that need no database access
+    private void validateFields(Transaction transaction, ValidationMode mode) {
+
         if (transaction == null) {
             throw new BadRequestException("Transaction must not be null");
         }
@@ -373,17 +513,11 @@ public class TransactionServiceImpl implements TransactionService {
         if(mode != ValidationMode.PATCH_PARTIAL && (transaction.getDescription() == null || transaction.getDescription().isBlank())){
             throw new BadRequestException("Transaction description must be provided");
         }
-
-        // if client provides an account with an id in any mode, verify it exists and attach verified account OR throw
-        if(transaction.getAccount() != null && transaction.getAccount().getId() != null){
-            transaction.setAccount(validateAccount(transaction.getAccount().getId()));
-        }
-
-
-        return transaction;
     }
 
     private Transaction applyCreateDefaults(Transaction transaction) {
+        transaction.setVersion(null);           //a new row always starts at the first version
+
         if (transaction.getDate() == null) {
             transaction.setDate(LocalDate.now());
         }
@@ -399,10 +533,19 @@ public class TransactionServiceImpl implements TransactionService {
         if (accountId == null || accountId <= 0) {
             throw new BadRequestException("Account ID must be a positive number");
         }
-        return accountRepository.findById(accountId)
+        //a detached snapshot: enough for the foreign key and the owner, no SELECT when cached
+        return accountReferences.find(accountId, accountRepository::findById)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
     }
 
+    private Long ownerId(Transaction transaction){
+        Account account = transaction.getAccount();
+        if(account == null || account.getUser() == null){
+            return null;
+        }
+        return account.getUser().getId();
+    }
+
     private YearMonth buildYearMonthOrThrow(int year, int month){
         try{
             return YearMonth.of(year, month);
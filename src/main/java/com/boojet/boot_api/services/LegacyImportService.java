@@ -0,0 +1,53 @@
+package com.boojet.boot_api.services;
+
+import java.io.InputStream;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.LegacyImport;
+import com.boojet.boot_api.exceptions.AccountNotFoundException;
+import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.exceptions.ImportNotFoundException;
+
+/**
+ * Service contract for migrating CLI users: loads a legacy ledger file ({@code transactions.json}, as written
+ * by the CLI's {@code FileStorage}) into the {@code transactions} table.
+ *
+ * <b>Notes:</b>
+ * <ul>
+ * <li>The file is streamed record by record and rows are loaded with the PostgreSQL {@code COPY} protocol in
+ * batches, bypassing JPA.</li>
+ * <li>Each batch commits together with the import's {@link LegacyImport} checkpoint, so an interrupted import
+ * can be resumed with the same id without duplicating or losing rows.</li>
+ * </ul>
+ */
+public interface LegacyImportService {
+
+    /**
+     * Imports every record of {@code ledger} into the account {@code accountId}.
+     *
+     * <ul>
+     *  <li>If {@code importId} is {@code null} a new id is generated; it is returned so the import can be resumed.</li>
+     *  <li>If an import with {@code importId} already exists, the records it has already read are skipped.
+     *  A completed import is returned as is.</li>
+     *  <li>Records without a date get {@code LocalDate.now()}, blank descriptions become {@code "No description"}.
+     *  Records without an amount or category, or with a negative amount, are counted as skipped.</li>
+     * </ul>
+     *
+     * @param importId id of the import to start or resume; may be {@code null}
+     * @param accountId the {@link Account} every record is imported into
+     * @param ledger the JSON ledger, read to the end but not closed
+     * @return the import's progress after the last batch
+     * @throws BadRequestException if the ids are invalid, the import belongs to another account, or the ledger is malformed
+     * @throws AccountNotFoundException if the account does not exist
+     */
+    LegacyImport importLedger(String importId, Long accountId, InputStream ledger);
+
+    /**
+     * Returns the progress of an import, updated after every committed batch.
+     *
+     * @param importId id of the import
+     * @return the import's progress
+     * @throws ImportNotFoundException if no import with that id exists
+     */
+    LegacyImport findImport(String importId);
+}
@@ -0,0 +1,77 @@
+package com.boojet.boot_api.services;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.boojet.boot_api.controllers.dto.CategorySummaryDto;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.exceptions.TooManyRequestsException;
+import com.boojet.boot_api.services.live.LedgerChangedEvent;
+
+/**
+ * Service contract for pushing balance and summary changes to open UIs (Server-Sent Events).
+ *
+ * <b>Notes:</b>
+ * <ul>
+ * <li>Writes publish a {@link LedgerChangedEvent}; after the write commits the affected values are recomputed
+ * <b>once</b> and the same rendered event goes to every subscriber, however many there are.</li>
+ * <li>Changes arriving close together are coalesced into one recomputation (an import or a bulk delete
+ * produces one update, not thousands).</li>
+ * <li>Events only carry what changed: the balances of the affected accounts and the summaries of the affected
+ * months, the latter only to clients showing that month.</li>
+ * <li>Every subscriber has a small bounded buffer. A client that cannot keep up loses its backlog and receives
+ * a {@code resync} event telling it to reload instead.</li>
+ * </ul>
+ *
+ * <b>Events:</b>
+ * <ul>
+ * <li>{@code balances} - a {@link BalancesUpdate}.</li>
+ * <li>{@code summary} - a {@link SummaryUpdate} for the subscribed month.</li>
+ * <li>{@code resync} - reload everything, some updates were dropped.</li>
+ * </ul>
+ */
+public interface LiveUpdateService {
+
+    /**
+     * Opens an event stream.
+     *
+     * @param year year of the month the client is showing, or {@code null} for balances only
+     * @param month month (1-12) the client is showing, or {@code null} for balances only
+     * @return the emitter to return from the controller
+     * @throws BadRequestException if only one of year/month is given or they do not form a valid month
+     * @throws TooManyRequestsException if the maximum number of open streams has been reached
+     */
+    SseEmitter subscribe(Integer year, Integer month);
+
+    /**
+     * Records a committed change; the recomputation and fan-out happen shortly after on a background thread.
+     *
+     * @param event what changed
+     */
+    void onLedgerChanged(LedgerChangedEvent event);
+
+    /**
+     * @return number of open streams
+     */
+    int subscriberCount();
+
+    /**
+     * Balances after a change.
+     *
+     * @param total net of all transactions (same as {@code GET /transactions/balance})
+     * @param accounts balance (opening balance plus transactions) per affected account id; {@code null} for an account that no longer exists
+     */
+    record BalancesUpdate(Money total, Map<Long, Money> accounts){}
+
+    /**
+     * A month's figures after a change.
+     *
+     * @param month the month, e.g. "2026-01"
+     * @param net same as {@code GET /plan/net/{year}/{month}}
+     * @param categories same as {@code GET /transactions/summary/{year}/{month}}
+     */
+    record SummaryUpdate(String month, IncomePlanService.NetReport net, List<CategorySummaryDto> categories){}
+}
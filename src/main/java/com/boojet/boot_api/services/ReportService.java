@@ -0,0 +1,112 @@
+package com.boojet.boot_api.services;
+
+import java.util.List;
+
+import com.boojet.boot_api.controllers.dto.CategorySummaryDto;
+import com.boojet.boot_api.controllers.dto.ReportRequest;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.exceptions.ConflictException;
+import com.boojet.boot_api.exceptions.ReportNotFoundException;
+import com.boojet.boot_api.exceptions.TooManyRequestsException;
+import com.boojet.boot_api.services.reports.ReportJob;
+
+/**
+ * Service contract for long-running reports that do not fit in a request.
+ *
+ * <b>Notes:</b>
+ * <ul>
+ * <li>A report is submitted as a job and runs in the background on a bounded pool; the caller polls the job
+ * for progress and fetches the result once it has completed.</li>
+ * <li>Reports are built from the same calculations as the interactive endpoints
+ * ({@link TransactionService}, {@link IncomePlanService}, {@link AccountService}), one month or one account at a time.</li>
+ * <li>Jobs and results live in memory only. Finished jobs are dropped after {@code boojet.reports.result-ttl-minutes},
+ * and nothing survives a restart.</li>
+ * </ul>
+ */
+public interface ReportService {
+
+    /**
+     * Queues a report.
+     *
+     * @param request what to compute
+     * @return the queued job, whose id is used to poll it
+     * @throws BadRequestException if the type is missing or the month range is invalid
+     * @throws TooManyRequestsException if the job queue is full
+     */
+    ReportJob submit(ReportRequest request);
+
+    /**
+     * Returns a job's status and progress.
+     *
+     * @param jobId id returned by {@link #submit(ReportRequest)}
+     * @return the job
+     * @throws ReportNotFoundException if the job does not exist or has expired
+     */
+    ReportJob findJob(String jobId);
+
+    /**
+     * Returns the result of a completed job: a {@link MultiYearSummary} or an {@link AccountBalances}
+     * depending on the report type.
+     *
+     * @param jobId id returned by {@link #submit(ReportRequest)}
+     * @return the report
+     * @throws ReportNotFoundException if the job does not exist or has expired
+     * @throws ConflictException if the job has not completed (still running, failed or cancelled)
+     */
+    Object result(String jobId);
+
+    /**
+     * Cancels a job if it is still queued or running, and forgets it.
+     *
+     * @param jobId id returned by {@link #submit(ReportRequest)}
+     * @throws ReportNotFoundException if the job does not exist or has expired
+     */
+    void cancel(String jobId);
+
+    /**
+     * One month of a {@link MultiYearSummary}.
+     *
+     * @param net expected/actual income and expenses, as in {@link IncomePlanService#netReport(int, int)}
+     * @param categories net total per category, as in {@link TransactionService#monthlySummaryByCategory(int, int)}
+     */
+    public record MonthlyReport(
+        IncomePlanService.NetReport net,
+        List<CategorySummaryDto> categories
+    ){}
+
+    /**
+     * Result of {@code MULTI_YEAR_SUMMARY}.
+     *
+     * @param months one entry per month of the range, oldest first
+     * @param actualIncome total recorded income over the range
+     * @param expenses total recorded expenses over the range
+     * @param netActual actualIncome minus expenses
+     */
+    public record MultiYearSummary(
+        List<MonthlyReport> months,
+        Money actualIncome,
+        Money expenses,
+        Money netActual
+    ){}
+
+    /**
+     * Balance of one account in an {@link AccountBalances} report.
+     */
+    public record AccountBalance(
+        Long accountId,
+        String name,
+        Money balance
+    ){}
+
+    /**
+     * Result of {@code ACCOUNT_BALANCES}.
+     *
+     * @param accounts every account with its recomputed balance
+     * @param total sum of all balances
+     */
+    public record AccountBalances(
+        List<AccountBalance> accounts,
+        Money total
+    ){}
+}
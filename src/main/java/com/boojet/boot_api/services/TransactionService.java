@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.boojet.boot_api.controllers.dto.BulkDeleteResult;
 import com.boojet.boot_api.controllers.dto.CategorySummaryDto;
 import com.boojet.boot_api.controllers.dto.TxSuggestionDetails;
 import com.boojet.boot_api.domain.Account;
@@ -15,6 +16,7 @@ import com.boojet.boot_api.domain.Transaction;
 import com.boojet.boot_api.exceptions.AccountNotFoundException;
 import com.boojet.boot_api.exceptions.TransactionNotFoundException;
 import com.boojet.boot_api.exceptions.BadRequestException;
+import com.boojet.boot_api.exceptions.PreconditionFailedException;
 
 /**
  * Service contract for managing {@link Transaction} records.
@@ -96,6 +98,23 @@ public interface TransactionService {
      */
     List<String> suggest(String name, int howMany);
 
+    /**
+     * Same as {@link #suggest(String, int)} but only ranks descriptions from the accounts owned by
+     * {@code userId}.
+     *
+     * <ul>
+     *  <li>Served from a per-user in-memory index that is built on first use and evicted
+     *  least-recently-used under a global memory budget.</li>
+     *  <li>Writes to a user's transactions invalidate that user's index after commit.</li>
+     * </ul>
+     *
+     * @param userId the user whose ledger is searched; falls back to the global ledger when {@code null}
+     * @param name the query name we suggest for
+     * @param howMany how many values to return
+     * @return a list of {@link String} that are valid suggestions to the user
+     */
+    List<String> suggest(Long userId, String name, int howMany);
+
     /**
      * Retrieves autofill details for a previously used transaction description.
      *
@@ -143,6 +162,22 @@ public interface TransactionService {
      */
     Transaction updateTransactionComplete(Long id, Transaction transaction);
 
+    /**
+     * Same as {@link #updateTransactionComplete(Long, Transaction)}, but only if the stored transaction is
+     * still at {@code expectedVersion}. The check and the write are a single statement, so two clients
+     * can never both overwrite the same version.
+     *
+     * @param id the ID of the transaction to update
+     * @param transaction the transaction data to update with (all fields used)
+     * @param expectedVersion the version the caller last read, or {@code null} to update unconditionally
+     * @return the updated transaction, with its new version
+     * @throws TransactionNotFoundException if no transaction with the given ID exists
+     * @throws AccountNotFoundException if the referenced account does not exist
+     * @throws PreconditionFailedException if the transaction is no longer at {@code expectedVersion}
+     * @throws BadRequestException if input is {@code null} or fails validation
+     */
+    Transaction updateTransactionComplete(Long id, Transaction transaction, Long expectedVersion);
+
     /**
      * Partially updates an existing {@link Transaction} with the non-null fields
      * from the provided {@code transaction}.
@@ -163,6 +198,21 @@ public interface TransactionService {
      */
     Transaction updateTransaction(Long id, Transaction transaction);
 
+    /**
+     * Same as {@link #updateTransaction(Long, Transaction)}, but only if the stored transaction is
+     * still at {@code expectedVersion} (checked in the same statement as the write).
+     *
+     * @param id the ID of the transaction to update
+     * @param transaction the transaction data to update with (only non-null fields used)
+     * @param expectedVersion the version the caller last read, or {@code null} to update unconditionally
+     * @return the updated transaction, with its new version
+     * @throws TransactionNotFoundException if no transaction with the given ID exists
+     * @throws AccountNotFoundException if the referenced account does not exist
+     * @throws PreconditionFailedException if the transaction is no longer at {@code expectedVersion}
+     * @throws BadRequestException if input fails validation
+     */
+    Transaction updateTransaction(Long id, Transaction transaction, Long expectedVersion);
+
     /**
      * Deletes the {@link Transaction} with the given ID.
      * 
@@ -172,6 +222,21 @@ public interface TransactionService {
      */
     void delete(Long id);
 
+    /**
+     * Deletes every {@link Transaction} matching the filters, in chunks of at most {@code boojet.delete.chunk-rows}
+     * rows. Each chunk commits on its own, so locks are held briefly and a failure part way leaves the
+     * earlier chunks deleted; repeating the call finishes the job.
+     *
+     * @param accountId only this account's transactions, or {@code null} for any account
+     * @param category only this category, or {@code null} for any category
+     * @param from first date to delete (inclusive), or {@code null} for no lower bound
+     * @param to last date to delete (inclusive), or {@code null} for no upper bound
+     * @return how many transactions were deleted and in how many chunks
+     * @throws BadRequestException if no filter is given, or {@code from} is after {@code to}
+     * @throws AccountNotFoundException if {@code accountId} does not exist
+     */
+    BulkDeleteResult deleteMatching(Long accountId, Category category, LocalDate from, LocalDate to);
+
     /**
      * Check if a {@link Transaction} exists by its ID.
      * 
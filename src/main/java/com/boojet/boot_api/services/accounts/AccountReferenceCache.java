@@ -0,0 +1,165 @@
+package com.boojet.boot_api.services.accounts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.User;
+
+/**
+ * Bounded cache of detached {@link Account} snapshots (with their owning {@link User}), used by the
+ * transaction write path to check that an account exists and who owns it without a SELECT per write.
+ * <p>
+ * Callers get a fresh copy on every hit, so a transaction can reference it as its account (Hibernate only
+ * needs the id for the foreign key) and nothing a caller does to it leaks into the cache.
+ *
+ * <p><b>Notes:</b>
+ * <ul>
+ *   <li>Bounded by {@code boojet.accounts.reference-cache.max-entries}, least recently used accounts go first.</li>
+ *   <li>Account writes invalidate their entry after commit (see {@link #invalidateAfterCommit(Long)}), and entries
+ *   expire after {@code boojet.accounts.reference-cache.ttl-seconds} to bound staleness from other instances.</li>
+ *   <li>A stale hit for an account deleted elsewhere is caught by the foreign key on insert, which the
+ *   global exception handler reports as 404.</li>
+ *   <li>Only existing accounts are cached; a miss always goes to the loader.</li>
+ * </ul>
+ */
+@Component
+public class AccountReferenceCache {
+
+    private record Entry(Account snapshot, long loadedAt) {}
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    //access-ordered: iteration starts at the least recently used account
+    private final LinkedHashMap<Long, Entry> accounts = new LinkedHashMap<>(16, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest){
+            return size() > maxEntries;
+        }
+    };
+    private long invalidations = 0;         //bumped on every invalidate, guards against caching stale loads
+    private long hits = 0;
+    private long misses = 0;
+
+    public AccountReferenceCache(@Value("${boojet.accounts.reference-cache.max-entries:10000}") int maxEntries,
+                                 @Value("${boojet.accounts.reference-cache.ttl-seconds:300}") long ttlSeconds){
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Returns a detached copy of account {@code accountId}, loading it with {@code loader} on a miss.
+     *
+     * @param accountId account to look up
+     * @param loader reads the account from the repository on a miss
+     * @return a copy of the account, or empty if the loader does not find it
+     */
+    public Optional<Account> find(Long accountId, Function<Long, Optional<Account>> loader){
+        long seenInvalidations;
+
+        synchronized(this){
+            Entry cached = accounts.get(accountId);
+            if(cached != null && System.currentTimeMillis() - cached.loadedAt() < ttlMillis){
+                hits++;
+                return Optional.of(copyOf(cached.snapshot()));
+            }
+            misses++;
+            seenInvalidations = invalidations;
+        }
+
+        Optional<Account> loaded = loader.apply(accountId).map(AccountReferenceCache::copyOf);
+
+        loaded.ifPresent(account -> {
+            synchronized(this){
+                if(seenInvalidations == invalidations){
+                    accounts.put(accountId, new Entry(copyOf(account), System.currentTimeMillis()));
+                }
+            }
+        });
+
+        return loaded;
+    }
+
+    /**
+     * Drops the cached snapshot of {@code accountId}, if any.
+     *
+     * @param accountId account that changed (ignored when {@code null})
+     */
+    public synchronized void invalidate(Long accountId){
+        invalidations++;
+
+        if(accountId != null){
+            accounts.remove(accountId);
+        }
+    }
+
+    /**
+     * Invalidates {@code accountId} once the surrounding database transaction commits,
+     * or immediately when there is no transaction in progress.
+     *
+     * @param accountId account that changed (ignored when {@code null})
+     */
+    public void invalidateAfterCommit(Long accountId){
+        if(accountId == null){
+            return;
+        }
+
+        //drop it now as well, so this transaction does not read its own stale snapshot
+        invalidate(accountId);
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit(){
+                invalidate(accountId);
+            }
+        });
+    }
+
+    /** @return number of cached accounts */
+    public synchronized int size(){
+        return accounts.size();
+    }
+
+    /** @return lookups served from the cache */
+    public synchronized long hits(){
+        return hits;
+    }
+
+    /** @return lookups that went to the loader */
+    public synchronized long misses(){
+        return misses;
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private static Account copyOf(Account account){
+        User owner = null;
+        if(account.getUser() != null){
+            owner = new User();
+            owner.setId(account.getUser().getId());
+            owner.setUsername(account.getUser().getUsername());
+        }
+
+        return Account.builder()
+                .id(account.getId())
+                .user(owner)
+                .name(account.getName())
+                .type(account.getType())
+                .openingBalance(account.getOpeningBalance())
+                .createdAt(account.getCreatedAt())
+                .closedAt(account.getClosedAt())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.boojet.boot_api.services.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which repository method the current thread is inside, so a slow statement can be traced back
+ * to e.g. {@code TransactionRepository.search} instead of only its SQL.
+ */
+@Aspect
+@Component
+public class RepositoryCallContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return {@code Repository.method} of the innermost repository call on this thread, or {@code null}
+     */
+    public static String current(){
+        return CURRENT.get();
+    }
+
+    @Around("execution(* com.boojet.boot_api.repositories.*Repository+.*(..))")
+    public Object track(ProceedingJoinPoint call) throws Throwable {
+        String previous = CURRENT.get();
+        CURRENT.set(repositoryName(call) + "." + call.getSignature().getName());
+        try{
+            return call.proceed();
+        } finally {
+            if(previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(previous);
+        }
+    }
+
+    //-----helpers-----
+
+    //inherited methods (findById, save, ...) are declared on Spring Data's interfaces, name the repository instead
+    private static String repositoryName(ProceedingJoinPoint call){
+        for(Class<?> type : AopProxyUtils.proxiedUserInterfaces(call.getThis())){
+            if(type.getPackageName().startsWith("com.boojet.boot_api.repositories"))
+                return type.getSimpleName();
+        }
+        return call.getSignature().getDeclaringType().getSimpleName();
+    }
+}
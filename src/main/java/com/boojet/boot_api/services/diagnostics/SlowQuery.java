@@ -0,0 +1,48 @@
+package com.boojet.boot_api.services.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One statement that took longer than {@code boojet.slow-query.threshold-ms}, as listed by the admin endpoint.
+ * <p>
+ * Recorded on the thread that ran the statement; the plan is filled in later by the EXPLAIN worker,
+ * so it is the only mutable field (volatile, single write).
+ */
+public class SlowQuery {
+
+    private final long id;
+    private final Instant at;
+    private final long elapsedMillis;
+    private final String source;
+    private final String sql;
+    private final List<String> binds;
+
+    private volatile String plan;
+
+    public SlowQuery(long id, Instant at, long elapsedMillis, String source, String sql, List<String> binds, String plan){
+        this.id = id;
+        this.at = at;
+        this.elapsedMillis = elapsedMillis;
+        this.source = source;
+        this.sql = sql;
+        this.binds = binds;
+        this.plan = plan;
+    }
+
+    public long getId(){ return id; }
+    public Instant getAt(){ return at; }
+    public long getElapsedMillis(){ return elapsedMillis; }
+
+    /** @return repository method that ran the statement (e.g. {@code TransactionRepository.search}), or {@code null} outside one */
+    public String getSource(){ return source; }
+    public String getSql(){ return sql; }
+
+    /** @return bind parameters in order, redacted to their type unless redaction is switched off */
+    public List<String> getBinds(){ return binds; }
+
+    /** @return the EXPLAIN output, or a note saying why there is none (yet) */
+    public String getPlan(){ return plan; }
+
+    void setPlan(String plan){ this.plan = plan; }
+}
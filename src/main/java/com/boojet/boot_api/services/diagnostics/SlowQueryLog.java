@@ -0,0 +1,195 @@
+package com.boojet.boot_api.services.diagnostics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+
+/**
+ * Bounded, in-memory record of the most recent slow statements, each with its plan.
+ * <p>
+ * Statements are reported by the data source listener in {@code config.SlowQueryCapture}; recording is cheap
+ * and happens on the caller's thread. The plan is captured afterwards by a single background worker:
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} for reads, plain {@code EXPLAIN} for anything that writes (ANALYZE would
+ * run the write). The worker's queue is small and drops work when full, and the same SQL is explained at most
+ * once per {@code boojet.slow-query.explain-cooldown-seconds}, so a burst of slow queries never turns into a
+ * burst of EXPLAINs.
+ */
+@Log
+@Component
+public class SlowQueryLog {
+
+    /**
+     * Replays the original bind parameters onto the EXPLAIN statement.
+     */
+    @FunctionalInterface
+    public interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private static final Pattern WRITES = Pattern.compile("\\b(insert|update|delete|merge|copy)\\b", Pattern.CASE_INSENSITIVE);
+    private static final int COOLDOWN_ENTRIES = 1000;
+
+    private final int capacity;
+    private final boolean explain;
+    private final long explainTimeoutMillis;
+    private final long explainCooldownMillis;
+
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();              //guarded by itself, newest last
+    private final Map<String, Long> lastExplained = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest){
+            return size() > COOLDOWN_ENTRIES;
+        }
+    };
+    private final AtomicLong ids = new AtomicLong();
+    private final ThreadPoolExecutor explainer;
+
+    public SlowQueryLog(@Value("${boojet.slow-query.capacity:200}") int capacity,
+                        @Value("${boojet.slow-query.explain:true}") boolean explain,
+                        @Value("${boojet.slow-query.explain-timeout-ms:10000}") long explainTimeoutMillis,
+                        @Value("${boojet.slow-query.explain-cooldown-seconds:60}") long explainCooldownSeconds){
+        this.capacity = capacity;
+        this.explain = explain;
+        this.explainTimeoutMillis = explainTimeoutMillis;
+        this.explainCooldownMillis = TimeUnit.SECONDS.toMillis(explainCooldownSeconds);
+
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+            Thread t = new Thread(r, "slow-query-explain");
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Records a slow statement and queues its EXPLAIN.
+     *
+     * @param sql the statement as sent to the driver
+     * @param elapsedMillis how long it took
+     * @param binds bind parameters as they should be shown (already redacted)
+     * @param binder replays the real parameters for EXPLAIN, or {@code null} if the statement cannot be explained (e.g. a batch)
+     * @param target where to run the EXPLAIN; must not be the instrumented data source itself
+     */
+    public void record(String sql, long elapsedMillis, List<String> binds, Binder binder, DataSource target){
+        String note = explain ? (binder != null ? "pending" : "not explained: batch statement") : "not explained: disabled";
+        SlowQuery query = new SlowQuery(ids.incrementAndGet(), Instant.now(), elapsedMillis, RepositoryCallContext.current(), sql, binds, note);
+
+        synchronized(recent){
+            recent.addLast(query);
+            while(recent.size() > capacity){
+                recent.removeFirst();
+            }
+        }
+
+        if(!explain || binder == null)
+            return;
+
+        if(!claimExplain(sql)){
+            query.setPlan("not explained: same statement explained less than " + explainCooldownMillis / 1000 + "s ago");
+            return;
+        }
+
+        try{
+            explainer.execute(() -> query.setPlan(explain(sql, binder, target)));
+        } catch(RejectedExecutionException e){
+            query.setPlan("not explained: EXPLAIN queue full");
+        }
+    }
+
+    /**
+     * @param limit maximum number of entries
+     * @return the most recent slow statements, newest first
+     */
+    public List<SlowQuery> recent(int limit){
+        List<SlowQuery> out = new ArrayList<>(Math.min(limit, capacity));
+        synchronized(recent){
+            Iterator<SlowQuery> it = recent.descendingIterator();
+            while(it.hasNext() && out.size() < limit){
+                out.add(it.next());
+            }
+        }
+        return out;
+    }
+
+    public void clear(){
+        synchronized(recent){
+            recent.clear();
+        }
+        synchronized(lastExplained){
+            lastExplained.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        explainer.shutdownNow();
+    }
+
+    //-----helpers-----
+
+    private boolean claimExplain(String sql){
+        long now = System.currentTimeMillis();
+        synchronized(lastExplained){
+            Long last = lastExplained.get(sql);
+            if(last != null && now - last < explainCooldownMillis)
+                return false;
+            lastExplained.put(sql, now);
+            return true;
+        }
+    }
+
+    //runs in its own transaction that is always rolled back, with a statement timeout so a pathological plan cannot hang the worker
+    private String explain(String sql, Binder binder, DataSource target){
+        boolean analyze = !WRITES.matcher(sql).find();
+        String explainSql = (analyze ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ") + sql;
+
+        try(Connection conn = target.getConnection()){
+            conn.setAutoCommit(false);
+            try{
+                try(Statement timeout = conn.createStatement()){
+                    timeout.execute("SET LOCAL statement_timeout = " + explainTimeoutMillis);
+                }
+
+                StringBuilder plan = new StringBuilder();
+                try(PreparedStatement ps = conn.prepareStatement(explainSql)){
+                    binder.bind(ps);
+                    try(ResultSet rs = ps.executeQuery()){
+                        while(rs.next()){
+                            plan.append(rs.getString(1)).append('\n');
+                        }
+                    }
+                }
+                return plan.toString();
+            } finally {
+                conn.rollback();
+            }
+        } catch(SQLException | RuntimeException e){
+            log.log(Level.FINE, "EXPLAIN failed for slow query", e);
+            return "not explained: " + e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.boojet.boot_api.services.imports;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.boojet.boot_api.domain.Category;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streams the records of a CLI ledger ({@code transactions.json}) one at a time, so files of any size
+ * are read in constant memory.
+ * <p>
+ * Accepts every shape the CLI has written over time: {@code "income"} or {@code "isIncome"}, amounts as
+ * numbers, strings or {@code {"amount": n}}, dates as ISO strings or {@code [y, m, d]}, and categories by
+ * name or ordinal. Other fields (id, account) are ignored.
+ */
+public class LegacyLedgerReader {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final JsonParser p;
+    private boolean started = false;
+    private boolean finished = false;
+
+    public LegacyLedgerReader(JsonParser parser){
+        this.p = parser;
+    }
+
+    /**
+     * @return the next record, or {@code null} at the end of the array
+     * @throws JsonParseException if the input is not an array of objects
+     */
+    public LegacyRecord next() throws IOException {
+        if(!advance())
+            return null;
+        return readRecord();
+    }
+
+    /**
+     * Skips up to {@code count} records without decoding them.
+     *
+     * @return the number of records actually skipped
+     */
+    public long skip(long count) throws IOException {
+        long skipped = 0;
+        while(skipped < count && advance()){
+            p.skipChildren();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    //moves to the START_OBJECT of the next record, false at the end of the array
+    private boolean advance() throws IOException {
+        if(finished)
+            return false;
+
+        if(!started){
+            if(p.nextToken() != JsonToken.START_ARRAY)
+                throw new JsonParseException(p, "Expected a JSON array of transactions");
+            started = true;
+        }
+
+        JsonToken t = p.nextToken();
+        if(t == JsonToken.START_OBJECT)
+            return true;
+        if(t == JsonToken.END_ARRAY || t == null){
+            finished = true;
+            return false;
+        }
+        throw new JsonParseException(p, "Expected a transaction object, found " + t);
+    }
+
+    private LegacyRecord readRecord() throws IOException {
+        String description = null;
+        BigDecimal amount = null;
+        LocalDate date = null;
+        Category category = null;
+        boolean income = false;
+
+        while(p.nextToken() == JsonToken.FIELD_NAME){
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+
+            switch(field){
+                case "description" -> description = value == JsonToken.VALUE_NULL ? null : p.getText();
+                case "amount" -> amount = readAmount(value);
+                case "date" -> date = readDate(value);
+                case "category" -> category = readCategory(value);
+                case "income", "isIncome" -> income = p.getValueAsBoolean();
+                default -> p.skipChildren();
+            }
+        }
+
+        return new LegacyRecord(description, amount, date, category, income);
+    }
+
+    private BigDecimal readAmount(JsonToken value) throws IOException {
+        return switch(value){
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getDecimalValue();
+            case VALUE_STRING -> new BigDecimal(p.getText().trim());
+            case START_OBJECT -> {
+                BigDecimal amount = null;
+                while(p.nextToken() == JsonToken.FIELD_NAME){
+                    JsonToken inner = p.nextToken();
+                    if("amount".equals(p.currentName()))
+                        amount = readAmount(inner);
+                    else
+                        p.skipChildren();
+                }
+                yield amount;
+            }
+            default -> { p.skipChildren(); yield null; }
+        };
+    }
+
+    private LocalDate readDate(JsonToken value) throws IOException {
+        return switch(value){
+            case VALUE_STRING -> LocalDate.parse(p.getText());
+            case START_ARRAY -> {
+                p.nextToken();
+                int year = p.getIntValue();
+                p.nextToken();
+                int month = p.getIntValue();
+                p.nextToken();
+                int day = p.getIntValue();
+                p.nextToken();      //END_ARRAY
+                yield LocalDate.of(year, month, day);
+            }
+            default -> { p.skipChildren(); yield null; }
+        };
+    }
+
+    //unknown categories come back as null, so the record is skipped rather than failing the whole file
+    private Category readCategory(JsonToken value) throws IOException {
+        return switch(value){
+            case VALUE_STRING -> {
+                try{
+                    yield Category.valueOf(p.getText().trim().toUpperCase());
+                } catch(IllegalArgumentException e){
+                    yield null;
+                }
+            }
+            case VALUE_NUMBER_INT -> {
+                int ordinal = p.getIntValue();
+                yield ordinal >= 0 && ordinal < CATEGORIES.length ? CATEGORIES[ordinal] : null;
+            }
+            default -> { p.skipChildren(); yield null; }
+        };
+    }
+}
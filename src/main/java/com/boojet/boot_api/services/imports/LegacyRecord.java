@@ -0,0 +1,11 @@
+package com.boojet.boot_api.services.imports;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.boojet.boot_api.domain.Category;
+
+/**
+ * One transaction as stored by the CLI's {@code FileStorage}. Any field may be {@code null} in old files.
+ */
+public record LegacyRecord(String description, BigDecimal amount, LocalDate date, Category category, boolean income) {}
@@ -0,0 +1,53 @@
+package com.boojet.boot_api.services.live;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Published by the write paths once something that feeds a balance or a monthly summary has changed.
+ * <p>
+ * Picked up after the surrounding transaction commits by the live update service (which recomputes the values,
+ * once for all subscribers) and by {@link com.boojet.boot_api.web.DataVersions} (which bumps the versions behind
+ * the read endpoints' ETags). It only says <i>what</i> changed.
+ *
+ * @param source what kind of data was written
+ * @param accountIds accounts whose balance may have changed
+ * @param months months whose summary may have changed
+ * @param allAccounts the change may touch accounts that are not listed (e.g. a transaction moved to another account)
+ * @param allMonths the change may touch months that are not listed (e.g. a date was edited, an income plan changed)
+ */
+public record LedgerChangedEvent(Source source, Set<Long> accountIds, Set<YearMonth> months, boolean allAccounts, boolean allMonths) {
+
+    public enum Source { TRANSACTIONS, ACCOUNTS, INCOME_PLANS }
+
+    //one transaction written or deleted
+    public static LedgerChangedEvent transaction(Long accountId, LocalDate date){
+        return new LedgerChangedEvent(Source.TRANSACTIONS,
+                accountId != null ? Set.of(accountId) : Set.of(),
+                date != null ? Set.of(YearMonth.from(date)) : Set.of(),
+                accountId == null, date == null);
+    }
+
+    //one transaction updated; its old account and month are unknown, so moving it touches them all
+    public static LedgerChangedEvent transactionUpdate(Long accountId, LocalDate date, boolean accountChanged, boolean dateChanged){
+        LedgerChangedEvent updated = transaction(accountId, date);
+        return new LedgerChangedEvent(Source.TRANSACTIONS, updated.accountIds(), updated.months(),
+                updated.allAccounts() || accountChanged, updated.allMonths() || dateChanged);
+    }
+
+    //an account's opening balance or existence changed, monthly summaries are not affected
+    public static LedgerChangedEvent account(Long accountId){
+        return new LedgerChangedEvent(Source.ACCOUNTS, Set.of(accountId), Set.of(), false, false);
+    }
+
+    //expected income changed, which shows up in every month's net report
+    public static LedgerChangedEvent incomePlans(){
+        return new LedgerChangedEvent(Source.INCOME_PLANS, Set.of(), Set.of(), false, true);
+    }
+
+    //many transactions at once (bulk delete, legacy import), optionally limited to one account
+    public static LedgerChangedEvent bulk(Long accountId){
+        return new LedgerChangedEvent(Source.TRANSACTIONS, accountId != null ? Set.of(accountId) : Set.of(), Set.of(), accountId == null, true);
+    }
+}
@@ -0,0 +1,101 @@
+package com.boojet.boot_api.services.live;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One open event stream.
+ * <p>
+ * Frames are pre-rendered once by {@code LiveUpdateServiceImpl} and shared by every subscriber; each subscriber
+ * only owns a small bounded queue and a virtual thread that drains it into the response. A client that
+ * falls so far behind that its queue fills up loses what was queued and gets a single {@code resync}
+ * event instead, so a slow connection never holds up the others or grows without bound.
+ */
+public final class LiveSubscriber {
+
+    public static final String RESYNC = "event:resync\ndata:{}\n\n";
+
+    private final SseEmitter emitter;
+    private final YearMonth month;
+    private final BlockingQueue<String> frames;
+    private final Consumer<LiveSubscriber> onClose;
+
+    private volatile boolean closed;
+    private Thread sender;
+
+    public LiveSubscriber(SseEmitter emitter, YearMonth month, int bufferSize, Consumer<LiveSubscriber> onClose){
+        this.emitter = emitter;
+        this.month = month;
+        this.frames = new ArrayBlockingQueue<>(bufferSize);
+        this.onClose = onClose;
+    }
+
+    public void start(String name){
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(e -> close());
+        sender = Thread.ofVirtual().name(name).start(this::drain);
+    }
+
+    //month shown by the client, null if it only wants balances
+    public YearMonth month(){
+        return month;
+    }
+
+    //never blocks the publisher: on overflow the stale backlog is dropped in favour of a resync
+    public void offer(String frame){
+        if(closed)
+            return;
+
+        synchronized(frames){
+            if(!frames.offer(frame)){
+                frames.clear();
+                frames.offer(RESYNC);
+            }
+        }
+    }
+
+    //server side end of the stream (shutdown), the client's EventSource reconnects on its own
+    public void complete(){
+        emitter.complete();
+        close();
+    }
+
+    public void close(){
+        if(closed)
+            return;
+
+        closed = true;
+        if(sender != null)
+            sender.interrupt();
+        onClose.accept(this);
+    }
+
+    //-----helpers-----
+
+    private void drain(){
+        try{
+            while(!closed){
+                String frame = frames.poll(1, TimeUnit.SECONDS);
+                if(frame != null)
+                    emitter.send(Set.of(new DataWithMediaType(frame, MediaType.TEXT_PLAIN)));
+            }
+        } catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        } catch(IOException | IllegalStateException e){
+            //client went away (or the emitter already completed)
+            emitter.completeWithError(e);
+        } finally {
+            close();
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.boojet.boot_api.services.partitions;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.java.Log;
+
+/**
+ * Keeps {@code transactions} range-partitioned by month on {@code date}.
+ * <p>
+ * Every date-bounded query ({@code search}, {@code sumNetBetween}, {@code sumIncomeBetween},
+ * {@code sumNetByCategoryBetween}, ...) then only touches the partitions of the months it asks for, and
+ * a month can be taken out of the table with a cheap {@code DETACH PARTITION} instead of a large {@code DELETE}.
+ *
+ * <p><b>Conversion:</b> Hibernate ({@code ddl-auto}) creates {@code transactions} as a plain table. On the first run
+ * that table is renamed to {@code transactions_default} and attached as the DEFAULT partition of a new partitioned
+ * {@code transactions}. The new table keeps the columns, defaults, checks, foreign keys and indexes, and its primary
+ * key becomes {@code (id, date)} because a partitioned key must include the partition column. This is one short
+ * transaction plus building that key on the existing rows; no row is copied.
+ *
+ * <p><b>Ids:</b> with that key the database no longer rejects a second row with the same {@code id} (in another
+ * month), and a unique index on {@code id} alone is not possible on a partitioned table. Ids stay unique because
+ * every writer takes them from {@code transaction_id_seq}: Hibernate, the legacy importer and the synthetic loader
+ * all do. Anything inserting rows by hand must do the same.
+ *
+ * <p><b>Maintenance</b> (at startup, then every {@code boojet.transactions.partitions.check-interval-hours}):
+ * <ul>
+ *   <li>creates the current month and the next {@code months-ahead} months ({@code transactions_p2025_06}, ...)
+ *   before any row needs them;</li>
+ *   <li>moves up to {@code split-months-per-run} older months out of the default partition into their own
+ *   partitions, so historical data converted above becomes prunable over a few runs;</li>
+ *   <li>detaches partitions older than {@code detach-after-months} (off by default). A detached month stays
+ *   as a plain table to archive or drop, but it no longer counts towards balances or reports.</li>
+ * </ul>
+ * Each step is its own transaction with a lock timeout, and a Postgres advisory lock lets only one instance run
+ * at a time. Off by default: nothing happens unless {@code boojet.transactions.partitioning.enabled=true}, since the
+ * conversion rewrites the live table.
+ */
+@Log
+@Component
+public class TransactionPartitions {
+
+    static final String PARENT = "transactions";
+    static final String DEFAULT_PARTITION = "transactions_default";
+
+    private static final Pattern MONTHLY = Pattern.compile("transactions_p(\\d{4})_(\\d{2})");
+    private static final long ADVISORY_LOCK = 0x626f6f6a65745054L;         //"boojetPT"
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int splitMonthsPerRun;
+    private final int detachAfterMonths;
+    private final long checkIntervalHours;
+    private final long lockTimeoutMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    public TransactionPartitions(DataSource dataSource,
+                                 @Value("${boojet.transactions.partitioning.enabled:false}") boolean enabled,
+                                 @Value("${boojet.transactions.partitions.months-ahead:3}") int monthsAhead,
+                                 @Value("${boojet.transactions.partitions.split-months-per-run:12}") int splitMonthsPerRun,
+                                 @Value("${boojet.transactions.partitions.detach-after-months:0}") int detachAfterMonths,
+                                 @Value("${boojet.transactions.partitions.check-interval-hours:6}") long checkIntervalHours,
+                                 @Value("${boojet.transactions.partitions.lock-timeout-ms:5000}") long lockTimeoutMillis){
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.splitMonthsPerRun = splitMonthsPerRun;
+        this.detachAfterMonths = detachAfterMonths;
+        this.checkIntervalHours = checkIntervalHours;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "transaction-partitions");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    //after Hibernate has created or updated the schema and the startup fixes in BootApiApplication have run
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(){
+        if(!enabled)
+            return;
+        scheduler.scheduleWithFixedDelay(this::maintainQuietly, 0, checkIntervalHours, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Converts the table if needed, then creates, splits out and detaches partitions as configured.
+     * Returns straight away if another instance holds the maintenance lock.
+     *
+     * @throws SQLException if a step fails; steps already committed stay done
+     */
+    public synchronized void maintain() throws SQLException {
+        try(Connection conn = dataSource.getConnection()){
+            conn.setAutoCommit(true);
+            if(!tryLock(conn)){
+                log.fine("Partition maintenance is running elsewhere, skipped");
+                return;
+            }
+
+            try{
+                conn.setAutoCommit(false);
+                if(!ensurePartitioned(conn))
+                    return;
+
+                YearMonth now = YearMonth.now();
+                for(int i = 0; i <= monthsAhead; i++){
+                    ensureMonth(conn, now.plusMonths(i));
+                }
+
+                for(YearMonth month : monthsInDefault(conn, splitMonthsPerRun)){
+                    ensureMonth(conn, month);
+                }
+
+                if(detachAfterMonths > 0)
+                    detachBefore(conn, now.minusMonths(detachAfterMonths));
+            } finally {
+                conn.setAutoCommit(true);
+                unlock(conn);
+            }
+        }
+    }
+
+    /**
+     * @return the monthly partitions currently attached, oldest first
+     */
+    public List<YearMonth> months() throws SQLException {
+        try(Connection conn = dataSource.getConnection()){
+            return new ArrayList<>(attachedMonths(conn));
+        }
+    }
+
+    //-----conversion-----
+
+    //true once transactions is partitioned, false if there is nothing (yet) to partition
+    private boolean ensurePartitioned(Connection conn) throws SQLException {
+        String kind = queryString(conn, "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", PARENT);
+        if(kind == null){
+            conn.rollback();
+            return false;
+        }
+        if(kind.equals("p")){
+            conn.rollback();
+            return true;
+        }
+
+        //rows without a date have no month, and the partition key must be part of the primary key
+        if(queryString(conn, "SELECT 'x' FROM transactions WHERE date IS NULL LIMIT 1") != null){
+            conn.rollback();
+            log.warning("transactions has rows without a date, not partitioning it; give them a date and restart");
+            return false;
+        }
+
+        long started = System.nanoTime();
+        try(Statement st = conn.createStatement()){
+            setLockTimeout(st);
+
+            //definitions are read before the rename so they still name the parent table
+            Map<String, String> foreignKeys = definitions(conn,
+                    "SELECT conname, pg_get_constraintdef(oid) FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'f'");
+            Map<String, String> indexes = definitions(conn, """
+                    SELECT i.relname, pg_get_indexdef(i.oid)
+                      FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid
+                     WHERE x.indrelid = to_regclass(?)
+                       AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)
+                    """);
+            String primaryKey = queryString(conn, "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'p'", PARENT);
+
+            st.execute("ALTER TABLE transactions RENAME TO " + DEFAULT_PARTITION);
+            if(primaryKey != null)
+                st.execute("ALTER TABLE " + DEFAULT_PARTITION + " DROP CONSTRAINT " + quote(primaryKey));
+            for(String index : indexes.keySet()){
+                st.execute("ALTER INDEX " + quote(index) + " RENAME TO " + quote(truncate(index + "_default")));
+            }
+
+            st.execute("CREATE TABLE transactions (LIKE " + DEFAULT_PARTITION +
+                    " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE INCLUDING COMMENTS) PARTITION BY RANGE (date)");
+            st.execute("ALTER TABLE transactions ADD CONSTRAINT transactions_pkey PRIMARY KEY (id, date)");
+            for(Map.Entry<String, String> fk : foreignKeys.entrySet()){
+                st.execute("ALTER TABLE transactions ADD CONSTRAINT " + quote(fk.getKey()) + " " + fk.getValue());
+            }
+            for(Map.Entry<String, String> index : indexes.entrySet()){
+                if(index.getValue().startsWith("CREATE UNIQUE")){
+                    log.warning("Unique index " + index.getKey() + " cannot be partitioned without the date column, left on " + DEFAULT_PARTITION + " only");
+                    continue;
+                }
+                st.execute(index.getValue());           //matches the renamed index on the old table, which is attached instead of rebuilt
+            }
+
+            //the primary key made date NOT NULL on the parent; the check above found no nulls, so this only scans
+            st.execute("ALTER TABLE " + DEFAULT_PARTITION + " ALTER COLUMN date SET NOT NULL");
+            st.execute("ALTER TABLE transactions ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+            conn.commit();
+        } catch(SQLException e){
+            conn.rollback();
+            throw e;
+        }
+
+        log.info(String.format("transactions is now partitioned by month, existing rows in %s (%,d ms)",
+                DEFAULT_PARTITION, (System.nanoTime() - started) / 1_000_000));
+        return true;
+    }
+
+    //-----months-----
+
+    //creates the month's partition if missing; rows already in the default partition for that month move into it.
+    //the default partition is locked for the move, so a row written there meanwhile cannot fall between the copy and the delete
+    private void ensureMonth(Connection conn, YearMonth month) throws SQLException {
+        String name = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String bounds = "FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+
+        try(Statement st = conn.createStatement()){
+            if(queryString(conn, "SELECT to_regclass(?)::text", name) != null){
+                conn.rollback();
+                return;
+            }
+            setLockTimeout(st);
+
+            boolean hasDefault = queryString(conn, "SELECT to_regclass(?)::text", DEFAULT_PARTITION) != null;
+            boolean moveRows = hasDefault && queryString(conn,
+                    "SELECT 'x' FROM " + DEFAULT_PARTITION + " WHERE date >= '" + from + "' AND date < '" + to + "' LIMIT 1") != null;
+
+            if(!moveRows){
+                st.execute("CREATE TABLE " + name + " PARTITION OF transactions " + bounds);
+                conn.commit();
+                log.info("Created partition " + name);
+                return;
+            }
+
+            //the matching check lets ATTACH skip scanning the new partition
+            String columns = queryString(conn, """
+                    SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum)
+                      FROM pg_attribute WHERE attrelid = to_regclass(?) AND attnum > 0 AND NOT attisdropped
+                    """, PARENT);
+            String range = "date >= '" + from + "' AND date < '" + to + "'";
+
+            st.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN EXCLUSIVE MODE");
+            st.execute("CREATE TABLE " + name + " (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE)");
+            st.execute("ALTER TABLE " + name + " ADD CONSTRAINT " + name + "_bounds CHECK (" + range + ")");
+            int moved = st.executeUpdate("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range + " RETURNING " + columns + ")" +
+                    " INSERT INTO " + name + " (" + columns + ") SELECT " + columns + " FROM moved");
+            st.execute("ALTER TABLE transactions ATTACH PARTITION " + name + " " + bounds);
+            st.execute("ALTER TABLE " + name + " DROP CONSTRAINT " + name + "_bounds");
+            conn.commit();
+            log.info(String.format("Created partition %s with %,d rows moved out of %s", name, moved, DEFAULT_PARTITION));
+        } catch(SQLException e){
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    //months that still have rows in the default partition, oldest first
+    private List<YearMonth> monthsInDefault(Connection conn, int limit) throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        if(limit <= 0 || queryString(conn, "SELECT to_regclass(?)::text", DEFAULT_PARTITION) == null){
+            conn.rollback();
+            return months;
+        }
+
+        try(PreparedStatement ps = conn.prepareStatement(
+                "SELECT DISTINCT date_trunc('month', date)::date FROM " + DEFAULT_PARTITION + " WHERE date IS NOT NULL ORDER BY 1 LIMIT ?")){
+            ps.setInt(1, limit);
+            try(ResultSet rs = ps.executeQuery()){
+                while(rs.next()){
+                    months.add(YearMonth.from(rs.getObject(1, LocalDate.class)));
+                }
+            }
+        } finally {
+            conn.rollback();
+        }
+        return months;
+    }
+
+    private void detachBefore(Connection conn, YearMonth cutoff) throws SQLException {
+        for(YearMonth month : attachedMonths(conn)){
+            if(!month.isBefore(cutoff))
+                break;
+
+            String name = partitionName(month);
+            try(Statement st = conn.createStatement()){
+                setLockTimeout(st);
+                st.execute("ALTER TABLE transactions DETACH PARTITION " + name);
+                conn.commit();
+                log.info("Detached partition " + name + ", it stays as a plain table until archived or dropped");
+            } catch(SQLException e){
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private TreeSet<YearMonth> attachedMonths(Connection conn) throws SQLException {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        try(PreparedStatement ps = conn.prepareStatement(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)")){
+            ps.setString(1, PARENT);
+            try(ResultSet rs = ps.executeQuery()){
+                while(rs.next()){
+                    Matcher m = MONTHLY.matcher(rs.getString(1));
+                    if(m.matches())
+                        months.add(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+                }
+            }
+        } finally {
+            if(!conn.getAutoCommit())
+                conn.rollback();
+        }
+        return months;
+    }
+
+    //-----helpers-----
+
+    static String partitionName(YearMonth month){
+        return String.format("transactions_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private void maintainQuietly(){
+        try{
+            maintain();
+        } catch(SQLException | RuntimeException e){
+            log.warning("Partition maintenance failed, retrying in " + checkIntervalHours + "h: " + e.getMessage());
+        }
+    }
+
+    private void setLockTimeout(Statement st) throws SQLException {
+        st.execute("SET LOCAL lock_timeout = " + lockTimeoutMillis);
+    }
+
+    private static boolean tryLock(Connection conn) throws SQLException {
+        try(PreparedStatement ps = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")){
+            ps.setLong(1, ADVISORY_LOCK);
+            try(ResultSet rs = ps.executeQuery()){
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection conn) throws SQLException {
+        try(PreparedStatement ps = conn.prepareStatement("SELECT pg_advisory_unlock(?)")){
+            ps.setLong(1, ADVISORY_LOCK);
+            ps.execute();
+        }
+    }
+
+    private static String queryString(Connection conn, String sql, String... params) throws SQLException {
+        try(PreparedStatement ps = conn.prepareStatement(sql)){
+            for(int i = 0; i < params.length; i++){
+                ps.setString(i + 1, params[i]);
+            }
+            try(ResultSet rs = ps.executeQuery()){
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    //name to definition, for the constraints or indexes of the parent table
+    private static Map<String, String> definitions(Connection conn, String sql) throws SQLException {
+        Map<String, String> out = new LinkedHashMap<>();
+        try(PreparedStatement ps = conn.prepareStatement(sql)){
+            ps.setString(1, PARENT);
+            try(ResultSet rs = ps.executeQuery()){
+                while(rs.next()){
+                    out.put(rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+        return out;
+    }
+
+    private static String quote(String identifier){
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    //Postgres truncates identifiers to 63 bytes, do it up front so the name is predictable
+    private static String truncate(String identifier){
+        return identifier.length() <= 63 ? identifier : identifier.substring(0, 63);
+    }
+}
@@ -0,0 +1,100 @@
+package com.boojet.boot_api.services.reports;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Future;
+
+import com.boojet.boot_api.controllers.dto.ReportRequest;
+import com.boojet.boot_api.domain.ReportStatus;
+import com.boojet.boot_api.domain.ReportType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * State of one background report, as returned when polling it.
+ * <p>
+ * Written by the worker running the report and read by request threads, so every mutable field is volatile
+ * and each update is a single write. The result itself is only exposed once the job has completed.
+ */
+public class ReportJob {
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final ReportRequest request;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile ReportStatus status = ReportStatus.QUEUED;
+    private volatile int stepsDone = 0;
+    private volatile int stepsTotal = 0;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Object result;
+    private volatile Future<?> future;
+
+    public ReportJob(ReportRequest request){
+        this.request = request;
+    }
+
+    public String getJobId(){ return jobId; }
+    public ReportType getType(){ return request.type(); }
+    public ReportRequest getRequest(){ return request; }
+    public ReportStatus getStatus(){ return status; }
+    public int getStepsDone(){ return stepsDone; }
+    public int getStepsTotal(){ return stepsTotal; }
+    public Instant getSubmittedAt(){ return submittedAt; }
+    public Instant getStartedAt(){ return startedAt; }
+    public Instant getFinishedAt(){ return finishedAt; }
+    public String getError(){ return error; }
+
+    /** @return completion in percent, 0 until the job knows how much work it has */
+    public int getProgress(){
+        int total = stepsTotal;
+        return total == 0 ? (status == ReportStatus.COMPLETED ? 100 : 0) : (int) (100L * stepsDone / total);
+    }
+
+    @JsonIgnore
+    public Object getResult(){ return result; }
+
+    @JsonIgnore
+    public boolean isFinished(){
+        return status == ReportStatus.COMPLETED || status == ReportStatus.FAILED || status == ReportStatus.CANCELLED;
+    }
+
+    //-----worker side-----
+
+    public void start(int steps){
+        this.stepsTotal = steps;
+        this.startedAt = Instant.now();
+        this.status = ReportStatus.RUNNING;
+    }
+
+    public void stepDone(){
+        stepsDone++;            //single writer: only the worker running this job
+    }
+
+    public void complete(Object result){
+        this.result = result;
+        this.finishedAt = Instant.now();
+        this.status = ReportStatus.COMPLETED;
+    }
+
+    public void fail(String error){
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = ReportStatus.FAILED;
+    }
+
+    public void cancel(){
+        Future<?> f = future;
+        if(f != null){
+            f.cancel(true);
+        }
+        if(!isFinished()){
+            this.finishedAt = Instant.now();
+            this.status = ReportStatus.CANCELLED;
+        }
+    }
+
+    public void setFuture(Future<?> future){
+        this.future = future;
+    }
+}
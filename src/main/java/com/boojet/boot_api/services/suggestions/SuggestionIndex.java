@@ -0,0 +1,103 @@
+package com.boojet.boot_api.services.suggestions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import com.boojet.boot_api.repositories.projections.DescriptionUsageView;
+
+/**
+ * Immutable, in-memory suggestion index for a single user's transaction descriptions.
+ * <p>
+ * Descriptions are held in ranked order (most used first, then most recently used), which is the
+ * same ranking {@code TransactionRepository.suggestPrefix} and {@code suggestContains} apply in SQL.
+ * A lookup is a linear scan over a user's distinct descriptions, which is small compared to the
+ * round trips it replaces.
+ *
+ * <p><b>Matching rules:</b>
+ * <ul>
+ *   <li>Prefix matches are returned first, in rank order.</li>
+ *   <li>Remaining slots are filled with contains matches, in rank order, without duplicates.</li>
+ * </ul>
+ */
+public final class SuggestionIndex {
+
+    //rough per-entry overhead: two String headers + backing arrays + slot in both arrays
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final long INDEX_OVERHEAD_BYTES = 64;
+
+    private final String[] descriptions;        //original text, in rank order
+    private final String[] lowered;             //lower-cased text, same order as descriptions
+    private final long estimatedBytes;
+
+    private SuggestionIndex(String[] descriptions, String[] lowered, long estimatedBytes){
+        this.descriptions = descriptions;
+        this.lowered = lowered;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Builds an index from the per-description usage rows of one user.
+     *
+     * @param rows usage rows (description, use count, last used date)
+     * @return a ranked index over the rows
+     */
+    public static SuggestionIndex of(List<DescriptionUsageView> rows){
+        List<DescriptionUsageView> ranked = new ArrayList<>(rows);
+        ranked.sort(Comparator.comparing(DescriptionUsageView::getUses, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(DescriptionUsageView::getLastUsed, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder())));
+
+        String[] descriptions = new String[ranked.size()];
+        String[] lowered = new String[ranked.size()];
+        long bytes = INDEX_OVERHEAD_BYTES;
+
+        for(int i = 0; i < ranked.size(); i++){
+            String d = ranked.get(i).getDescription();
+            descriptions[i] = d;
+            lowered[i] = d.toLowerCase(Locale.ROOT);
+            bytes += ENTRY_OVERHEAD_BYTES + 4L * d.length();        //two copies, up to 2 bytes per char
+        }
+
+        return new SuggestionIndex(descriptions, lowered, bytes);
+    }
+
+    /**
+     * Returns up to {@code limit} descriptions matching {@code query}, prefix matches first.
+     *
+     * @param query the (trimmed) user input
+     * @param limit maximum number of suggestions
+     * @return ranked suggestions, never {@code null}
+     */
+    public List<String> suggest(String query, int limit){
+        String q = query.toLowerCase(Locale.ROOT);
+        List<String> out = new ArrayList<>(limit);
+        boolean[] taken = new boolean[descriptions.length];
+
+        for(int i = 0; i < lowered.length && out.size() < limit; i++){
+            if(lowered[i].startsWith(q)){
+                out.add(descriptions[i]);
+                taken[i] = true;
+            }
+        }
+
+        for(int i = 0; i < lowered.length && out.size() < limit; i++){
+            if(!taken[i] && lowered[i].contains(q)){
+                out.add(descriptions[i]);
+            }
+        }
+
+        return out;
+    }
+
+    /** @return number of distinct descriptions held */
+    public int size(){
+        return descriptions.length;
+    }
+
+    /** @return approximate heap footprint of this index, used for the cache memory budget */
+    public long estimatedBytes(){
+        return estimatedBytes;
+    }
+}
@@ -0,0 +1,147 @@
+package com.boojet.boot_api.services.suggestions;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds per-user {@link SuggestionIndex} instances under a global memory budget.
+ * <p>
+ * Indexes are built lazily on the first suggestion request for a user and kept in access order.
+ * When the sum of {@link SuggestionIndex#estimatedBytes()} goes over the budget, the least recently
+ * used users are evicted until it fits again, so the footprint stays bounded no matter how many
+ * users there are.
+ *
+ * <p><b>Notes:</b>
+ * <ul>
+ *   <li>Indexes are built outside the lock, so a slow load for one user does not block lookups for others.</li>
+ *   <li>Writes invalidate the owning user's index after commit (see {@link #invalidateAfterCommit(Long)}).
+ *   A load that raced with an invalidation is returned to its caller but not cached.</li>
+ *   <li>An index larger than the whole budget is served once and never cached.</li>
+ * </ul>
+ */
+@Component
+public class SuggestionIndexCache {
+
+    private final long maxBytes;
+
+    //access-ordered: iteration starts at the least recently used user
+    private final LinkedHashMap<Long, SuggestionIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes = 0;
+    private long invalidations = 0;         //bumped on every invalidate, guards against caching stale loads
+
+    public SuggestionIndexCache(@Value("${boojet.suggestions.index.max-bytes:67108864}") long maxBytes){
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the index for {@code userId}, building it with {@code loader} if it is not cached.
+     *
+     * @param userId owner of the index
+     * @param loader builds the index from the repository on a miss
+     * @return the user's suggestion index
+     */
+    public SuggestionIndex get(Long userId, Function<Long, SuggestionIndex> loader){
+        long seenInvalidations;
+
+        synchronized(this){
+            SuggestionIndex cached = indexes.get(userId);
+            if(cached != null){
+                return cached;
+            }
+            seenInvalidations = invalidations;
+        }
+
+        SuggestionIndex loaded = loader.apply(userId);
+
+        synchronized(this){
+            //someone else may have loaded it while we were querying
+            SuggestionIndex existing = indexes.get(userId);
+            if(existing != null){
+                return existing;
+            }
+
+            if(seenInvalidations == invalidations && loaded.estimatedBytes() <= maxBytes){
+                indexes.put(userId, loaded);
+                usedBytes += loaded.estimatedBytes();
+                evictOverBudget();
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Drops the cached index for {@code userId}, if any.
+     *
+     * @param userId owner of the index (ignored when {@code null})
+     */
+    public synchronized void invalidate(Long userId){
+        invalidations++;
+
+        if(userId == null){
+            return;
+        }
+
+        SuggestionIndex removed = indexes.remove(userId);
+        if(removed != null){
+            usedBytes -= removed.estimatedBytes();
+        }
+    }
+
+    /**
+     * Invalidates the index for {@code userId} once the surrounding database transaction commits,
+     * or immediately when there is no transaction in progress.
+     *
+     * @param userId owner of the index (ignored when {@code null})
+     */
+    public void invalidateAfterCommit(Long userId){
+        if(userId == null){
+            return;
+        }
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit(){
+                invalidate(userId);
+            }
+        });
+    }
+
+    /** @return number of users with a cached index */
+    public synchronized int size(){
+        return indexes.size();
+    }
+
+    /** @return sum of the estimated footprint of all cached indexes */
+    public synchronized long usedBytes(){
+        return usedBytes;
+    }
+
+    /** @return the configured memory budget in bytes */
+    public long maxBytes(){
+        return maxBytes;
+    }
+
+    //-----------------------------------------------helpers----------------------------------------------------
+
+    private void evictOverBudget(){
+        Iterator<Map.Entry<Long, SuggestionIndex>> it = indexes.entrySet().iterator();
+
+        while(usedBytes > maxBytes && it.hasNext()){
+            usedBytes -= it.next().getValue().estimatedBytes();
+            it.remove();
+        }
+    }
+}
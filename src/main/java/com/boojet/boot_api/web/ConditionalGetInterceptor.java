@@ -0,0 +1,84 @@
+package com.boojet.boot_api.web;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers conditional GETs on the read endpoints before the controller (and so any repository) runs.
+ * <p>
+ * The ETag comes from {@link DataVersions}: if the client's {@code If-None-Match} still matches, the response
+ * is a bodiless 304; otherwise the ETag is set and the request continues as usual. Responses are marked
+ * {@code Cache-Control: no-cache} so browsers keep them but revalidate every time.
+ *
+ * <p>Only registered with {@code boojet.conditional-get.enabled=true}: the versions are per instance, see
+ * {@link DataVersions} for why that is only correct with a single instance.
+ *
+ * <p>{@code /transactions/{id}} is left alone, it has its own ETag from the entity version (used with {@code If-Match}).
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final Pattern TRANSACTION_BY_ID = Pattern.compile("/transactions/\\d+/?");
+    private static final Pattern ONE_ACCOUNT = Pattern.compile("/account/(?:balance/)?(\\d+)(?:/transactions)?/?");
+
+    private final DataVersions versions;
+
+    public ConditionalGetInterceptor(DataVersions versions){
+        this.versions = versions;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler){
+        if(!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod()))
+            return true;
+
+        String etag = etagFor(request.getServletPath());
+        if(etag == null)
+            return true;
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        if(ETags.matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)){
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return false;
+        }
+        return true;
+    }
+
+    //-----helpers-----
+
+    //which counters the data behind a path depends on, null for paths this does not cover
+    private String etagFor(String path){
+        if(path.equals("/transactions") || path.startsWith("/transactions/"))
+            return TRANSACTION_BY_ID.matcher(path).matches() ? null : versions.transactions();
+
+        if(path.equals("/account") || path.equals("/account/"))
+            return versions.accounts();
+
+        Matcher account = ONE_ACCOUNT.matcher(path);
+        if(account.matches()){
+            try{
+                return versions.account(Long.parseLong(account.group(1)));
+            } catch(NumberFormatException e){
+                return null;            //too long for an id, the controller will reject it
+            }
+        }
+
+        if(path.startsWith("/plan/net/"))
+            return versions.net();
+
+        if(path.equals("/plan") || path.startsWith("/plan/"))
+            return versions.plans();
+
+        return null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.boojet.boot_api.web;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.boojet.boot_api.services.live.LedgerChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cheap version counters behind the ETags of the read endpoints (see {@link ConditionalGetInterceptor}).
+ * <p>
+ * One counter per dataset (transactions, accounts, income plans) and one per account, bumped after every
+ * committed write. An ETag built from them changes whenever the data behind a response may have changed,
+ * so a matching {@code If-None-Match} can be answered with 304 without running a query.
+ *
+ * <p><b>Single instance only:</b> the counters live in this instance's memory and only move on the
+ * {@link LedgerChangedEvent}s the services publish here. A write served by another instance, or made without
+ * the services (direct SQL, a partition move, a bulk load), bumps nothing, and this instance would keep
+ * answering 304 with stale data. The interceptor is therefore off unless {@code boojet.conditional-get.enabled=true},
+ * which states that this is the only instance and that every write goes through it.
+ *
+ * <p><b>Notes:</b>
+ * <ul>
+ *   <li>Every ETag also carries the start time of this instance, so a restart invalidates all of them
+ *   instead of reusing old values.</li>
+ *   <li>Counters are bumped after commit and the ETag is taken before the handler reads, so a response is
+ *   never labelled with a version newer than its data.</li>
+ *   <li>With read replicas a read can still see data older than the counter; those writes are bumped a second
+ *   time once {@code boojet.datasource.replica-max-lag-ms} has passed, which retires any tag handed out in between.</li>
+ * </ul>
+ */
+@Component
+public class DataVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong accounts = new AtomicLong();
+    private final AtomicLong plans = new AtomicLong();
+    private final AtomicLong allAccounts = new AtomicLong();            //bumped when a write may touch any account
+    private final Map<Long, AtomicLong> perAccount = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService replicaBumps;
+    private final long replicaMaxLagMillis;
+
+    public DataVersions(@Value("${boojet.datasource.replica-urls:}") String replicaUrls,
+                        @Value("${boojet.datasource.replica-max-lag-ms:5000}") long replicaMaxLagMillis){
+        this.replicaMaxLagMillis = replicaMaxLagMillis;
+        this.replicaBumps = replicaUrls.isBlank() ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "data-version-replica-bump");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // fallbackExecution: bulk deletes and imports commit outside a Spring transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event){
+        bump(event);
+        if(replicaBumps != null){
+            replicaBumps.schedule(() -> bump(event), replicaMaxLagMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return ETag for anything derived from all transactions (lists, totals, summaries)
+     */
+    public String transactions(){
+        return tag("t" + transactions.get());
+    }
+
+    /**
+     * @return ETag for the account list
+     */
+    public String accounts(){
+        return tag("a" + accounts.get());
+    }
+
+    /**
+     * @param accountId account id
+     * @return ETag for one account, its balance and its transactions
+     */
+    public String account(long accountId){
+        AtomicLong version = perAccount.get(accountId);       //no entry for ids nobody wrote to, whatever clients ask for
+        return tag("a" + allAccounts.get() + "." + (version != null ? version.get() : 0));
+    }
+
+    /**
+     * @return ETag for income plans and expected income
+     */
+    public String plans(){
+        return tag("p" + plans.get());
+    }
+
+    /**
+     * @return ETag for the net report, which combines plans and transactions
+     */
+    public String net(){
+        return tag("p" + plans.get() + "t" + transactions.get());
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        if(replicaBumps != null){
+            replicaBumps.shutdownNow();
+        }
+    }
+
+    //-----helpers-----
+
+    private void bump(LedgerChangedEvent event){
+        switch(event.source()){
+            case TRANSACTIONS -> transactions.incrementAndGet();
+            case ACCOUNTS -> {
+                accounts.incrementAndGet();
+                transactions.incrementAndGet();                 //transactions embed their account
+            }
+            case INCOME_PLANS -> plans.incrementAndGet();
+        }
+
+        for(Long id : event.accountIds()){
+            perAccount.computeIfAbsent(id, key -> new AtomicLong()).incrementAndGet();
+        }
+        if(event.allAccounts()){
+            allAccounts.incrementAndGet();
+        }
+    }
+
+    private String tag(String version){
+        return "\"" + epoch + "-" + version + "\"";
+    }
+}
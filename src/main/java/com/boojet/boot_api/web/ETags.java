@@ -0,0 +1,71 @@
+package com.boojet.boot_api.web;
+
+import com.boojet.boot_api.exceptions.PreconditionFailedException;
+
+/**
+ * Helpers for the version-based ETags of single resources (e.g. {@code "3"} for version 3)
+ * and for matching the conditional request headers against them.
+ */
+public final class ETags {
+
+    private ETags(){
+        //static helpers only
+    }
+
+    /**
+     * @param version entity version
+     * @return the strong ETag for that version, quotes included
+     */
+    public static String of(long version){
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the version a client expects from an {@code If-Match} header.
+     *
+     * @param ifMatch header value, may be {@code null}
+     * @return the expected version, or {@code null} if the request is unconditional (no header or {@code *})
+     * @throws PreconditionFailedException if the header holds a weak ETag or no ETag this API could have issued
+     */
+    public static Long expectedVersion(String ifMatch){
+        if(ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*"))
+            return null;
+
+        //If-Match uses strong comparison (RFC 9110 13.1.1): a weak tag never matches
+        String tag = ifMatch.trim();
+        if(tag.startsWith("W/"))
+            throw new PreconditionFailedException("If-Match " + ifMatch + " is a weak ETag, conditional writes need a strong one");
+
+        if(tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\""))
+            tag = tag.substring(1, tag.length() - 1);
+
+        try{
+            return Long.parseLong(tag);
+        } catch(NumberFormatException e){
+            throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+        }
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header (weak comparison, as RFC 9110 prescribes for it).
+     *
+     * @param ifNoneMatch header value, may be {@code null}
+     * @param etag current ETag, quotes included
+     * @return {@code true} if the client's copy is current, i.e. a 304 may be sent
+     */
+    public static boolean matchesAny(String ifNoneMatch, String etag){
+        if(ifNoneMatch == null || ifNoneMatch.isBlank())
+            return false;
+
+        for(String candidate : ifNoneMatch.split(",")){
+            String tag = candidate.trim();
+            if(tag.equals("*"))
+                return true;
+            if(tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if(tag.equals(etag))
+                return true;
+        }
+        return false;
+    }
+}
@@ -1,9 +1,16 @@
 package com.boojet.boot_api.web;
 
+import java.sql.SQLException;
 import java.time.Instant;
 
 import com.boojet.boot_api.exceptions.BadRequestException;
-import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
+import com.boojet.boot_api.exceptions.ConflictException;
+import com.boojet.boot_api.exceptions.NotFoundException;
+import com.boojet.boot_api.exceptions.PreconditionFailedException;
+import com.boojet.boot_api.exceptions.TooManyRequestsException;
+import org.hibernate.JDBCException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +29,11 @@ import jakarta.servlet.http.HttpServletRequest;
  * <ul>
  *   <li>{@link NotFoundException} -> 404 Not Found</li>
  *   <li>{@link BadRequestException} and {@link IllegalArgumentException} -> 400 Bad Request</li>
+ *   <li>{@link ConflictException} -> 409 Conflict</li>
+ *   <li>{@link PreconditionFailedException} -> 412 Precondition Failed</li>
+ *   <li>{@link TooManyRequestsException} -> 429 Too Many Requests</li>
+ *   <li>{@link DataIntegrityViolationException}: a foreign key to a row that does not exist -> 404 Not Found,
+ *   any other constraint (unique name, row still referenced, ...) -> 409 Conflict</li>
  * </ul>
  */
 @RestControllerAdvice
@@ -54,4 +66,106 @@ public class GlobalExceptionHandler {
             new ApiError(Instant.now(), 400, "Bad Request", ex.getMessage(), req.getRequestURI())
         );
     }
+
+    /**
+     * Handles requests that do not fit the resource's current state.
+     *
+     * @param ex  the thrown exception
+     * @param req the HTTP request (used to include the request URI in the response)
+     * @return a 409 response containing an {@link ApiError} body
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiError> handleConflict(ConflictException ex, HttpServletRequest req){
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+            new ApiError(Instant.now(), 409, "Conflict", ex.getMessage(), req.getRequestURI())
+        );
+    }
+
+    /**
+     * Handles a full queue or pool; the client should retry later.
+     *
+     * @param ex  the thrown exception
+     * @param req the HTTP request (used to include the request URI in the response)
+     * @return a 429 response containing an {@link ApiError} body
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest req){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(
+            new ApiError(Instant.now(), 429, "Too Many Requests", ex.getMessage(), req.getRequestURI())
+        );
+    }
+
+    /**
+     * Handles conditional writes whose {@code If-Match} version is out of date.
+     *
+     * @param ex  the thrown exception
+     * @param req the HTTP request (used to include the request URI in the response)
+     * @return a 412 response containing an {@link ApiError} body
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest req){
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(
+            new ApiError(Instant.now(), 412, "Precondition Failed", ex.getMessage(), req.getRequestURI())
+        );
+    }
+
+    /**
+     * Handles constraint violations reported by the database.
+     * <p>
+     * The write path trusts cached account references and leaves existence checks to the foreign keys,
+     * so "insert or update ... violates foreign key constraint" is how a missing account shows up.
+     *
+     * @param ex  the thrown exception
+     * @param req the HTTP request (used to include the request URI in the response)
+     * @return a 404 response for a reference to a missing row, otherwise 409, with an {@link ApiError} body
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiError> handleDataIntegrity(DataIntegrityViolationException ex, HttpServletRequest req){
+        SQLException sql = findSqlException(ex);
+        String detail = sql != null && sql.getMessage() != null ? sql.getMessage() : ex.getMostSpecificCause().getMessage();
+
+        //23503 is raised both for a missing parent (insert/update) and for deleting a parent that is still referenced;
+        //the message text depends on the server's locale, so the failed operation tells them apart
+        if(sql != null && FOREIGN_KEY_VIOLATION.equals(sql.getSQLState()) && !isDelete(ex, req)){
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                new ApiError(Instant.now(), 404, "Not Found", "Referenced resource does not exist: " + firstLine(detail), req.getRequestURI())
+            );
+        }
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(
+            new ApiError(Instant.now(), 409, "Conflict", firstLine(detail), req.getRequestURI())
+        );
+    }
+
+    //-----helpers-----
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    //the statement that failed when Hibernate ran it, otherwise the request that caused it
+    private static boolean isDelete(Throwable ex, HttpServletRequest req){
+        for(Throwable t = ex; t != null; t = t.getCause()){
+            if(t instanceof JDBCException jdbc && jdbc.getSQL() != null){
+                return jdbc.getSQL().stripLeading().regionMatches(true, 0, "delete", 0, 6);
+            }
+        }
+        return HttpMethod.DELETE.matches(req.getMethod());
+    }
+
+    private static SQLException findSqlException(Throwable ex){
+        for(Throwable t = ex; t != null; t = t.getCause()){
+            if(t instanceof SQLException sql){
+                return sql;
+            }
+        }
+        return null;
+    }
+
+    //Postgres appends "Detail:"/"Where:" lines that may echo row values, keep the summary only
+    private static String firstLine(String message){
+        if(message == null){
+            return "Constraint violation";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
 }
@@ -6,6 +6,7 @@
 export const API = '/transactions';
 export const PLAN = '/plan';
 export const ACCOUNT = '/account';
+export const LIVE = '/live';
 export const LAST_TX_DATE_KEY = 'boojet:lastTxDate';
 export const LAST_TX_ACCOUNT_KEY = 'boojet:lastTxAccountId';
 
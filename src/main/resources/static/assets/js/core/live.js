@@ -0,0 +1,38 @@
+/**
+ * Live updates over Server-Sent Events (GET /live).
+ * One EventSource per page, opened for the month the filters show; features register
+ * handlers per event type ('balances', 'summary', 'resync') and get the parsed payload.
+ */
+
+import { LIVE } from './config.js';
+
+const handlers = {};
+let source = null;
+
+export function onLive(type, fn) {
+  (handlers[type] ||= []).push(fn);
+  if (source) listen(source, type, fn);
+}
+
+// (re)opens the stream; summaries are only sent for the given month
+export function connectLive(yr, mo) {
+  if (!window.EventSource) return;
+  if (source) source.close();
+
+  const url = (yr && mo) ? `${LIVE}?year=${encodeURIComponent(yr)}&month=${encodeURIComponent(mo)}` : LIVE;
+  source = new EventSource(url);
+
+  Object.entries(handlers).forEach(([type, fns]) => fns.forEach(fn => listen(source, type, fn)));
+}
+
+// writers can skip their own refetch while the stream is up, the update arrives by itself
+export function liveConnected() {
+  return source?.readyState === EventSource.OPEN;
+}
+
+function listen(es, type, fn) {
+  es.addEventListener(type, (e) => {
+    try { fn(JSON.parse(e.data || '{}')); }
+    catch (err) { console.error(`Live ${type} handler failed:`, err); }
+  });
+}
@@ -1,6 +1,7 @@
 /**
  * Accounts feature: loads accounts from backend, populates account dropdowns,
  * renders the sidebar (including per-account balances), and handles account CRUD.
+ * Live 'balances' events update the balances shown in the sidebar in place.
  */
 
 import { ACCOUNT, LAST_TX_ACCOUNT_KEY } from '../core/config.js';
@@ -8,10 +9,14 @@ import { $ } from '../core/dom.js';
 import { j } from '../core/api.js';
 import { esc, money, toNum } from '../core/format.js';
 import { state } from '../core/state.js';
+import { onLive } from '../core/live.js';
 import { refreshTxPage } from './txController.js';
 import { loadNet } from './net.js';
 import { loadCategorySummary } from './categorySummary.js';
 
+// last known balance per account id, the net worth is their sum
+const balances = new Map();
+
 function ensureDefaultAccount() {
   const sel = $('#account');
   if (!sel || sel.options.length === 0) return;
@@ -51,23 +56,42 @@ export async function renderAccountsSidebar(list) {
     </div>
   `).join('');
 
-  let net = 0;
+  balances.clear();
 
   await Promise.all(list.map(async (a) => {
     try {
-      const raw = await j(`${ACCOUNT}/balance/${a.id}`);
-      const bal = toNum(raw);
-      net += bal;
-
-      const el = document.getElementById(`accbal-${a.id}`);
-      if (el) {
-        el.textContent = money(bal);
-        el.classList.toggle('bad', bal < 0);
-        el.classList.toggle('ok', bal >= 0);
-      }
+      setBalance(a.id, toNum(await j(`${ACCOUNT}/balance/${a.id}`)));
     } catch {}
   }));
 
+  renderNetWorth();
+}
+
+export function initAccountsLive() {
+  onLive('balances', (u) => {
+    Object.entries(u.accounts || {}).forEach(([id, raw]) => {
+      if (raw === null) balances.delete(Number(id));
+      else if (document.getElementById(`accbal-${id}`)) setBalance(Number(id), toNum(raw));
+    });
+    renderNetWorth();
+  });
+}
+
+function setBalance(id, bal) {
+  balances.set(id, bal);
+
+  const el = document.getElementById(`accbal-${id}`);
+  if (el) {
+    el.textContent = money(bal);
+    el.classList.toggle('bad', bal < 0);
+    el.classList.toggle('ok', bal >= 0);
+  }
+}
+
+function renderNetWorth() {
+  let net = 0;
+  balances.forEach(bal => { net += bal; });
+
   const netEl = document.getElementById('netWorth');
   if (netEl) netEl.textContent = money(net);
 }
@@ -2,10 +2,12 @@
  * Monthly category summary table:
  * fetches totals by category for the selected year/month and renders the table,
  * including the month grand total and basic error handling.
+ * Live 'summary' events for the shown month re-render it without a fetch.
  */
 
 import { $ } from '../core/dom.js';
 import { esc, money } from '../core/format.js';
+import { onLive } from '../core/live.js';
 
 export async function loadCategorySummary() {
   const yr = $('#fyr')?.value;
@@ -38,32 +40,7 @@ export async function loadCategorySummary() {
       return;
     }
 
-    if (!Array.isArray(rows) || rows.length === 0) {
-      tb.innerHTML = `<tr><td class="muted" colspan="2">No data for this month</td></tr>`;
-      $('#sumcat_total').textContent = money(0);
-      return;
-    }
-
-    tb.innerHTML = '';
-    let grand = 0;
-
-    rows.forEach(r => {
-      const amt =
-        (typeof r.total === 'number') ? r.total :
-        (typeof r.total === 'string') ? parseFloat(r.total) :
-        (r.total?.amount ?? r.total?.value ?? 0);
-
-      grand += (Number.isFinite(amt) ? amt : 0);
-
-      const tr = document.createElement('tr');
-      tr.innerHTML = `
-        <td>${r.category}</td>
-        <td class="right sum-amt ${amt < 0 ? 'bad' : 'ok'}">${money(amt)}</td>
-      `;
-      tb.appendChild(tr);
-    });
-
-    $('#sumcat_total').textContent = money(grand);
+    renderCategorySummary(rows);
 
   } catch (e) {
     console.error('Summary exception:', e);
@@ -71,3 +48,38 @@ export async function loadCategorySummary() {
     $('#sumcat_total').textContent = money(0);
   }
 }
+
+export function initCategorySummaryLive() {
+  onLive('summary', (s) => { if (Array.isArray(s.categories)) renderCategorySummary(s.categories); });
+}
+
+function renderCategorySummary(rows) {
+  const tb = document.querySelector('#sumcat tbody');
+
+  if (!Array.isArray(rows) || rows.length === 0) {
+    tb.innerHTML = `<tr><td class="muted" colspan="2">No data for this month</td></tr>`;
+    $('#sumcat_total').textContent = money(0);
+    return;
+  }
+
+  tb.innerHTML = '';
+  let grand = 0;
+
+  rows.forEach(r => {
+    const amt =
+      (typeof r.total === 'number') ? r.total :
+      (typeof r.total === 'string') ? parseFloat(r.total) :
+      (r.total?.amount ?? r.total?.value ?? 0);
+
+    grand += (Number.isFinite(amt) ? amt : 0);
+
+    const tr = document.createElement('tr');
+    tr.innerHTML = `
+      <td>${r.category}</td>
+      <td class="right sum-amt ${amt < 0 ? 'bad' : 'ok'}">${money(amt)}</td>
+    `;
+    tb.appendChild(tr);
+  });
+
+  $('#sumcat_total').textContent = money(grand);
+}
@@ -8,6 +8,7 @@ import { state } from '../core/state.js';
 import { refreshTxPage } from './txController.js';
 import { loadNet } from './net.js';
 import { loadCategorySummary } from './categorySummary.js';
+import { connectLive } from '../core/live.js';
 
 export async function applyFilters() {
   state.acc = $('#faccount')?.value || '';
@@ -23,6 +24,7 @@ export function initFilters() {
     await applyFilters();
     await loadNet();
     await loadCategorySummary();
+    connectLive($('#fyr').value, $('#fmo').value);
   });
 
   $('#reset').addEventListener('click', async () => {
@@ -33,6 +35,7 @@ export function initFilters() {
     await refreshTxPage(0);
     await loadNet();
     await loadCategorySummary();
+    connectLive('', '');
   });
 
   $('#prev').addEventListener('click', async () => {
@@ -2,12 +2,14 @@
  * Monthly net calculation widget:
  * fetches expected/actual income, expenses, and net for the selected year/month,
  * updates the UI totals, and applies positive/negative styling.
+ * Live 'summary' events for the shown month update it in place.
  */
 
 import { PLAN } from '../core/config.js';
 import { $ } from '../core/dom.js';
 import { j } from '../core/api.js';
 import { money, colorize } from '../core/format.js';
+import { onLive } from '../core/live.js';
 
 export async function loadNet() {
   const yr = $('#fyr').value, mo = $('#fmo').value;
@@ -21,6 +23,10 @@ export async function loadNet() {
   }
 }
 
+export function initNetLive() {
+  onLive('summary', (s) => { if (s.net) setNet(s.net); });
+}
+
 function setNet(r) {
   $('#n_exp').textContent = money(r.expectedIncome);
   $('#n_act').textContent = money(r.actualIncome);
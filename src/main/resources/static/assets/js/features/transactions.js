@@ -8,6 +8,7 @@ import { $ } from '../core/dom.js';
 import { j } from '../core/api.js';
 import { esc, money } from '../core/format.js';
 import { state } from '../core/state.js';
+import { liveConnected } from '../core/live.js';
 import { refreshTxPage } from './txController.js';
 import { loadNet } from './net.js';
 import { loadAccounts } from './accounts.js';
@@ -113,6 +114,8 @@ export async function delTx(id) {
     if (state.page > 0) await refreshTxPage(state.page - 1);
   });
 
+  // with the live stream open, net and balances arrive as events
+  if (liveConnected()) return;
   await loadNet();
   await loadAccounts();
 }
@@ -224,6 +227,7 @@ export function initTxForm() {
     $('#desc')?.select();
 
     await refreshTxPage(state.page);
+    if (liveConnected()) return;
     await loadNet();
     await loadAccounts();
   });
@@ -1,19 +1,21 @@
 /**
  * App entry point: wires up feature modules, attaches global handlers (if needed),
- * applies default UI values, and runs initial data loads on page startup.
+ * applies default UI values, runs initial data loads on page startup,
+ * and opens the live update stream for the month shown.
  */
 
 import { $ } from './core/dom.js';
 import { state, initPageSizeFromStorage } from './core/state.js';
+import { connectLive, onLive } from './core/live.js';
 
 import { initDescriptionAutocomplete } from './features/autocomplete.js';
-import { loadAccounts, initAccountForm, viewAccount, delAccount } from './features/accounts.js';
+import { loadAccounts, initAccountForm, initAccountsLive, viewAccount, delAccount } from './features/accounts.js';
 import { initTxForm, resetTxForm, getLastTxDateOrToday, editTx, delTx } from './features/transactions.js';
 import { initPlans, loadPlans, toggleHours, delPlan } from './features/plans.js';
 import { initFilters } from './features/filters.js';
 import { refreshTxPage } from './features/txController.js';
-import { loadNet } from './features/net.js';
-import { loadCategorySummary } from './features/categorySummary.js';
+import { loadNet, initNetLive } from './features/net.js';
+import { loadCategorySummary, initCategorySummaryLive } from './features/categorySummary.js';
 
 function bootDefaults() {
   $('#date').value = getLastTxDateOrToday();
@@ -56,9 +58,21 @@ function attachGlobals() {
   await loadNet();
   await loadCategorySummary();
 
+  initAccountsLive();
+  initNetLive();
+  initCategorySummaryLive();
+  // some updates were dropped for us, reload what they would have changed
+  onLive('resync', async () => {
+    await loadAccounts();
+    await loadNet();
+    await loadCategorySummary();
+  });
+  connectLive($('#fyr').value, $('#fmo').value);
+
   document.getElementById('refreshNet')?.addEventListener('click', async () => {
     await loadNet();
     await loadCategorySummary();
+    connectLive($('#fyr').value, $('#fmo').value);
   });
 
   document.getElementById('refreshCat')?.addEventListener('click', (e) => {
@@ -0,0 +1,101 @@
+package com.boojet.boot_api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests against files in a temp directory, no Spring context
+public class BinaryLedgerFormatTest {
+
+    @TempDir
+    Path dir;
+
+    private static Transaction tx(Long id, String description, String amount, LocalDate date, Category category, boolean income){
+        Transaction t = new Transaction();
+        t.setId(id);
+        t.setDescription(description);
+        t.setAmount(amount == null ? null : Money.of(amount));
+        t.setDate(date);
+        t.setCategory(category);
+        t.setIncome(income);
+        return t;
+    }
+
+    private static List<Transaction> ledger(){
+        return List.of(
+                tx(1L, "Paycheck", "2500.00", LocalDate.of(2025, 9, 1), Category.INCOME, true),
+                tx(2L, "Groceries", "84.15", LocalDate.of(2025, 9, 2), Category.FOOD, false),
+                tx(3L, "Groceries", "-12.07", LocalDate.of(1969, 12, 31), Category.FOOD, false),    //repeated description, negative epoch day
+                tx(null, null, null, null, null, false),                                            //every nullable column null
+                tx(5L, "Café ☕", "0.00", LocalDate.of(2025, 9, 3), Category.OTHER, true));
+    }
+
+    @Test
+    @DisplayName("write then read returns the same rows, nulls included")
+    void writeRead_roundTrip() throws IOException {
+        Path path = dir.resolve(StorageFormat.BINARY.fileName());
+        BinaryLedgerFormat.write(ledger(), path, false);
+
+        assertThat(FileStorage.detect(path)).isEqualTo(StorageFormat.BINARY);
+        assertThat(BinaryLedgerFormat.read(path)).usingRecursiveComparison().isEqualTo(ledger());
+    }
+
+    @Test
+    @DisplayName("An empty ledger round-trips")
+    void writeRead_empty() throws IOException {
+        Path path = dir.resolve(StorageFormat.BINARY.fileName());
+        BinaryLedgerFormat.write(List.of(), path, false);
+
+        assertThat(BinaryLedgerFormat.read(path)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A file with the wrong magic is rejected")
+    void read_rejectsBadMagic() throws IOException {
+        Path path = dir.resolve(StorageFormat.BINARY.fileName());
+        BinaryLedgerFormat.write(ledger(), path, false);
+        overwrite(path, 0, ByteBuffer.allocate(4).putInt(0x4A534F4E));
+
+        assertThatThrownBy(() -> BinaryLedgerFormat.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a Boojet binary ledger");
+    }
+
+    @Test
+    @DisplayName("A file from a newer (or no) version is rejected")
+    void read_rejectsUnsupportedVersion() throws IOException {
+        Path path = dir.resolve(StorageFormat.BINARY.fileName());
+
+        for(short version : new short[]{ (short) (BinaryLedgerFormat.VERSION + 1), 0 }){
+            BinaryLedgerFormat.write(ledger(), path, false);
+            overwrite(path, 4, ByteBuffer.allocate(2).putShort(version));
+
+            assertThatThrownBy(() -> BinaryLedgerFormat.read(path))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Unsupported binary ledger version " + version);
+        }
+    }
+
+    //-----helpers-----
+
+    private static void overwrite(Path path, long position, ByteBuffer bytes) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)){
+            channel.write(bytes.flip(), position);
+        }
+    }
+}
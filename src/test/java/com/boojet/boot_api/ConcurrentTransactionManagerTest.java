@@ -0,0 +1,128 @@
+package com.boojet.boot_api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.boojet.boot_api.ConcurrentTransactionManager.Snapshot;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests, SaveMode.NONE keeps everything in memory
+public class ConcurrentTransactionManagerTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int OPS_PER_WRITER = 2_000;
+
+    private static Transaction tx(Random random){
+        return Transaction.builder()
+                .description("tx")
+                .amount(Money.of(random.nextInt(1, 10_000) + ".25"))
+                .date(LocalDate.of(2025, random.nextInt(1, 13), random.nextInt(1, 29)))
+                .category(Category.values()[random.nextInt(Category.values().length)])
+                .income(random.nextBoolean())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Readers always see a consistent snapshot while writers add, update and delete")
+    void concurrentWrites_keepSnapshotsConsistent() throws Exception {
+        ConcurrentTransactionManager manager = new ConcurrentTransactionManager(SaveMode.NONE);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        List<Future<Integer>> writers = new ArrayList<>();
+        for(int w = 0; w < WRITERS; w++){
+            long seed = w;
+            writers.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                List<Long> own = new ArrayList<>();      //each writer only touches its own ids
+                start.await();
+
+                for(int i = 0; i < OPS_PER_WRITER; i++){
+                    int op = random.nextInt(10);
+                    if(op < 6 || own.isEmpty()){
+                        own.add(manager.addTransaction(tx(random)));
+                    } else if(op < 8){
+                        assertThat(manager.updateTransaction(own.get(random.nextInt(own.size())), tx(random))).isTrue();
+                    } else {
+                        assertThat(manager.deleteTransaction(own.remove(random.nextInt(own.size())))).isTrue();
+                    }
+                }
+                return own.size();
+            }));
+        }
+
+        List<Future<Integer>> readers = new ArrayList<>();
+        for(int r = 0; r < READERS; r++){
+            readers.add(pool.submit(() -> {
+                start.await();
+                long lastVersion = -1;
+                int checked = 0;
+                while(writing.get()){
+                    Snapshot s = manager.snapshot();
+                    assertThat(s.version()).isGreaterThanOrEqualTo(lastVersion);
+                    lastVersion = s.version();
+                    assertConsistent(s);
+                    checked++;
+                }
+                return checked;
+            }));
+        }
+
+        start.countDown();
+        int expected = 0;
+        for(Future<Integer> w : writers){
+            expected += w.get(60, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for(Future<Integer> r : readers){
+            assertThat(r.get(60, TimeUnit.SECONDS)).isPositive();
+        }
+        pool.shutdown();
+
+        Snapshot last = manager.snapshot();
+        assertConsistent(last);
+        assertThat(last.transactions()).hasSize(expected);
+        assertThat(last.version()).isEqualTo((long) WRITERS * OPS_PER_WRITER);
+        assertThat(manager.getBalance()).isEqualTo(sum(last.transactions()));
+    }
+
+    //-----helpers-----
+
+    //indexes and the running balance all describe the same list of transactions
+    private static void assertConsistent(Snapshot s){
+        List<Transaction> all = s.transactions();
+
+        assertThat(s.byId()).hasSameSizeAs(all);
+        for(Transaction t : all){
+            assertThat(s.byId().get(t.getId())).isSameAs(t);
+        }
+        assertThat(s.byMonth().values().stream().mapToInt(List::size).sum()).isEqualTo(all.size());
+        assertThat(s.byCategory().values().stream().mapToInt(List::size).sum()).isEqualTo(all.size());
+        assertThat(s.balance()).isEqualTo(sum(all));
+    }
+
+    private static Money sum(List<Transaction> all){
+        Money total = Money.zero();
+        for(Transaction t : all){
+            total = total.add(TransactionManager.signed(t));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,107 @@
+package com.boojet.boot_api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.AccountType;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+import com.boojet.boot_api.domain.User;
+
+// Pure unit tests against files in a temp directory, no Spring context
+public class FileStorageTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<Transaction> ledger(){
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("default");
+
+        Account chequing = Account.builder()
+                .id(3L)
+                .user(user)
+                .name("Chequing")
+                .type(AccountType.SAVINGS)
+                .openingBalance(Money.of("250.00"))
+                .createdAt(LocalDate.of(2024, 1, 1))
+                .closedAt(LocalDate.of(2025, 12, 31))
+                .build();
+
+        return List.of(
+                new Transaction(1L, "Paycheck", Money.of("2500.00"), LocalDate.of(2025, 9, 1), Category.INCOME, true, chequing, null),
+                new Transaction(2L, "Groceries", Money.of("84.15"), LocalDate.of(2025, 9, 2), Category.FOOD, false, chequing, null),
+                new Transaction(3L, null, null, null, null, false, chequing, null));
+    }
+
+    @Test
+    @DisplayName("Load, save and load again keeps every field, the account included")
+    void loadSaveLoad_keepsAllFields() throws IOException {
+        Path path = dir.resolve(FileStorage.FILE_NAME);
+        FileStorage.mapper.writeValue(path.toFile(), ledger());        //the way the ledger was written before the streaming decoder
+
+        List<Transaction> loaded = FileStorage.loadTransactions(path);
+        assertThat(loaded).usingRecursiveComparison().isEqualTo(ledger());
+
+        FileStorage.writeAtomically(loaded, path, StorageFormat.JSON, false);
+        List<Transaction> reloaded = FileStorage.loadTransactions(path);
+
+        assertThat(reloaded).usingRecursiveComparison().isEqualTo(ledger());
+        assertThat(reloaded.get(0).getAccount().getUser().getUsername()).isEqualTo("default");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = StorageFormat.class, names = {"JSON", "JSON_GZIP", "JSON_DEFLATE"})
+    @DisplayName("Each JSON format is detected from its first bytes and loads back unchanged, whatever the file is called")
+    void writeLoad_detectsFormatFromContent(StorageFormat format) throws IOException {
+        Path path = dir.resolve("ledger.bin");             //the name says nothing about the format
+        FileStorage.writeAtomically(ledger(), path, format, false);
+
+        assertThat(FileStorage.detect(path)).isEqualTo(format);
+        assertThat(FileStorage.loadTransactions(path)).usingRecursiveComparison().isEqualTo(ledger());
+    }
+
+    @Test
+    @DisplayName("Compressed ledgers are smaller than the plain JSON they hold")
+    void write_compresses() throws IOException {
+        List<Transaction> ledger = new ArrayList<>();
+        for(int i = 0; i < 200; i++){
+            ledger.addAll(ledger());
+        }
+
+        long plain = FileStorage.writeAtomically(ledger, dir.resolve(StorageFormat.JSON.fileName()), StorageFormat.JSON, false);
+        long gzip = FileStorage.writeAtomically(ledger, dir.resolve(StorageFormat.JSON_GZIP.fileName()), StorageFormat.JSON_GZIP, false);
+        long deflate = FileStorage.writeAtomically(ledger, dir.resolve(StorageFormat.JSON_DEFLATE.fileName()), StorageFormat.JSON_DEFLATE, false);
+
+        assertThat(gzip).isLessThan(plain / 2);
+        assertThat(deflate).isLessThan(plain / 2);
+    }
+
+    @Test
+    @DisplayName("Short and empty files are read as plain JSON, not mistaken for a compressed format")
+    void detect_shortFiles() throws IOException {
+        Path empty = dir.resolve("empty.json");
+        Files.write(empty, new byte[0]);
+        Path array = dir.resolve("array.json");
+        Files.writeString(array, "[]");
+
+        assertThat(FileStorage.detect(empty)).isEqualTo(StorageFormat.JSON);
+        assertThat(FileStorage.detect(array)).isEqualTo(StorageFormat.JSON);
+        assertThat(FileStorage.loadTransactions(array)).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package com.boojet.boot_api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests, IdChunks is checked against a TreeMap doing the same changes
+public class IdChunksTest {
+
+    private static Transaction tx(long id){
+        return Transaction.builder().id(id).description("tx " + id).build();
+    }
+
+    @Test
+    @DisplayName("Random adds, replaces and removes over sparse ids match a sorted map, across chunk splits")
+    void randomChanges_matchSortedMap(){
+        Random random = new Random(11);
+        TreeMap<Long, Transaction> expected = new TreeMap<>();
+        IdChunks chunks = IdChunks.EMPTY;
+
+        for(int i = 0; i < 20_000; i++){
+            long id = random.nextInt(10) < 7 ? random.nextLong(-1_000_000, 1_000_000) : random.nextInt(5_000);
+            if(random.nextInt(4) == 0 && !expected.isEmpty()){
+                long existing = expected.ceilingKey(id) == null ? expected.firstKey() : expected.ceilingKey(id);
+                expected.remove(existing);
+                chunks = chunks.without(existing);
+            } else {
+                Transaction t = tx(id);
+                expected.put(id, t);
+                chunks = chunks.with(t);
+            }
+        }
+
+        assertSameContent(chunks, expected);
+        assertThat(chunks.without(Long.MAX_VALUE)).isSameAs(chunks);
+    }
+
+    @Test
+    @DisplayName("Increasing ids, as the manager hands them out, fill chunks in order")
+    void increasingIds_appendInOrder(){
+        TreeMap<Long, Transaction> expected = new TreeMap<>();
+        IdChunks chunks = IdChunks.EMPTY;
+        for(long id = 1; id <= 5 * IdChunks.MAX_CHUNK + 3; id++){
+            Transaction t = tx(id);
+            expected.put(id, t);
+            chunks = chunks.with(t);
+        }
+
+        assertSameContent(chunks, expected);
+        assertSameContent(IdChunks.of(new ArrayList<>(expected.descendingMap().values())), expected);
+    }
+
+    @Test
+    @DisplayName("A change returns a new map and leaves the one it started from as it was")
+    void changes_leaveOriginalUntouched(){
+        List<Transaction> rows = new ArrayList<>();
+        for(long id = 1; id <= 3_000; id++){
+            rows.add(tx(id));
+        }
+        IdChunks before = IdChunks.of(rows);
+        List<Transaction> listed = before.list();
+
+        Transaction replacement = tx(1_500);
+        IdChunks after = before.with(replacement).without(7).with(tx(9_999));
+
+        assertThat(before).hasSize(3_000);
+        assertThat(before.find(1_500)).isSameAs(rows.get(1_499));
+        assertThat(before.find(7)).isNotNull();
+        assertThat(before.find(9_999)).isNull();
+        assertThat(before.list()).isSameAs(listed).containsExactlyElementsOf(rows);
+
+        assertThat(after).hasSize(3_000);
+        assertThat(after.find(1_500)).isSameAs(replacement);
+        assertThat(after.find(7)).isNull();
+        assertThat(after.list()).last().extracting(Transaction::getId).isEqualTo(9_999L);
+    }
+
+    //-----helpers-----
+
+    private static void assertSameContent(IdChunks chunks, TreeMap<Long, Transaction> expected){
+        assertThat(chunks).hasSize(expected.size());
+        assertThat(chunks.list()).containsExactlyElementsOf(expected.values());
+        assertThat(chunks.entrySet()).extracting(Map.Entry::getKey).containsExactlyElementsOf(expected.keySet());
+        for(Map.Entry<Long, Transaction> e : expected.entrySet()){
+            assertThat(chunks.get(e.getKey())).isSameAs(e.getValue());
+        }
+        assertThat(chunks.containsKey(expected.isEmpty() ? 0L : expected.lastKey() + 1)).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.boojet.boot_api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests against a temp directory, no Spring context
+public class ShardedStorageTest {
+
+    @TempDir
+    Path dir;
+
+    private static Transaction tx(long id, String amount, LocalDate date, boolean income){
+        return Transaction.builder()
+                .id(id)
+                .description("tx " + id)
+                .amount(amount == null ? null : Money.of(amount))
+                .date(date)
+                .category(Category.OTHER)
+                .income(income)
+                .build();
+    }
+
+    private static final YearMonth AUGUST = YearMonth.of(2025, 8);
+    private static final YearMonth SEPTEMBER = YearMonth.of(2025, 9);
+
+    private static Map<String, List<Transaction>> ledger(){
+        Map<String, List<Transaction>> shards = new TreeMap<>();
+        shards.put(ShardedStorage.key(AUGUST), List.of(
+                tx(1, "2500.00", LocalDate.of(2025, 8, 1), true),
+                tx(2, "1200.00", LocalDate.of(2025, 8, 1), false)));
+        shards.put(ShardedStorage.key(SEPTEMBER), List.of(
+                tx(3, "84.15", LocalDate.of(2025, 9, 2), false),
+                tx(4, null, LocalDate.of(2025, 9, 3), false)));         //no amount, counts as zero
+        shards.put(ShardedStorage.UNDATED, List.of(tx(5, "10.00", null, true)));
+        return shards;
+    }
+
+    @Test
+    @DisplayName("Shards and manifest written by one instance are read back by a fresh one")
+    void writeOpen_roundTrip() throws IOException {
+        new ShardedStorage(dir).write(ledger(), 6, false);
+
+        ShardedStorage reopened = new ShardedStorage(dir);
+        assertThat(reopened.exists()).isTrue();
+        reopened.open();
+
+        assertThat(reopened.nextId()).isEqualTo(6);
+        assertThat(reopened.months()).containsExactly(AUGUST, SEPTEMBER);
+        assertThat(reopened.net(ShardedStorage.key(AUGUST))).isEqualTo(Money.of("1300.00"));
+        assertThat(reopened.net(ShardedStorage.key(SEPTEMBER))).isEqualTo(Money.of("-84.15"));
+        assertThat(reopened.net(ShardedStorage.UNDATED)).isEqualTo(Money.of("10.00"));
+        assertThat(reopened.net("2025-10")).isEqualTo(Money.zero());
+
+        assertThat(reopened.loadMonth(SEPTEMBER)).usingRecursiveComparison().isEqualTo(ledger().get("2025-09"));
+        assertThat(reopened.loadAll()).extracting(Transaction::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("A save rewrites only the given shards, an empty one removes its file")
+    void write_onlyChangedShards() throws IOException {
+        ShardedStorage storage = new ShardedStorage(dir);
+        storage.write(ledger(), 6, false);
+        long augustModified = Files.getLastModifiedTime(dir.resolve("2025-08.json")).toMillis();
+
+        Map<String, List<Transaction>> changed = new TreeMap<>();
+        changed.put(ShardedStorage.key(SEPTEMBER), List.of());
+        changed.put(ShardedStorage.UNDATED, List.of(tx(5, "10.00", null, true), tx(6, "5.00", null, false)));
+        storage.write(changed, 7, false);
+
+        assertThat(dir.resolve("2025-09.json")).doesNotExist();
+        assertThat(Files.getLastModifiedTime(dir.resolve("2025-08.json")).toMillis()).isEqualTo(augustModified);
+
+        ShardedStorage reopened = new ShardedStorage(dir);
+        reopened.open();
+        assertThat(reopened.months()).containsExactly(AUGUST);
+        assertThat(reopened.nextId()).isEqualTo(7);
+        assertThat(reopened.net(ShardedStorage.UNDATED)).isEqualTo(Money.of("5.00"));
+        assertThat(reopened.loadAll()).extracting(Transaction::getId).containsExactly(1L, 2L, 5L, 6L);
+    }
+
+    @Test
+    @DisplayName("A manifest from a newer version is rejected")
+    void open_rejectsNewerManifest() throws IOException {
+        Files.writeString(dir.resolve(ShardedStorage.MANIFEST),
+                "{\"version\":" + (ShardedStorage.VERSION + 1) + ",\"nextId\":1,\"shards\":{}}");
+
+        assertThatThrownBy(() -> new ShardedStorage(dir).open())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unsupported ledger manifest version");
+    }
+}
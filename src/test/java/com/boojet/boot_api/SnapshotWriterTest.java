@@ -0,0 +1,104 @@
+package com.boojet.boot_api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests against files in a temp directory, no Spring context
+public class SnapshotWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private static Transaction tx(long id, String description){
+        return Transaction.builder()
+                .id(id)
+                .description(description)
+                .amount(Money.of("10.00"))
+                .date(LocalDate.of(2025, 9, 1))
+                .category(Category.FOOD)
+                .build();
+    }
+
+    @Test
+    @DisplayName("A burst of requests becomes one write of the latest ledger, which loads back unchanged")
+    void requests_coalesceIntoOneWrite() throws InterruptedException {
+        Path file = dir.resolve(FileStorage.FILE_NAME);
+        List<Transaction> ledger = new CopyOnWriteArrayList<>();
+
+        try(SnapshotWriter writer = new SnapshotWriter(file, StorageFormat.JSON, FsyncPolicy.NEVER, 200, () -> List.copyOf(ledger))){
+            for(int i = 1; i <= 50; i++){
+                ledger.add(tx(i, "tx " + i));
+                writer.request();
+            }
+            assertThat(writer.hasPendingWrites()).isTrue();
+
+            awaitWrites(writer, 1);
+            assertThat(writer.stats().requests()).isEqualTo(50);
+            assertThat(writer.stats().writes()).isEqualTo(1);
+            assertThat(FileStorage.loadTransactions(file)).usingRecursiveComparison().isEqualTo(ledger);
+        }
+    }
+
+    @Test
+    @DisplayName("flush writes right away, without waiting for the debounce")
+    void flush_writesNow(){
+        Path file = dir.resolve(FileStorage.FILE_NAME);
+        List<Transaction> ledger = List.of(tx(1, "Rent"), tx(2, "Groceries"));
+
+        try(SnapshotWriter writer = new SnapshotWriter(file, StorageFormat.JSON, FsyncPolicy.ALWAYS, 60_000, () -> ledger)){
+            writer.request();
+            writer.flush();
+
+            assertThat(writer.hasPendingWrites()).isFalse();
+            assertThat(writer.stats().writes()).isEqualTo(1);
+            assertThat(writer.stats().bytesWritten()).isPositive();
+            assertThat(FileStorage.loadTransactions(file)).usingRecursiveComparison().isEqualTo(ledger);
+        }
+    }
+
+    @Test
+    @DisplayName("A failed write keeps the changes pending until the next write succeeds")
+    void failedWrite_staysPending(){
+        AtomicBoolean failing = new AtomicBoolean(true);
+
+        try(SnapshotWriter writer = new SnapshotWriter(FsyncPolicy.NEVER, 60_000, sync -> {
+            if(failing.get())
+                throw new IOException("disk full");
+            return 1;
+        })){
+            writer.flush();
+            assertThat(writer.hasPendingWrites()).isTrue();
+            assertThat(writer.stats().failures()).isEqualTo(1);
+
+            failing.set(false);
+            writer.flush();
+            assertThat(writer.hasPendingWrites()).isFalse();
+            assertThat(writer.stats().writes()).isEqualTo(1);
+        }
+    }
+
+    //-----helpers-----
+
+    //the write counter moves once the write has returned, so poll for it rather than signal from inside the write
+    private static void awaitWrites(SnapshotWriter writer, long writes) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while(writer.stats().writes() < writes && System.nanoTime() < deadline){
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.boojet.boot_api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.boojet.boot_api.TransactionJournal.Op;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests against files in a temp directory, no Spring context
+public class TransactionJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static Transaction tx(String description){
+        return Transaction.builder()
+                .description(description)
+                .amount(Money.of("10.00"))
+                .date(LocalDate.of(2025, 9, 1))
+                .category(Category.FOOD)
+                .build();
+    }
+
+    private TransactionJournal journal(){
+        return new TransactionJournal(dir.resolve("transactions.json"), StorageFormat.JSON, FsyncPolicy.ALWAYS);
+    }
+
+    private static List<String> descriptions(List<Transaction> transactions){
+        return transactions.stream().map(Transaction::getDescription).toList();
+    }
+
+    @Test
+    @DisplayName("Entries appended after recovering from a torn tail survive the next recovery")
+    void recover_truncatesTornTailBeforeAppending() throws IOException {
+        try(TransactionJournal journal = journal()){
+            journal.recover();
+            journal.append(Op.ADD, 1, tx("Rent"));
+            journal.append(Op.ADD, 2, tx("Groceries"));
+        }
+
+        //a crash in the middle of the third append
+        Path active = dir.resolve("transactions.json.journal");
+        Files.writeString(active, "{\"seq\":3,\"op\":\"ADD\",\"id\":3,\"tx\":{\"descr", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try(TransactionJournal journal = journal()){
+            assertThat(descriptions(journal.recover())).containsExactly("Rent", "Groceries");
+            assertThat(journal.size()).isEqualTo(2);
+
+            journal.append(Op.ADD, 3, tx("Coffee"));
+            journal.append(Op.DELETE, 1, null);
+        }
+
+        try(TransactionJournal journal = journal()){
+            assertThat(descriptions(journal.recover())).containsExactly("Groceries", "Coffee");
+            assertThat(journal.lastSeq()).isEqualTo(4);
+            assertThat(journal.size()).isEqualTo(4);
+        }
+        assertThat(Files.readString(active)).doesNotContain("descr\"").endsWith("\n");
+    }
+
+    @Test
+    @DisplayName("A complete entry missing its newline was never acknowledged and is dropped")
+    void recover_dropsEntryWithoutNewline() throws IOException {
+        try(TransactionJournal journal = journal()){
+            journal.recover();
+            journal.append(Op.ADD, 1, tx("Rent"));
+        }
+
+        Path active = dir.resolve("transactions.json.journal");
+        String first = Files.readString(active);
+        Files.writeString(active, first.strip().replace("\"seq\":1", "\"seq\":2").replace("Rent", "Torn"), StandardOpenOption.APPEND);
+
+        try(TransactionJournal journal = journal()){
+            assertThat(descriptions(journal.recover())).containsExactly("Rent");
+            journal.append(Op.ADD, 2, tx("Coffee"));
+        }
+
+        try(TransactionJournal journal = journal()){
+            assertThat(descriptions(journal.recover())).containsExactly("Rent", "Coffee");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.boojet.boot_api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests, SaveMode.NONE keeps everything in memory
+public class TransactionManagerTest {
+
+    private static Transaction tx(String description, String amount, LocalDate date, Category category, boolean income){
+        return Transaction.builder()
+                .description(description)
+                .amount(amount == null ? null : Money.of(amount))
+                .date(date)
+                .category(category)
+                .income(income)
+                .build();
+    }
+
+    //dates over a few months and some rows without date, amount or category, so every index bucket moves
+    private static Transaction random(Random random){
+        LocalDate date = random.nextInt(10) == 0 ? null : LocalDate.of(2025, random.nextInt(1, 5), random.nextInt(1, 29));
+        Category category = random.nextInt(10) == 0 ? null : Category.values()[random.nextInt(Category.values().length)];
+        String amount = random.nextInt(20) == 0 ? null : random.nextInt(1, 10_000) + ".05";
+        return tx("tx", amount, date, category, random.nextBoolean());
+    }
+
+    @Test
+    @DisplayName("The id, month and category indexes and the balance follow every add, update and delete")
+    void randomEdits_keepIndexesConsistent(){
+        TransactionManager manager = new TransactionManager(SaveMode.NONE);
+        Map<Long, Transaction> expected = new LinkedHashMap<>();       //what the manager should hold, in insertion order
+        Random random = new Random(7);
+
+        for(int i = 0; i < 2_000; i++){
+            int op = random.nextInt(10);
+            List<Long> ids = new ArrayList<>(expected.keySet());
+
+            if(op < 5 || ids.isEmpty()){
+                Transaction t = random(random);
+                expected.put(manager.addTransaction(t), t);
+            } else if(op < 8){
+                long id = ids.get(random.nextInt(ids.size()));
+                Transaction repl = random(random);
+                assertThat(manager.updateTransaction(id, repl)).isTrue();
+                expected.put(id, repl);         //replaces in place, keeps the position
+            } else {
+                long id = ids.get(random.nextInt(ids.size()));
+                assertThat(manager.deleteTransaction(id)).isTrue();
+                expected.remove(id);
+            }
+
+            if(i % 100 == 0)
+                assertConsistent(manager, expected);
+        }
+        assertConsistent(manager, expected);
+    }
+
+    @Test
+    @DisplayName("Unknown ids are reported, not indexed")
+    void updateAndDelete_unknownId(){
+        TransactionManager manager = new TransactionManager(SaveMode.NONE);
+        manager.addTransaction(tx("Rent", "1200.00", LocalDate.of(2025, 9, 1), Category.RENT, false));
+
+        assertThat(manager.updateTransaction(99, tx("Other", "1.00", LocalDate.of(2025, 9, 2), Category.OTHER, false))).isFalse();
+        assertThat(manager.deleteTransaction(99)).isFalse();
+        assertThat(manager.findTransaction(99)).isEmpty();
+        assertThat(manager.getBalance()).isEqualTo(Money.of("-1200.00"));
+        assertThat(manager.inCategory(Category.OTHER)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("inMonths includes both ends of the range and nothing outside it")
+    void inMonths_inclusiveRange(){
+        TransactionManager manager = new TransactionManager(SaveMode.NONE);
+        for(int month = 1; month <= 6; month++){
+            manager.addTransaction(tx("m" + month, "10.00", LocalDate.of(2025, month, 15), Category.FOOD, false));
+        }
+        manager.addTransaction(tx("undated", "10.00", null, Category.FOOD, false));
+
+        assertThat(manager.inMonths(YearMonth.of(2025, 2), YearMonth.of(2025, 4)))
+                .extracting(Transaction::getDescription)
+                .containsExactly("m2", "m3", "m4");
+    }
+
+    @Test
+    @DisplayName("Ids missing from a loaded ledger are numbered after the highest one, in file order")
+    void assignMissingIds_afterHighest(){
+        List<Transaction> loaded = new ArrayList<>(List.of(
+                tx("a", "1.00", null, null, false),
+                tx("b", "1.00", null, null, false),
+                tx("c", "1.00", null, null, false),
+                tx("d", "1.00", null, null, false)));
+        loaded.get(1).setId(7L);
+        loaded.get(3).setId(7L);            //duplicate, renumbered like a missing one
+
+        long next = TransactionManager.assignMissingIds(loaded);
+
+        assertThat(loaded).extracting(Transaction::getId).containsExactly(8L, 7L, 9L, 10L);
+        assertThat(next).isEqualTo(11L);
+    }
+
+    //-----helpers-----
+
+    private static void assertConsistent(TransactionManager manager, Map<Long, Transaction> expected){
+        assertThat(manager.getTransactions()).containsExactlyElementsOf(expected.values());
+
+        for(Map.Entry<Long, Transaction> e : expected.entrySet()){
+            assertThat(manager.findTransaction(e.getKey())).containsSame(e.getValue());
+        }
+
+        for(int month = 1; month <= 4; month++){
+            YearMonth ym = YearMonth.of(2025, month);
+            assertThat(manager.inMonth(ym)).containsExactlyInAnyOrderElementsOf(expected.values().stream()
+                    .filter(t -> t.getDate() != null && YearMonth.from(t.getDate()).equals(ym)).toList());
+        }
+
+        for(Category category : Category.values()){
+            assertThat(manager.inCategory(category)).containsExactlyInAnyOrderElementsOf(expected.values().stream()
+                    .filter(t -> t.getCategory() == category).toList());
+        }
+
+        Money balance = Money.zero();
+        for(Transaction t : expected.values()){
+            balance = balance.add(TransactionManager.signed(t));
+        }
+        assertThat(manager.getBalance()).isEqualTo(balance);
+    }
+}
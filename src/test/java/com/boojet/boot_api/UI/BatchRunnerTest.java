@@ -0,0 +1,66 @@
+package com.boojet.boot_api.UI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.boojet.boot_api.SaveMode;
+import com.boojet.boot_api.TransactionManager;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests, the manager keeps everything in memory and only counts saves
+public class BatchRunnerTest {
+
+    //SaveMode.NONE would still write transactions.json on save(), so saves are only counted
+    static class CountingManager extends TransactionManager {
+        int saves = 0;
+
+        CountingManager(){
+            super(SaveMode.NONE);
+        }
+
+        @Override
+        public void save(){
+            saves++;
+        }
+    }
+
+    private static List<String> run(TransactionManager manager, String script) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new BatchRunner(manager, new PrintStream(bytes, true, StandardCharsets.UTF_8)).run(new BufferedReader(new StringReader(script)));
+        return bytes.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    @Test
+    @DisplayName("A summary over rows without amount or category succeeds and earlier changes are still saved")
+    void run_summaryOverIncompleteRows() throws IOException {
+        CountingManager manager = new CountingManager();
+        manager.addTransaction(Transaction.builder().description("no amount").date(LocalDate.of(2025, 9, 1)).category(Category.FOOD).build());
+        manager.addTransaction(Transaction.builder().description("no category").amount(Money.of("5.00")).date(LocalDate.of(2025, 9, 1)).build());
+
+        List<String> out = run(manager, """
+                add|expense|12.50|FOOD|2025-09-02|Lunch
+                summary|2025-09
+                edit|999|amount=1.00
+                """);
+
+        assertThat(out).hasSize(4);
+        assertThat(out.get(0)).contains("\"op\":\"add\"", "\"ok\":true");
+        assertThat(out.get(1)).contains("\"op\":\"summary\"", "\"ok\":true", "\"count\":3");
+        assertThat(out.get(2)).contains("\"op\":\"edit\"", "\"ok\":false", "No transaction with id 999");
+        assertThat(out.get(3)).contains("\"applied\":2", "\"failed\":1");
+        assertThat(manager.saves).isEqualTo(1);
+    }
+}
@@ -0,0 +1,297 @@
+package com.boojet.boot_api.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.boojet.boot_api.BootApiApplication;
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.services.partitions.TransactionPartitions;
+import com.boojet.boot_api.testutil.EmbeddedApp;
+import com.boojet.boot_api.testutil.SyntheticLedger;
+import com.boojet.boot_api.testutil.SyntheticLedgerLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * End-to-end load test: the whole application on an embedded Postgres, driven by an in-process client.
+ * <p>
+ * Nothing external is needed. The run:
+ * <ol>
+ *   <li>starts a throwaway Postgres (zonky embedded-postgres) and boots {@link BootApiApplication} against it on a random port;</li>
+ *   <li>loads a {@link SyntheticLedger} of about that many accounts and transactions with {@link SyntheticLedgerLoader};</li>
+ *   <li>warms up, then lets every client issue its requests back to back against a weighted mix of
+ *   {@code /transactions} search, {@code /transactions/suggestions}, {@code /account/balance/{id}} and {@code /plan/net/{y}/{m}};</li>
+ *   <li>prints throughput and latency percentiles per endpoint and writes them as JSON.</li>
+ * </ol>
+ * Everything random (data, the request sequence of each client) comes from one seed, so two runs with the same
+ * arguments send the same requests against the same data; only the interleaving between clients differs.
+ *
+ * <p>Not a unit test, a plain {@code main} kept with the test sources like {@link ThreadModelLoadTest}:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.boojet.boot_api.loadtest.EndToEndLoadTest \
+ *     -Dexec.args="20 200000 64 500"
+ * </pre>
+ *
+ * <p>Usage: {@code EndToEndLoadTest [accounts] [transactions] [clients] [requestsPerClient] [seed] [resultFile]}
+ */
+public class EndToEndLoadTest {
+
+    //request mix, weights out of 100
+    private static final String[] ENDPOINTS = { "search", "suggestions", "balance", "net" };
+    private static final int[] WEIGHTS = { 45, 20, 25, 10 };
+
+    private static final int SUGGESTION_MERCHANTS = 60;        //prefixes typed from the most common descriptions
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int transactions = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int requestsPerClient = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+        Path resultFile = Path.of(args.length > 5 ? args[5] : "target/load-result.json");
+
+        try(EmbeddedPostgres pg = EmbeddedPostgres.builder().start();
+            ConfigurableApplicationContext app = boot(pg)){
+
+            String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            //partitioned before the load, and every loaded month split out of the default partition after it
+            TransactionPartitions partitions = app.getBean(TransactionPartitions.class);
+            partitions.maintain();
+
+            SyntheticLedger ledger = new SyntheticLedger(SyntheticLedger.Spec.sized(accounts, transactions, seed));
+            SyntheticLedgerLoader.Loaded loaded = SyntheticLedgerLoader.load(pg.getPostgresDatabase(), ledger);
+            partitions.maintain();
+            System.out.printf("seeded %,d users, %,d accounts, %,d transactions in %,d ms%n",
+                    loaded.users(), loaded.accounts(), loaded.transactions(), loaded.millis());
+
+            List<Long> accountIds = ledger.households().stream().flatMap(h -> h.accounts().stream()).map(Account::getId).toList();
+            Traffic traffic = new Traffic(baseUrl, accountIds, ledger.merchantNames().subList(0, SUGGESTION_MERCHANTS),
+                    YearMonth.from(ledger.spec().from()), YearMonth.from(ledger.spec().to()));
+
+            run(http, traffic, Math.min(clients, 16), 50, seed - 1);      //JIT, pools and caches, result discarded
+            Result result = run(http, traffic, clients, requestsPerClient, seed);
+
+            print(result, clients);
+            write(result, resultFile, accounts, transactions, clients, requestsPerClient, seed);
+        }
+    }
+
+    /* ───── setup ───── */
+
+    //the settings of src/main/resources/application.properties that shape throughput, which the test classpath hides
+    private static ConfigurableApplicationContext boot(EmbeddedPostgres pg){
+        return EmbeddedApp.boot(pg,
+                "spring.threads.virtual.enabled=true",
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "boojet.db.bulkhead.enabled=true",
+                "boojet.db.bulkhead.max-wait-ms=30000",
+                "boojet.transactions.partitioning.enabled=true",
+                "boojet.transactions.partitions.split-months-per-run=120"
+        );
+    }
+
+    /* ───── traffic ───── */
+
+    //what the clients pick from: loaded account ids, descriptions to type prefixes of, and the months with data
+    record Traffic(String baseUrl, List<Long> accountIds, List<String> merchants, YearMonth first, YearMonth last){}
+
+    record Result(long[][] latenciesNanos, int[] errors, long elapsedNanos){
+
+        int requests(int endpoint){
+            return latenciesNanos[endpoint].length + errors[endpoint];
+        }
+
+        double throughput(int endpoint){
+            return requests(endpoint) / (elapsedNanos / 1e9);
+        }
+
+        //nearest-rank percentile in milliseconds
+        double percentile(int endpoint, double p){
+            long[] sorted = latenciesNanos[endpoint];
+            if(sorted.length == 0)
+                return 0;
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))] / 1e6;
+        }
+    }
+
+    private static Result run(HttpClient http, Traffic traffic, int clients, int requestsPerClient, long seed) throws InterruptedException {
+        long[][] latencies = new long[clients][requestsPerClient];
+        byte[][] endpoints = new byte[clients][requestsPerClient];
+        int[] completed = new int[clients];
+        AtomicIntegerArray errors = new AtomicIntegerArray(ENDPOINTS.length);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(clients);
+
+        try(ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()){
+            for(int c = 0; c < clients; c++){
+                int client = c;
+                pool.submit(() -> {
+                    Random rnd = new Random(seed * 31 + client);
+                    int ok = 0;
+                    try{
+                        start.await();
+                        for(int i = 0; i < requestsPerClient; i++){
+                            int endpoint = pick(rnd);
+                            HttpRequest request = HttpRequest.newBuilder(URI.create(traffic.baseUrl() + path(endpoint, rnd, traffic)))
+                                    .timeout(Duration.ofSeconds(60))
+                                    .header("Accept", "application/json")
+                                    .GET()
+                                    .build();
+                            long t0 = System.nanoTime();
+                            try{
+                                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                                if(response.statusCode() >= 400){
+                                    errors.incrementAndGet(endpoint);
+                                    continue;
+                                }
+                                latencies[client][ok] = System.nanoTime() - t0;
+                                endpoints[client][ok++] = (byte) endpoint;
+                            } catch(IOException e){
+                                errors.incrementAndGet(endpoint);
+                            }
+                        }
+                    } catch(InterruptedException e){
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        completed[client] = ok;
+                        done.countDown();
+                    }
+                });
+            }
+
+            long t0 = System.nanoTime();
+            start.countDown();
+            done.await();
+            long elapsed = System.nanoTime() - t0;
+
+            int[] counts = new int[ENDPOINTS.length];
+            for(int c = 0; c < clients; c++){
+                for(int i = 0; i < completed[c]; i++){
+                    counts[endpoints[c][i]]++;
+                }
+            }
+
+            long[][] perEndpoint = new long[ENDPOINTS.length][];
+            int[] errorCounts = new int[ENDPOINTS.length];
+            for(int e = 0; e < ENDPOINTS.length; e++){
+                perEndpoint[e] = new long[counts[e]];
+                counts[e] = 0;
+                errorCounts[e] = errors.get(e);
+            }
+            for(int c = 0; c < clients; c++){
+                for(int i = 0; i < completed[c]; i++){
+                    int e = endpoints[c][i];
+                    perEndpoint[e][counts[e]++] = latencies[c][i];
+                }
+            }
+            for(long[] sorted : perEndpoint){
+                Arrays.sort(sorted);
+            }
+            return new Result(perEndpoint, errorCounts, elapsed);
+        }
+    }
+
+    private static int pick(Random rnd){
+        int roll = rnd.nextInt(100);
+        for(int e = 0; e < WEIGHTS.length; e++){
+            roll -= WEIGHTS[e];
+            if(roll < 0)
+                return e;
+        }
+        return 0;
+    }
+
+    //the shapes the UI sends: an account's latest page, a month of it, or one category; suggestions from a typed prefix
+    private static String path(int endpoint, Random rnd, Traffic traffic){
+        long accountId = traffic.accountIds().get(rnd.nextInt(traffic.accountIds().size()));
+        YearMonth month = traffic.first().plusMonths(rnd.nextInt((int) traffic.first().until(traffic.last(), ChronoUnit.MONTHS) + 1));
+
+        return switch(ENDPOINTS[endpoint]){
+            case "search" -> switch(rnd.nextInt(3)){
+                case 0 -> "/transactions?accountId=" + accountId + "&size=20";
+                case 1 -> "/transactions?accountId=" + accountId + "&year=" + month.getYear() + "&month=" + month.getMonthValue() + "&size=50";
+                default -> "/transactions?category=" + Category.values()[rnd.nextInt(Category.values().length)] + "&size=20";
+            };
+            case "suggestions" -> {
+                String merchant = traffic.merchants().get(rnd.nextInt(traffic.merchants().size()));
+                String prefix = merchant.substring(0, Math.min(merchant.length(), 2 + rnd.nextInt(3)));
+                yield "/transactions/suggestions?description=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8) + "&howMany=10";
+            }
+            case "balance" -> "/account/balance/" + accountId;
+            default -> "/plan/net/" + month.getYear() + "/" + month.getMonthValue();
+        };
+    }
+
+    /* ───── report ───── */
+
+    private static void print(Result r, int clients){
+        System.out.printf("%-12s %8s %10s %10s %9s %9s %9s %9s %8s%n",
+                "endpoint", "clients", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for(int e = 0; e < ENDPOINTS.length; e++){
+            System.out.printf("%-12s %,8d %,10d %,10.0f %9.1f %9.1f %9.1f %9.1f %,8d%n",
+                    ENDPOINTS[e], clients, r.requests(e), r.throughput(e),
+                    r.percentile(e, 50), r.percentile(e, 95), r.percentile(e, 99), r.percentile(e, 100), r.errors()[e]);
+        }
+    }
+
+    private static void write(Result r, Path file, int accounts, int transactions, int clients, int requestsPerClient, long seed) throws IOException {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("accounts", accounts);
+        out.put("transactions", transactions);
+        out.put("clients", clients);
+        out.put("requestsPerClient", requestsPerClient);
+        out.put("seed", seed);
+        out.put("elapsedMillis", r.elapsedNanos() / 1_000_000);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for(int e = 0; e < ENDPOINTS.length; e++){
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", r.requests(e));
+            stats.put("errors", r.errors()[e]);
+            stats.put("throughput", r.throughput(e));
+            stats.put("p50", r.percentile(e, 50));
+            stats.put("p95", r.percentile(e, 95));
+            stats.put("p99", r.percentile(e, 99));
+            stats.put("max", r.percentile(e, 100));
+            endpoints.put(ENDPOINTS[e], stats);
+        }
+        out.put("endpoints", endpoints);
+
+        if(file.getParent() != null)
+            Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), out);
+        System.out.println("results written to " + file.toAbsolutePath());
+    }
+}
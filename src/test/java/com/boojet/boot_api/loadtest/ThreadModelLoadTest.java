@@ -0,0 +1,135 @@
+package com.boojet.boot_api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for comparing the web tier on platform threads and on virtual threads.
+ * <p>
+ * Not a unit test: it needs a running application and a seeded database, so it is a plain {@code main}
+ * kept with the test sources. Each simulated client runs on its own virtual thread so the client side
+ * is never the bottleneck, waits for a common start signal, then issues its requests back to back
+ * against a mix of read endpoints ({@code /transactions}, {@code /account}, {@code /account/balance/{id}}).
+ *
+ * <p><b>Comparison run:</b>
+ * <ol>
+ *   <li>Start the API with {@code --spring.threads.virtual.enabled=false} (Tomcat's 200 platform threads)
+ *   and run {@code ThreadModelLoadTest http://localhost:8080 platform 1000,10000}.</li>
+ *   <li>Restart with {@code --spring.threads.virtual.enabled=true} and run the same command with label {@code virtual}.</li>
+ * </ol>
+ * Each line reports throughput, latency percentiles and errors for one concurrency level. At 10k clients
+ * raise the open-file limit ({@code ulimit -n}) on both sides and {@code server.tomcat.max-connections}
+ * on the server, otherwise connection refusals dominate the result.
+ *
+ * <p>Usage: {@code ThreadModelLoadTest <baseUrl> <label> [clients,...] [requestsPerClient] [accountId]}
+ */
+public class ThreadModelLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String label = args.length > 1 ? args[1] : "server";
+        int[] levels = args.length > 2 ? Arrays.stream(args[2].split(",")).mapToInt(Integer::parseInt).toArray() : new int[]{ 1_000, 10_000 };
+        int requestsPerClient = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        long accountId = args.length > 4 ? Long.parseLong(args[4]) : 1;
+
+        List<URI> targets = List.of(
+            URI.create(baseUrl + "/transactions?accountId=" + accountId + "&size=20"),
+            URI.create(baseUrl + "/transactions?accountId=" + accountId + "&year=2024&size=50"),
+            URI.create(baseUrl + "/account"),
+            URI.create(baseUrl + "/account/balance/" + accountId)
+        );
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        run(http, targets, 50, 10);       //JIT, pool and caches, result discarded
+
+        System.out.printf("%-10s %8s %10s %10s %9s %9s %9s %9s %8s%n",
+                "threads", "clients", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for(int clients : levels){
+            Result r = run(http, targets, clients, requestsPerClient);
+            System.out.printf("%-10s %,8d %,10d %,10.0f %9.1f %9.1f %9.1f %9.1f %,8d%n",
+                    label, clients, r.requests(), r.throughput(), r.percentile(50), r.percentile(95), r.percentile(99), r.percentile(100), r.errors());
+        }
+    }
+
+    //-----helpers-----
+
+    record Result(long[] latenciesNanos, int requests, int errors, long elapsedNanos){
+
+        double throughput(){
+            return requests / (elapsedNanos / 1e9);
+        }
+
+        //nearest-rank percentile in milliseconds
+        double percentile(double p){
+            if(latenciesNanos.length == 0)
+                return 0;
+            int rank = (int) Math.ceil(p / 100.0 * latenciesNanos.length);
+            return latenciesNanos[Math.max(0, Math.min(latenciesNanos.length - 1, rank - 1))] / 1e6;
+        }
+    }
+
+    private static Result run(HttpClient http, List<URI> targets, int clients, int requestsPerClient) throws InterruptedException {
+        long[][] perClient = new long[clients][];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(clients);
+
+        try(ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()){
+            for(int c = 0; c < clients; c++){
+                int client = c;
+                pool.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    int ok = 0;
+                    try{
+                        start.await();
+                        for(int i = 0; i < requestsPerClient; i++){
+                            HttpRequest request = HttpRequest.newBuilder(targets.get((client + i) % targets.size()))
+                                    .timeout(Duration.ofSeconds(60))
+                                    .header("Accept", "application/json")
+                                    .GET()
+                                    .build();
+                            long t0 = System.nanoTime();
+                            try{
+                                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                                if(response.statusCode() >= 400){
+                                    errors.incrementAndGet();
+                                    continue;
+                                }
+                                latencies[ok++] = System.nanoTime() - t0;
+                            } catch(java.io.IOException e){
+                                errors.incrementAndGet();
+                            }
+                        }
+                    } catch(InterruptedException e){
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        perClient[client] = Arrays.copyOf(latencies, ok);
+                        done.countDown();
+                    }
+                });
+            }
+
+            long t0 = System.nanoTime();
+            start.countDown();
+            done.await();
+            long elapsed = System.nanoTime() - t0;
+
+            long[] all = Arrays.stream(perClient).flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(all, all.length + errors.get(), errors.get(), elapsed);
+        }
+    }
+}
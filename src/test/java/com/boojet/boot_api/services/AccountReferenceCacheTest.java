@@ -0,0 +1,62 @@
+package com.boojet.boot_api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.User;
+import com.boojet.boot_api.services.accounts.AccountReferenceCache;
+
+// Pure unit tests, no Spring context: the cache is a plain object
+public class AccountReferenceCacheTest {
+
+    private static Account account(long id, long ownerId, String name){
+        User owner = new User();
+        owner.setId(ownerId);
+        return Account.builder().id(id).user(owner).name(name).build();
+    }
+
+    @Test
+    @DisplayName("Accounts are loaded once, later lookups get a copy of the cached snapshot")
+    void find_loadsOnceAndCopies(){
+        AccountReferenceCache cache = new AccountReferenceCache(100, 300);
+        AtomicInteger loads = new AtomicInteger();
+
+        Account first = cache.find(7L, id -> { loads.incrementAndGet(); return Optional.of(account(id, 1, "Chequing")); }).orElseThrow();
+        first.setName("changed by the caller");
+        Account second = cache.find(7L, id -> { loads.incrementAndGet(); return Optional.of(account(id, 1, "Chequing")); }).orElseThrow();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second.getName()).isEqualTo("Chequing");
+        assertThat(second.getUser().getId()).isEqualTo(1L);
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Missing accounts are not cached")
+    void find_missIsNotCached(){
+        AccountReferenceCache cache = new AccountReferenceCache(100, 300);
+
+        assertThat(cache.find(9L, id -> Optional.empty())).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Invalidation forces a reload and the cache stays within its bound")
+    void invalidate_andBound(){
+        AccountReferenceCache cache = new AccountReferenceCache(2, 300);
+
+        cache.find(1L, id -> Optional.of(account(id, 1, "Old name")));
+        cache.invalidate(1L);
+        assertThat(cache.find(1L, id -> Optional.of(account(id, 1, "New name"))).orElseThrow().getName()).isEqualTo("New name");
+
+        cache.find(2L, id -> Optional.of(account(id, 1, "B")));
+        cache.find(3L, id -> Optional.of(account(id, 1, "C")));
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
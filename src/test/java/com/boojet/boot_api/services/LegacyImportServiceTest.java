@@ -0,0 +1,121 @@
+package com.boojet.boot_api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.Timeout.ThreadMode;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.AccountType;
+import com.boojet.boot_api.domain.ImportStatus;
+import com.boojet.boot_api.domain.LegacyImport;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.repositories.AccountRepository;
+import com.boojet.boot_api.repositories.UserRepository;
+import com.boojet.boot_api.testutil.EmbeddedApp;
+import com.boojet.boot_api.testutil.TestDataUtil;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Runs real imports through the COPY protocol against an embedded Postgres.
+ */
+public class LegacyImportServiceTest {
+
+    private static final int BATCH_ROWS = 7;           //small, so a ledger spans several batches and id fetches
+
+    static EmbeddedPostgres pg;
+    static ConfigurableApplicationContext app;
+
+    static LegacyImportService imports;
+    static JdbcTemplate jdbc;
+    static Account account;
+
+    @BeforeAll
+    static void startApp() throws IOException {
+        pg = EmbeddedPostgres.builder().start();
+        app = EmbeddedApp.boot(pg, "boojet.import.batch-rows=" + BATCH_ROWS);
+
+        imports = app.getBean(LegacyImportService.class);
+        jdbc = app.getBean(JdbcTemplate.class);
+
+        Account a = TestDataUtil.createAccount("Imported", AccountType.CHEQUING, Money.of("0.00"));
+        a.setUser(app.getBean(UserRepository.class).findById(1L).orElseThrow());
+        account = app.getBean(AccountRepository.class).save(a);
+    }
+
+    @AfterAll
+    static void stopApp() throws IOException {
+        if(app != null)
+            app.close();
+        if(pg != null)
+            pg.close();
+    }
+
+
+    @Test
+    @Timeout(value = 60, threadMode = ThreadMode.SEPARATE_THREAD)      //a COPY stuck waiting on the connection never returns
+    @DisplayName("Test that a ledger spanning several batches is imported with unique ids")
+    void testImportLedger_CopiesEveryValidRecord(){
+
+        String ledger = ledger(20, 3);      //20 valid records, 3 without an amount
+
+        LegacyImport result = imports.importLedger("several-batches", account.getId(), stream(ledger));
+
+        assertThat(result.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(23);
+        assertThat(result.getRowsImported()).isEqualTo(20);
+        assertThat(result.getRowsSkipped()).isEqualTo(3);
+
+        Long rows = jdbc.queryForObject("SELECT count(*) FROM transactions WHERE account_id = ? AND description LIKE 'Legacy %'", Long.class, account.getId());
+        Long ids = jdbc.queryForObject("SELECT count(DISTINCT id) FROM transactions WHERE account_id = ? AND description LIKE 'Legacy %'", Long.class, account.getId());
+        assertThat(rows).isEqualTo(20);
+        assertThat(ids).isEqualTo(20);
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = ThreadMode.SEPARATE_THREAD)
+    @DisplayName("Test that importing a completed import again adds nothing")
+    void testImportLedger_CompletedImportIsNotRepeated(){
+
+        String ledger = ledger(5, 0).replace("Legacy ", "Repeat ");
+
+        imports.importLedger("repeat", account.getId(), stream(ledger));
+        LegacyImport again = imports.importLedger("repeat", account.getId(), stream(ledger));
+
+        Long rows = jdbc.queryForObject("SELECT count(*) FROM transactions WHERE account_id = ? AND description LIKE 'Repeat %'", Long.class, account.getId());
+        assertThat(again.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(rows).isEqualTo(5);
+    }
+
+
+    //-----helpers-----
+
+    //the CLI's transactions.json shape; skipped records have no amount
+    private static String ledger(int valid, int skipped){
+        StringBuilder json = new StringBuilder("[");
+        for(int i = 0; i < valid + skipped; i++){
+            if(i > 0)
+                json.append(',');
+            String amount = i < valid ? "{\"amount\":" + (10 + i) + ".50}" : "null";
+            json.append("{\"id\":null,\"description\":\"Legacy ").append(i).append("\",\"amount\":").append(amount)
+                .append(",\"date\":[2025,9,").append(1 + i % 28).append("],\"category\":\"FOOD\",\"isIncome\":false}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static InputStream stream(String json){
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
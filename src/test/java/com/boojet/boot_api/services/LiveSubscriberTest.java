@@ -0,0 +1,120 @@
+package com.boojet.boot_api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.boojet.boot_api.services.live.LiveSubscriber;
+
+// Pure unit tests, no Spring context: the emitter records what the subscriber's sender thread hands it
+public class LiveSubscriberTest {
+
+    //records every frame; the first send waits for "release", so a test can fill the queue behind it
+    static class RecordingEmitter extends SseEmitter {
+        final List<Object> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean failing;
+
+        RecordingEmitter(){
+            super(60_000L);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            entered.countDown();
+            try{
+                release.await();
+            } catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted", e);
+            }
+            if(failing)
+                throw new IOException("client went away");
+            for(DataWithMediaType item : items){
+                sent.add(item.getData());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A client whose queue overflows loses the backlog and gets a single resync instead")
+    void offer_overflowBecomesResync() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        LiveSubscriber subscriber = new LiveSubscriber(emitter, YearMonth.of(2025, 9), 2, s -> {});
+        subscriber.start("live-test");
+
+        subscriber.offer("first");
+        assertThat(emitter.entered.await(5, TimeUnit.SECONDS)).isTrue();     //"first" is in flight, the queue is empty again
+
+        subscriber.offer("second");
+        subscriber.offer("third");
+        subscriber.offer("fourth");          //queue of 2 is full: the backlog goes, a resync takes its place
+        subscriber.offer("fifth");
+        emitter.release.countDown();
+
+        awaitSent(emitter, 3);
+        assertThat(emitter.sent).containsExactly("first", LiveSubscriber.RESYNC, "fifth");
+        subscriber.close();
+    }
+
+    @Test
+    @DisplayName("Frames that fit in the queue all arrive, in order")
+    void offer_withinBufferKeepsOrder() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.release.countDown();
+        LiveSubscriber subscriber = new LiveSubscriber(emitter, null, 4, s -> {});
+        subscriber.start("live-test");
+
+        for(int i = 1; i <= 3; i++){
+            subscriber.offer("frame " + i);
+        }
+
+        awaitSent(emitter, 3);
+        assertThat(emitter.sent).containsExactly("frame 1", "frame 2", "frame 3");
+        subscriber.close();
+    }
+
+    @Test
+    @DisplayName("A failed send closes the subscriber once, later frames are dropped")
+    void send_failureClosesOnce() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        emitter.release.countDown();
+        AtomicInteger closes = new AtomicInteger();
+        CountDownLatch closed = new CountDownLatch(1);
+        LiveSubscriber subscriber = new LiveSubscriber(emitter, null, 4, s -> {
+            closes.incrementAndGet();
+            closed.countDown();
+        });
+        subscriber.start("live-test");
+
+        subscriber.offer("lost");
+        assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        subscriber.close();
+        subscriber.offer("after close");
+        assertThat(closes.get()).isEqualTo(1);
+        assertThat(emitter.sent).isEmpty();
+    }
+
+    //-----helpers-----
+
+    private static void awaitSent(RecordingEmitter emitter, int frames) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while(emitter.sent.size() < frames && System.nanoTime() < deadline){
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.boojet.boot_api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.exceptions.TooManyRequestsException;
+import com.boojet.boot_api.services.Impl.LiveUpdateServiceImpl;
+import com.boojet.boot_api.services.live.LedgerChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Unit tests with mocked services, no Spring context: the recomputations are counted on the mocks
+public class LiveUpdateServiceTest {
+
+    private static final long COALESCE_MS = 200;
+
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private final AccountService accountService = mock(AccountService.class);
+    private final IncomePlanService incomePlanService = mock(IncomePlanService.class);
+
+    private LiveUpdateServiceImpl live;
+
+    private LiveUpdateServiceImpl service(int maxSubscribers){
+        live = new LiveUpdateServiceImpl(transactionService, accountService, incomePlanService, new ObjectMapper(),
+                mock(PlatformTransactionManager.class), COALESCE_MS, 60_000, 3_600, 16, maxSubscribers);
+        return live;
+    }
+
+    @AfterEach
+    void shutdown(){
+        if(live != null)
+            live.shutdown();
+    }
+
+    @Test
+    @DisplayName("A burst of changes is recomputed once, and only for the months somebody watches")
+    void onLedgerChanged_coalescesAndFiltersMonths(){
+        LiveUpdateServiceImpl service = service(10);
+        service.subscribe(2025, 9);
+
+        for(int day = 1; day <= 25; day++){
+            service.onLedgerChanged(LedgerChangedEvent.transaction(1L, LocalDate.of(2025, 9, day)));
+            service.onLedgerChanged(LedgerChangedEvent.transaction(2L, LocalDate.of(2025, 10, day)));
+        }
+
+        verify(transactionService, timeout(5_000)).calculateTotalBalance();
+        verify(transactionService, timeout(5_000)).monthlySummaryByCategory(2025, 9);
+        verify(transactionService, after(2 * COALESCE_MS).times(1)).calculateTotalBalance();
+        verify(accountService, times(1)).balance(1L);
+        verify(accountService, times(1)).balance(2L);
+        verify(transactionService, times(1)).monthlySummaryByCategory(2025, 9);
+        verify(transactionService, never()).monthlySummaryByCategory(2025, 10);
+    }
+
+    @Test
+    @DisplayName("Without subscribers a change is dropped without computing anything")
+    void onLedgerChanged_noSubscribersComputesNothing(){
+        LiveUpdateServiceImpl service = service(10);
+
+        service.onLedgerChanged(LedgerChangedEvent.transaction(1L, LocalDate.of(2025, 9, 1)));
+
+        verify(transactionService, after(3 * COALESCE_MS).never()).calculateTotalBalance();
+        verify(accountService, never()).balance(anyLong());
+        verify(transactionService, never()).monthlySummaryByCategory(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("A failed recomputation does not stop the next change from being published")
+    void flush_failureDoesNotStopLaterFlushes(){
+        LiveUpdateServiceImpl service = service(10);
+        service.subscribe(null, null);
+        when(transactionService.calculateTotalBalance()).thenThrow(new IllegalStateException("database down"));
+
+        service.onLedgerChanged(LedgerChangedEvent.transaction(1L, LocalDate.of(2025, 9, 1)));
+        verify(transactionService, timeout(5_000)).calculateTotalBalance();
+
+        reset(transactionService);
+        when(transactionService.calculateTotalBalance()).thenReturn(Money.zero());
+        service.onLedgerChanged(LedgerChangedEvent.transaction(1L, LocalDate.of(2025, 9, 2)));
+        verify(transactionService, timeout(5_000)).calculateTotalBalance();
+    }
+
+    @Test
+    @DisplayName("Concurrent subscribes never open more streams than the cap, and closed streams free their slot")
+    void subscribe_capHoldsUnderConcurrency() throws Exception {
+        int max = 3;
+        int threads = 16;
+        LiveUpdateServiceImpl service = service(max);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try{
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for(int i = 0; i < threads; i++){
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try{
+                        service.subscribe(null, null);
+                        return true;
+                    } catch(TooManyRequestsException e){
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int opened = 0;
+            for(Future<Boolean> attempt : attempts){
+                if(attempt.get(10, TimeUnit.SECONDS))
+                    opened++;
+            }
+            assertThat(opened).isEqualTo(max);
+            assertThat(service.subscriberCount()).isEqualTo(max);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        service.shutdown();         //completes every stream
+        assertThat(service.subscriberCount()).isZero();
+        for(int i = 0; i < max; i++){
+            service.subscribe(null, null);
+        }
+        assertThat(service.subscriberCount()).isEqualTo(max);
+    }
+}
@@ -0,0 +1,90 @@
+package com.boojet.boot_api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.boojet.boot_api.repositories.projections.DescriptionUsageView;
+import com.boojet.boot_api.services.suggestions.SuggestionIndex;
+import com.boojet.boot_api.services.suggestions.SuggestionIndexCache;
+
+// Pure unit tests, no Spring context: the cache and index are plain objects
+public class SuggestionIndexCacheTest {
+
+    record Usage(String description, Long uses, LocalDate lastUsed) implements DescriptionUsageView {
+        public String getDescription(){ return description; }
+        public Long getUses(){ return uses; }
+        public LocalDate getLastUsed(){ return lastUsed; }
+    }
+
+    private static SuggestionIndex index(String... descriptions){
+        List<DescriptionUsageView> rows = new ArrayList<>();
+        for(int i = 0; i < descriptions.length; i++){
+            rows.add(new Usage(descriptions[i], (long) (descriptions.length - i), LocalDate.of(2025, 1, 1)));
+        }
+        return SuggestionIndex.of(rows);
+    }
+
+    @Test
+    @DisplayName("Prefix matches come first, then contains matches, both ranked by usage")
+    void suggest_prefixThenContains(){
+        SuggestionIndex idx = SuggestionIndex.of(List.of(
+            new Usage("Instacart", 9L, LocalDate.of(2025, 1, 1)),
+            new Usage("Staples", 2L, LocalDate.of(2025, 1, 1)),
+            new Usage("Starbucks", 5L, LocalDate.of(2025, 1, 1))
+        ));
+
+        assertThat(idx.suggest("STA", 10)).containsExactly("Starbucks", "Staples", "Instacart");
+        assertThat(idx.suggest("sta", 1)).containsExactly("Starbucks");
+    }
+
+    @Test
+    @DisplayName("Indexes are loaded once and served from memory afterwards")
+    void get_loadsLazilyOnce(){
+        SuggestionIndexCache cache = new SuggestionIndexCache(1_000_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> { loads.incrementAndGet(); return index("Rent"); });
+        cache.get(1L, id -> { loads.incrementAndGet(); return index("Rent"); });
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Least recently used users are evicted once the memory budget is exceeded")
+    void get_evictsLeastRecentlyUsedOverBudget(){
+        long oneIndex = index("Groceries").estimatedBytes();
+        SuggestionIndexCache cache = new SuggestionIndexCache(oneIndex * 2);
+
+        cache.get(1L, id -> index("Groceries"));
+        cache.get(2L, id -> index("Groceries"));
+        cache.get(1L, id -> index("Groceries"));       //touch user 1 so user 2 is the coldest
+        cache.get(3L, id -> index("Groceries"));
+
+        AtomicInteger reloads = new AtomicInteger();
+        cache.get(1L, id -> { reloads.incrementAndGet(); return index("Groceries"); });
+        cache.get(2L, id -> { reloads.incrementAndGet(); return index("Groceries"); });
+
+        assertThat(reloads.get()).isEqualTo(1);         //only user 2 had been evicted
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(cache.maxBytes());
+    }
+
+    @Test
+    @DisplayName("Invalidating a user forces the next lookup to rebuild the index")
+    void invalidate_dropsIndex(){
+        SuggestionIndexCache cache = new SuggestionIndexCache(1_000_000);
+        cache.get(1L, id -> index("Old"));
+
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L, id -> index("New")).suggest("ne", 5)).containsExactly("New");
+        assertThat(cache.usedBytes()).isEqualTo(index("New").estimatedBytes());
+    }
+}
@@ -0,0 +1,175 @@
+package com.boojet.boot_api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.boojet.boot_api.controllers.dto.BulkDeleteResult;
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.AccountType;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.User;
+import com.boojet.boot_api.repositories.AccountRepository;
+import com.boojet.boot_api.repositories.UserRepository;
+import com.boojet.boot_api.services.suggestions.SuggestionIndexCache;
+import com.boojet.boot_api.testutil.EmbeddedApp;
+import com.boojet.boot_api.testutil.TestDataUtil;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Runs the chunked bulk delete (one CTE {@code DELETE} per chunk, each committed on its own) against an embedded Postgres.
+ */
+public class TransactionBulkDeleteTest {
+
+    private static final int CHUNK_ROWS = 5;            //small, so a handful of rows spans several chunks
+
+    static EmbeddedPostgres pg;
+    static ConfigurableApplicationContext app;
+
+    static TransactionService transactions;
+    static SuggestionIndexCache suggestionIndexes;
+    static JdbcTemplate jdbc;
+    static User owner;
+
+    @BeforeAll
+    static void startApp() throws IOException {
+        pg = EmbeddedPostgres.builder().start();
+        app = EmbeddedApp.boot(pg, "boojet.delete.chunk-rows=" + CHUNK_ROWS);
+
+        transactions = app.getBean(TransactionService.class);
+        suggestionIndexes = app.getBean(SuggestionIndexCache.class);
+        jdbc = app.getBean(JdbcTemplate.class);
+        owner = app.getBean(UserRepository.class).findById(1L).orElseThrow();
+    }
+
+    @AfterAll
+    static void stopApp() throws IOException {
+        if(app != null)
+            app.close();
+        if(pg != null)
+            pg.close();
+    }
+
+
+    @Test
+    @DisplayName("Test that a delete of exactly N chunks takes N chunks, and one row more takes another")
+    void testDeleteMatching_ChunkBoundary(){
+
+        Account exact = account("Exact chunks", owner);
+        Account oneMore = account("One row more", owner);
+        addRows(exact, 2 * CHUNK_ROWS, "Exact", Category.FOOD, LocalDate.of(2025, 9, 1));
+        addRows(oneMore, 2 * CHUNK_ROWS + 1, "More", Category.FOOD, LocalDate.of(2025, 9, 1));
+
+        assertThat(transactions.deleteMatching(exact.getId(), null, null, null)).isEqualTo(new BulkDeleteResult(2 * CHUNK_ROWS, 2));
+        assertThat(transactions.deleteMatching(oneMore.getId(), null, null, null)).isEqualTo(new BulkDeleteResult(2 * CHUNK_ROWS + 1, 3));
+        assertThat(transactions.deleteMatching(oneMore.getId(), null, null, null)).isEqualTo(new BulkDeleteResult(0, 0));
+
+        assertThat(rowsOf(exact)).isZero();
+        assertThat(rowsOf(oneMore)).isZero();
+    }
+
+    @Test
+    @DisplayName("Test that only rows matching every filter are deleted, the date range being inclusive")
+    void testDeleteMatching_OnlyMatchingRows(){
+
+        Account a = account("Filtered", owner);
+        addRows(a, 3, "Early", Category.FOOD, LocalDate.of(2025, 8, 31));
+        addRows(a, 7, "Inside", Category.FOOD, LocalDate.of(2025, 9, 1));
+        addRows(a, 2, "Inside", Category.RENT, LocalDate.of(2025, 9, 30));
+        addRows(a, 4, "Late", Category.FOOD, LocalDate.of(2025, 10, 1));
+
+        BulkDeleteResult result = transactions.deleteMatching(a.getId(), Category.FOOD, LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30));
+
+        assertThat(result).isEqualTo(new BulkDeleteResult(7, 2));
+        assertThat(rowsOf(a)).isEqualTo(3 + 2 + 4);
+    }
+
+    @Test
+    @DisplayName("Test that every chunk commits on its own: a failing chunk keeps the chunks before it deleted")
+    void testDeleteMatching_EarlierChunksStayCommitted(){
+
+        Account a = account("Poisoned", owner);
+        addRows(a, CHUNK_ROWS + 2, "Deletable", Category.OTHER, LocalDate.of(2025, 9, 1));
+        addRows(a, 1, "poison", Category.OTHER, LocalDate.of(2025, 9, 1));      //in the second chunk (lowest ids go first)
+        addRows(a, 4, "Deletable", Category.OTHER, LocalDate.of(2025, 9, 1));
+
+        jdbc.execute("""
+                CREATE FUNCTION refuse_poison() RETURNS trigger AS $$
+                BEGIN
+                    IF OLD.description = 'poison' THEN
+                        RAISE EXCEPTION 'poison row';
+                    END IF;
+                    RETURN OLD;
+                END $$ LANGUAGE plpgsql
+                """);
+        jdbc.execute("CREATE TRIGGER refuse_poison BEFORE DELETE ON transactions FOR EACH ROW EXECUTE FUNCTION refuse_poison()");
+        try{
+            assertThatThrownBy(() -> transactions.deleteMatching(a.getId(), null, null, null))
+                    .isInstanceOf(DataAccessException.class);
+        } finally {
+            jdbc.execute("DROP TRIGGER refuse_poison ON transactions");
+            jdbc.execute("DROP FUNCTION refuse_poison()");
+        }
+
+        //the first chunk is gone for good, the failing one rolled back on its own, the last was never reached
+        assertThat(rowsOf(a)).isEqualTo(2 + 1 + 4);
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM transactions WHERE account_id = ? AND description = 'poison'",
+                Long.class, a.getId())).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Test that the suggestions of every owner with deleted rows are invalidated, and only once the rows are gone")
+    void testDeleteMatching_InvalidatesEveryOwner(){
+
+        //user 1 is seeded with an explicit id, so the id sequence would hand out 1 again
+        Long otherId = jdbc.queryForObject("INSERT INTO users (id, username) SELECT max(id) + 1, 'bulk-delete-other' FROM users RETURNING id", Long.class);
+        User other = app.getBean(UserRepository.class).findById(otherId).orElseThrow();
+
+        Account mine = account("Owner one", owner);
+        Account theirs = account("Owner two", other);
+        LocalDate day = LocalDate.of(2031, 1, 15);          //a date no other test uses, the filter has no account
+        addRows(mine, CHUNK_ROWS, "Ski trip", Category.ENTERTAINMENT, day);
+        addRows(theirs, CHUNK_ROWS, "Ski pass", Category.ENTERTAINMENT, day);
+
+        assertThat(transactions.suggest(owner.getId(), "Ski", 5)).isNotEmpty();
+        assertThat(transactions.suggest(other.getId(), "Ski", 5)).isNotEmpty();
+        assertThat(suggestionIndexes.size()).isEqualTo(2);
+
+        BulkDeleteResult result = transactions.deleteMatching(null, Category.ENTERTAINMENT, day, day);
+
+        assertThat(result.deleted()).isEqualTo(2 * CHUNK_ROWS);
+        assertThat(suggestionIndexes.size()).isZero();
+        assertThat(transactions.suggest(owner.getId(), "Ski", 5)).isEmpty();
+        assertThat(transactions.suggest(other.getId(), "Ski", 5)).isEmpty();
+    }
+
+    //-----helpers-----
+
+    private static Account account(String name, User user){
+        Account a = TestDataUtil.createAccount(name, AccountType.CHEQUING, Money.of("0.00"));
+        a.setUser(user);
+        return app.getBean(AccountRepository.class).save(a);
+    }
+
+    private static void addRows(Account account, int rows, String description, Category category, LocalDate date){
+        for(int i = 0; i < rows; i++){
+            transactions.addTransaction(TestDataUtil.createTransaction(description, Money.of("10.00"), date, category, false, account));
+        }
+    }
+
+    private static long rowsOf(Account account){
+        return jdbc.queryForObject("SELECT count(*) FROM transactions WHERE account_id = ?", Long.class, account.getId());
+    }
+}
@@ -0,0 +1,201 @@
+package com.boojet.boot_api.services;
+
+import static com.boojet.boot_api.testutil.TestDataUtil.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.AccountType;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+import com.boojet.boot_api.repositories.AccountRepository;
+import com.boojet.boot_api.repositories.TransactionRepository;
+import com.boojet.boot_api.repositories.UserRepository;
+import com.boojet.boot_api.services.partitions.TransactionPartitions;
+import com.boojet.boot_api.testutil.EmbeddedApp;
+import com.boojet.boot_api.testutil.TestDataUtil;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Converts the Hibernate-created {@code transactions} table against an embedded Postgres and checks
+ * rows, indexes, pruning and later writes.
+ */
+public class TransactionPartitionsTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+    static EmbeddedPostgres pg;
+    static ConfigurableApplicationContext app;
+
+    static JdbcTemplate jdbc;
+    static TransactionRepository transactions;
+    static TransactionPartitions partitions;
+    static Account account;
+
+    @BeforeAll
+    static void convert() throws IOException, SQLException {
+        pg = EmbeddedPostgres.builder().start();
+        app = EmbeddedApp.boot(pg);             //partitioning stays off here, the test runs maintain() itself
+
+        jdbc = app.getBean(JdbcTemplate.class);
+        transactions = app.getBean(TransactionRepository.class);
+        jdbc.execute("CREATE INDEX idx_tx_account_date_desc ON transactions (account_id, date DESC)");
+
+        Account a = TestDataUtil.createAccount("Partitioned", AccountType.CHEQUING, Money.of("0.00"));
+        a.setUser(app.getBean(UserRepository.class).findById(1L).orElseThrow());
+        account = app.getBean(AccountRepository.class).save(a);
+
+        save("January rent", JANUARY.atDay(1));
+        save("January food", JANUARY.atEndOfMonth());
+        save("February food", FEBRUARY.atDay(14));
+        save("This month", LocalDate.now());
+
+        partitions = new TransactionPartitions(app.getBean(DataSource.class), true, 3, 12, 0, 6, 5000);
+        partitions.maintain();
+    }
+
+    @AfterAll
+    static void stopApp() throws IOException {
+        if(app != null)
+            app.close();
+        if(pg != null)
+            pg.close();
+    }
+
+
+    @Test
+    @DisplayName("Test that the table is partitioned with past months split out and upcoming months created")
+    void testMaintain_PartitionsByMonth() throws SQLException {
+        YearMonth now = YearMonth.now();
+
+        assertThat(jdbc.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = 'transactions'::regclass", String.class)).isEqualTo("p");
+        assertThat(partitions.months()).contains(JANUARY, FEBRUARY, now, now.plusMonths(1), now.plusMonths(2), now.plusMonths(3));
+
+        assertThat(count("transactions")).isEqualTo(4);
+        assertThat(count("transactions_p2024_01")).isEqualTo(2);
+        assertThat(count("transactions_default")).isZero();
+    }
+
+    @Test
+    @DisplayName("Test that the primary key, foreign key and indexes carry over to the partitioned table")
+    void testMaintain_KeepsKeysAndIndexes(){
+        List<String> constraints = jdbc.queryForList(
+                "SELECT pg_get_constraintdef(oid) FROM pg_constraint WHERE conrelid = 'transactions'::regclass", String.class);
+        List<String> indexes = jdbc.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'transactions'", String.class);
+
+        assertThat(constraints).contains("PRIMARY KEY (id, date)");
+        assertThat(constraints).anyMatch(c -> c.startsWith("FOREIGN KEY (account_id) REFERENCES accounts(id)"));
+        assertThat(indexes).contains("transactions_pkey", "idx_tx_account_date_desc");
+    }
+
+    @Test
+    @DisplayName("Test that a query bounded to one month only scans that month's partition")
+    void testMaintain_PrunesToOneMonth(){
+        String plan = String.join("\n", jdbc.queryForList(
+                "EXPLAIN SELECT sum(amount) FROM transactions WHERE date >= '2024-01-01' AND date <= '2024-01-31'", String.class));
+
+        assertThat(plan).contains("transactions_p2024_01").doesNotContain("transactions_p2024_02").doesNotContain("transactions_default");
+    }
+
+    @Test
+    @DisplayName("Test that writes through Hibernate keep working and another run changes nothing")
+    void testMaintain_WritesAfterConversion() throws SQLException {
+        Transaction moved = save("Next month", LocalDate.now().plusMonths(1));
+        moved.setDate(FEBRUARY.atDay(2));
+        transactions.save(moved);                      //moves the row to another partition
+
+        partitions.maintain();
+
+        assertThat(transactions.findById(moved.getId())).get().extracting(Transaction::getDate).isEqualTo(FEBRUARY.atDay(2));
+        assertThat(count("transactions_p2024_02")).isEqualTo(2);
+        assertThat(count("transactions_default")).isZero();
+
+        transactions.delete(transactions.findById(moved.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Test that ids stay unique through the sequence only: the (id, date) key accepts an id reused in another month")
+    void testMaintain_IdUniquenessRestsOnTheSequence(){
+        Transaction first = save("Sequence one", JANUARY.atDay(10));
+        Transaction second = save("Sequence two", FEBRUARY.atDay(10));
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(jdbc.queryForObject("SELECT count(*) - count(DISTINCT id) FROM transactions", Long.class)).isZero();
+
+        //what a writer bypassing transaction_id_seq could do, and what the database no longer stops
+        jdbc.update("""
+                INSERT INTO transactions (id, account_id, amount, date, description, category, is_income, version)
+                SELECT id, account_id, amount, ?, description, category, is_income, version FROM transactions WHERE id = ?
+                """, FEBRUARY.atDay(20), first.getId());
+        try{
+            assertThat(jdbc.queryForObject("SELECT count(*) FROM transactions WHERE id = ?", Long.class, first.getId())).isEqualTo(2);
+        } finally {
+            jdbc.update("DELETE FROM transactions WHERE id IN (?, ?)", first.getId(), second.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that a month is not moved while a write to the default partition is in flight, and nothing is lost")
+    void testMaintain_MoveWaitsForWritesToDefault() throws SQLException {
+        YearMonth may = YearMonth.of(2023, 5);          //older than every partition, so its rows land in the default one
+        save("May committed", may.atDay(3));
+        TransactionPartitions impatient = new TransactionPartitions(app.getBean(DataSource.class), true, 3, 12, 0, 6, 500);
+
+        try(Connection writer = app.getBean(DataSource.class).getConnection()){
+            writer.setAutoCommit(false);
+            try(PreparedStatement ps = writer.prepareStatement("""
+                    INSERT INTO transactions (id, account_id, amount, date, description, category, is_income, version)
+                    VALUES (nextval('transaction_id_seq'), ?, 10.00, ?, 'May in flight', 0, false, 0)
+                    """)){
+                ps.setLong(1, account.getId());
+                ps.setObject(2, may.atDay(4));
+                ps.executeUpdate();
+            }
+
+            //the move needs the default partition to itself; it gives up after the lock timeout instead of racing the writer
+            assertThatThrownBy(impatient::maintain).isInstanceOf(SQLException.class);
+            assertThat(partitions.months()).doesNotContain(may);
+
+            writer.commit();
+        }
+
+        impatient.maintain();
+        assertThat(partitions.months()).contains(may);
+        assertThat(count("transactions_p2023_05")).isEqualTo(2);
+        assertThat(count("transactions_default")).isZero();
+
+        jdbc.update("DELETE FROM transactions WHERE date >= ? AND date <= ?", may.atDay(1), may.atEndOfMonth());
+    }
+
+
+    //-----helpers-----
+
+    private static Transaction save(String description, LocalDate date){
+        return transactions.save(createTransaction(description, Money.of("10.00"), date, Category.FOOD, false, account));
+    }
+
+    private static long count(String table){
+        return jdbc.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
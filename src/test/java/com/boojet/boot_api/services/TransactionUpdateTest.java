@@ -0,0 +1,128 @@
+package com.boojet.boot_api.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.AccountType;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.Transaction;
+import com.boojet.boot_api.exceptions.AccountNotFoundException;
+import com.boojet.boot_api.exceptions.PreconditionFailedException;
+import com.boojet.boot_api.exceptions.TransactionNotFoundException;
+import com.boojet.boot_api.repositories.AccountRepository;
+import com.boojet.boot_api.repositories.UserRepository;
+import com.boojet.boot_api.testutil.EmbeddedApp;
+import com.boojet.boot_api.testutil.TestDataUtil;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Runs the conditional partial update (one native {@code UPDATE ... RETURNING}) against an embedded Postgres.
+ */
+public class TransactionUpdateTest {
+
+    static EmbeddedPostgres pg;
+    static ConfigurableApplicationContext app;
+
+    static TransactionService transactions;
+    static Account account;
+
+    @BeforeAll
+    static void startApp() throws IOException {
+        pg = EmbeddedPostgres.builder().start();
+        app = EmbeddedApp.boot(pg);
+
+        transactions = app.getBean(TransactionService.class);
+
+        Account a = TestDataUtil.createAccount("Updated", AccountType.CHEQUING, Money.of("0.00"));
+        a.setUser(app.getBean(UserRepository.class).findById(1L).orElseThrow());
+        account = app.getBean(AccountRepository.class).save(a);
+    }
+
+    @AfterAll
+    static void stopApp() throws IOException {
+        if(app != null)
+            app.close();
+        if(pg != null)
+            pg.close();
+    }
+
+
+    @Test
+    @DisplayName("Test that a partial update only changes the given fields and bumps the version")
+    void testUpdateTransaction_KeepsFieldsNotGiven(){
+
+        Transaction created = transactions.addTransaction(TestDataUtil.createTransaction(
+                "Groceries", Money.of("84.15"), LocalDate.of(2025, 9, 2), Category.FOOD, false, account));
+
+        Transaction patch = Transaction.builder().description("Farmers market").build();
+        Transaction updated = transactions.updateTransaction(created.getId(), patch, created.getVersion());
+
+        assertThat(updated.getDescription()).isEqualTo("Farmers market");
+        assertThat(updated.getAmount()).isEqualTo(Money.of("84.15"));
+        assertThat(updated.getDate()).isEqualTo(LocalDate.of(2025, 9, 2));
+        assertThat(updated.getCategory()).isEqualTo(Category.FOOD);
+        assertThat(updated.getAccount().getId()).isEqualTo(account.getId());
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+
+        Transaction stored = transactions.findTransaction(created.getId());
+        assertThat(stored.getDescription()).isEqualTo("Farmers market");
+        assertThat(stored.getVersion()).isEqualTo(updated.getVersion());
+    }
+
+    @Test
+    @DisplayName("Test that a stale version is a failed precondition and leaves the row unchanged")
+    void testUpdateTransaction_StaleVersionIsPreconditionFailed(){
+
+        Transaction created = transactions.addTransaction(TestDataUtil.createTransaction(
+                "Rent", Money.of("1200.00"), LocalDate.of(2025, 9, 1), Category.RENT, false, account));
+        Long stale = created.getVersion();
+        transactions.updateTransaction(created.getId(), Transaction.builder().description("Rent September").build(), stale);
+
+        assertThatThrownBy(() -> transactions.updateTransaction(created.getId(),
+                Transaction.builder().description("Lost update").build(), stale))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        assertThat(transactions.findTransaction(created.getId()).getDescription()).isEqualTo("Rent September");
+    }
+
+    @Test
+    @DisplayName("Test that updating an unknown id is not found, with or without an expected version")
+    void testUpdateTransaction_UnknownIdIsNotFound(){
+
+        Transaction patch = Transaction.builder().description("Nothing").build();
+
+        assertThatThrownBy(() -> transactions.updateTransaction(999_999L, patch, 0L))
+                .isInstanceOf(TransactionNotFoundException.class);
+        assertThatThrownBy(() -> transactions.updateTransaction(999_999L, patch))
+                .isInstanceOf(TransactionNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Test that moving a transaction to an unknown account is reported as that account not found")
+    void testUpdateTransaction_UnknownAccountIsAccountNotFound(){
+
+        Transaction created = transactions.addTransaction(TestDataUtil.createTransaction(
+                "Coffee", Money.of("4.50"), LocalDate.of(2025, 9, 3), Category.FOOD, false, account));
+
+        Transaction patch = Transaction.builder().account(Account.builder().id(999_999L).build()).build();
+
+        assertThatThrownBy(() -> transactions.updateTransaction(created.getId(), patch, created.getVersion()))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        Transaction stored = transactions.findTransaction(created.getId());
+        assertThat(stored.getAccount().getId()).isEqualTo(account.getId());
+        assertThat(stored.getVersion()).isEqualTo(created.getVersion());
+    }
+}
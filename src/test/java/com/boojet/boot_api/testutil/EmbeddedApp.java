@@ -0,0 +1,48 @@
+package com.boojet.boot_api.testutil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.boojet.boot_api.BootApiApplication;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Boots {@link BootApiApplication} on a random port against a throwaway Postgres (zonky embedded-postgres).
+ * <p>
+ * {@code src/test/resources/application.properties} shadows the main one on the test classpath, so the settings
+ * the application depends on (schema creation first of all) are passed here explicitly.
+ */
+public final class EmbeddedApp {
+
+    private EmbeddedApp(){
+        //private constructor to prevent instantiation
+    }
+
+    /**
+     * @param pg the database to run against
+     * @param properties extra {@code key=value} properties, applied after the defaults below
+     */
+    public static ConfigurableApplicationContext boot(EmbeddedPostgres pg, String... properties){
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=" + pg.getJdbcUrl("postgres", "postgres"),
+                "spring.datasource.username=postgres",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=update",
+                "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "boojet.slow-query.enabled=false",
+                "boojet.transactions.partitioning.enabled=false"
+        ));
+        all.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(BootApiApplication.class)
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+}
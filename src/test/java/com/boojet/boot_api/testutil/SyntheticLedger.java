@@ -0,0 +1,466 @@
+package com.boojet.boot_api.testutil;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.AccountType;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.IncomePlan;
+import com.boojet.boot_api.domain.Money;
+import com.boojet.boot_api.domain.PayType;
+import com.boojet.boot_api.domain.Transaction;
+import com.boojet.boot_api.domain.User;
+
+/**
+ * Deterministic, high-volume synthetic ledger for load tests and capacity planning.
+ * <p>
+ * Where {@link TestDataUtil} hand-writes a few fixtures, this generates as many users, accounts, income plans and
+ * transactions as asked for, all derived from one seed: the same {@link Spec} always gives the same rows.
+ * The data is shaped like a real ledger so the indexes, the suggestion ranking and the reports see realistic input:
+ * <ul>
+ *   <li><b>Merchants:</b> a catalogue of well-known names plus a long tail of local ones, picked with a Zipf
+ *   distribution, so a few descriptions dominate and most are rare. Amounts are log-normal around a per-merchant median.</li>
+ *   <li><b>Seasonality:</b> spending rises in summer and sharply in November/December, dips in January, and is
+ *   higher on Fridays and weekends. Electricity bills follow the heating season.</li>
+ *   <li><b>Paychecks:</b> each user has one {@link IncomePlan}; its paychecks land in the user's main account on the
+ *   plan's own schedule (weekly, every two weeks, month end, twice a month for salaries), so actual income
+ *   matches {@link IncomePlan#calculateMonthlyAmount} over time.</li>
+ *   <li><b>Recurring bills:</b> rent on the 1st, utilities and subscriptions on a fixed day per user; savings
+ *   accounts get a monthly transfer and interest.</li>
+ * </ul>
+ * Transactions are streamed account by account in date order and never held in memory all at once, so millions
+ * of rows cost no more heap than a thousand. Each account has its own random stream, so the rows of one account do not
+ * depend on how many accounts come before it. {@link SyntheticLedgerLoader} writes a ledger into Postgres.
+ *
+ * <pre>
+ * SyntheticLedger ledger = new SyntheticLedger(SyntheticLedger.Spec.sized(1_000, 5_000_000, 42));
+ * for(SyntheticLedger.Household h : ledger.households())
+ *     for(Account a : h.accounts())
+ *         ledger.transactions(h, a, tx -&gt; ...);
+ * </pre>
+ */
+public final class SyntheticLedger {
+
+    /**
+     * What to generate.
+     *
+     * @param seed seed for every random choice
+     * @param users number of users (one household each)
+     * @param accountsPerUser accounts per user, 1 to 4 (chequing, credit card, savings, cash)
+     * @param transactionsPerAccount expected transactions per account over the whole range (the actual count varies a little)
+     * @param from first day with transactions
+     * @param to last day with transactions
+     */
+    public record Spec(long seed, int users, int accountsPerUser, int transactionsPerAccount, LocalDate from, LocalDate to){
+
+        //fixed, so the data does not move with the calendar
+        public static final LocalDate DEFAULT_FROM = LocalDate.of(2023, 1, 1);
+        public static final LocalDate DEFAULT_TO = LocalDate.of(2025, 12, 31);
+
+        public Spec {
+            if(users < 1)
+                throw new IllegalArgumentException("users must be positive");
+            if(accountsPerUser < 1 || accountsPerUser > ACCOUNT_TYPES.length)
+                throw new IllegalArgumentException("accountsPerUser must be between 1 and " + ACCOUNT_TYPES.length);
+            if(transactionsPerAccount < 0)
+                throw new IllegalArgumentException("transactionsPerAccount must not be negative");
+            if(to.isBefore(from))
+                throw new IllegalArgumentException("to must not be before from");
+        }
+
+        /**
+         * About {@code accounts} accounts (two per user) holding about {@code transactions} transactions in total,
+         * from {@link #DEFAULT_FROM} to {@link #DEFAULT_TO}.
+         */
+        public static Spec sized(int accounts, long transactions, long seed){
+            int perUser = Math.max(1, Math.min(2, accounts));
+            int users = Math.max(1, (accounts + perUser - 1) / perUser);
+            int perAccount = (int) Math.min(Integer.MAX_VALUE, transactions / ((long) users * perUser));
+            return new Spec(seed, users, perUser, perAccount, DEFAULT_FROM, DEFAULT_TO);
+        }
+    }
+
+    /**
+     * One user with their accounts (main account first) and income plan. Ids are {@code null} until loaded.
+     */
+    public record Household(int index, User user, List<Account> accounts, IncomePlan plan, Money rent, int billDay){}
+
+    //-----catalogue-----
+
+    private record Merchant(String name, Category category, double medianCents, double sigma){}
+
+    private static final AccountType[] ACCOUNT_TYPES = { AccountType.CHEQUING, AccountType.CREDIT_CARD, AccountType.SAVINGS, AccountType.CASH };
+
+    //well-known names first, in rough order of popularity (rank drives the Zipf weight)
+    private static final Merchant[] BRANDS = {
+        new Merchant("Starbucks",       Category.FOOD,            650, 0.35),
+        new Merchant("Tim Hortons",     Category.FOOD,            480, 0.35),
+        new Merchant("Loblaws",         Category.FOOD,           8500, 0.60),
+        new Merchant("Presto",          Category.TRANSPORT,       330, 0.20),
+        new Merchant("Amazon",          Category.OTHER,          4200, 0.90),
+        new Merchant("Uber",            Category.TRANSPORT,      2200, 0.50),
+        new Merchant("Instacart",       Category.FOOD,           9500, 0.50),
+        new Merchant("Shoppers Drug Mart", Category.HEALTH,      2400, 0.70),
+        new Merchant("Metro",           Category.FOOD,           6500, 0.60),
+        new Merchant("Uber Eats",       Category.FOOD,           3400, 0.40),
+        new Merchant("Petro-Canada",    Category.TRANSPORT,      6000, 0.30),
+        new Merchant("Costco",          Category.FOOD,          18000, 0.50),
+        new Merchant("McDonald's",      Category.FOOD,           1300, 0.35),
+        new Merchant("Dollarama",       Category.OTHER,          1200, 0.50),
+        new Merchant("Canadian Tire",   Category.OTHER,          5500, 0.80),
+        new Merchant("Pizza Pizza",     Category.FOOD,           2600, 0.40),
+        new Merchant("Cineplex",        Category.ENTERTAINMENT,  3200, 0.40),
+        new Merchant("LCBO",            Category.FOOD,           3800, 0.50),
+        new Merchant("Rexall",          Category.HEALTH,         2000, 0.60),
+        new Merchant("Indigo",          Category.ENTERTAINMENT,  3000, 0.50),
+        new Merchant("Best Buy",        Category.OTHER,         12000, 0.90),
+        new Merchant("Staples",         Category.OTHER,          3500, 0.70),
+        new Merchant("Ticketmaster",    Category.ENTERTAINMENT, 11000, 0.50),
+        new Merchant("GoodLife Fitness", Category.HEALTH,        4500, 0.10),
+    };
+
+    //long tail: every prefix with every noun, each noun implying a category
+    private static final String[] TAIL_PREFIXES = {
+        "Maple", "Harbour", "Golden", "Urban", "Northern", "Little", "Blue Door", "Corner", "Queen St", "Parkside",
+        "Lakeview", "Cedar", "Old Mill", "Riverside", "Kensington", "Union", "Bayview", "Junction", "Annex", "Danforth"
+    };
+    private static final Object[][] TAIL_NOUNS = {
+        { "Bistro", Category.FOOD, 4200 },          { "Cafe", Category.FOOD, 900 },
+        { "Bakery", Category.FOOD, 1100 },          { "Market", Category.FOOD, 3500 },
+        { "Grill", Category.FOOD, 3800 },           { "Books", Category.ENTERTAINMENT, 2800 },
+        { "Cinema", Category.ENTERTAINMENT, 2400 }, { "Pharmacy", Category.HEALTH, 1800 },
+        { "Dental", Category.HEALTH, 16000 },       { "Cycles", Category.TRANSPORT, 5000 },
+        { "Parking", Category.TRANSPORT, 1200 },    { "Hardware", Category.OTHER, 3000 },
+        { "Florist", Category.OTHER, 4500 },        { "Barbers", Category.OTHER, 3500 },
+    };
+
+    private static final String[] SUBSCRIPTIONS = { "Netflix", "Spotify", "Disney+", "Crave", "iCloud" };
+    private static final int[] SUBSCRIPTION_CENTS = { 1699, 1199, 1199, 2299, 399 };
+
+    //Jan..Dec multipliers on everyday spending, and on the electricity bill
+    private static final double[] SEASON = { 0.85, 0.90, 0.95, 1.00, 1.02, 1.05, 1.08, 1.06, 0.97, 1.00, 1.12, 1.35 };
+    private static final double[] HEATING = { 1.60, 1.50, 1.25, 1.00, 0.85, 0.90, 1.05, 1.05, 0.85, 0.95, 1.20, 1.50 };
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    private final Spec spec;
+    private final Merchant[] merchants;
+    private final double[] cumulativeWeight;          //Zipf over merchants, normalised to end at 1
+    private final double[] dayWeight;                 //season x weekday for every day in the range
+    private final double dayWeightSum;
+    private final List<Household> households;
+
+    public SyntheticLedger(Spec spec){
+        this.spec = spec;
+        this.merchants = catalogue();
+        this.cumulativeWeight = zipf(merchants.length);
+
+        int days = (int) ChronoUnit.DAYS.between(spec.from(), spec.to()) + 1;
+        this.dayWeight = new double[days];
+        double sum = 0;
+        for(int d = 0; d < days; d++){
+            LocalDate date = spec.from().plusDays(d);
+            dayWeight[d] = SEASON[date.getMonthValue() - 1] * weekday(date.getDayOfWeek());
+            sum += dayWeight[d];
+        }
+        this.dayWeightSum = sum;
+
+        List<Household> out = new ArrayList<>(spec.users());
+        for(int u = 0; u < spec.users(); u++){
+            out.add(household(u));
+        }
+        this.households = List.copyOf(out);
+    }
+
+    public Spec spec(){
+        return spec;
+    }
+
+    /** @return every household, in a stable order */
+    public List<Household> households(){
+        return households;
+    }
+
+    /** @return distinct merchant descriptions, most frequent first (what a user would type a prefix of) */
+    public List<String> merchantNames(){
+        return Arrays.stream(merchants).map(Merchant::name).toList();
+    }
+
+    /**
+     * Generates the transactions of one account, in date order, into {@code sink}.
+     * <p>
+     * Transactions reference {@code account}; load it first if the rows are going to a database.
+     * The same household and account always produce the same rows.
+     *
+     * @param household owner of the account
+     * @param account one of {@code household.accounts()}
+     * @param sink receives each transaction
+     * @return number of transactions generated
+     */
+    public long transactions(Household household, Account account, Consumer<Transaction> sink){
+        int slot = household.accounts().indexOf(account);
+        if(slot < 0)
+            throw new IllegalArgumentException("Account does not belong to household " + household.index());
+
+        Random rnd = random(1, household.index() * 8L + slot);
+        AccountType type = account.getType();
+        long count = 0;
+
+        //recurring rows first so the everyday spending can fill up to the requested volume
+        long recurring = 0;
+        int days = dayWeight.length;
+        double everydayTarget = Math.max(0, spec.transactionsPerAccount() - expectedRecurring(household, type));
+        double perWeight = everydayTarget / dayWeightSum;
+
+        for(int d = 0; d < days; d++){
+            LocalDate date = spec.from().plusDays(d);
+
+            if(type == AccountType.CHEQUING){
+                recurring += paychecks(household, account, date, sink);
+                recurring += bills(household, account, date, rnd, sink);
+            } else if(type == AccountType.SAVINGS){
+                recurring += savings(household, account, date, rnd, sink);
+                continue;                           //no card spending out of savings
+            }
+
+            int n = poisson(rnd, perWeight * dayWeight[d]);
+            for(int i = 0; i < n; i++){
+                Merchant m = merchants[pick(rnd)];
+                sink.accept(row(m.name(), cents(rnd, m.medianCents() * seasonal(m.category(), date), m.sigma()), date, m.category(), false, account));
+            }
+            count += n;
+        }
+
+        return count + recurring;
+    }
+
+    //-----households-----
+
+    private Household household(int u){
+        Random rnd = random(0, u);
+
+        User user = new User();
+        user.setUsername(String.format("user%06d", u + 1));
+
+        List<Account> accounts = new ArrayList<>(spec.accountsPerUser());
+        for(int a = 0; a < spec.accountsPerUser(); a++){
+            AccountType type = ACCOUNT_TYPES[a];
+            accounts.add(Account.builder()
+                    .user(user)
+                    .name(accountName(type))
+                    .type(type)
+                    .openingBalance(type == AccountType.CREDIT_CARD ? Money.zero() : Money.of(BigDecimal.valueOf(50_000 + rnd.nextInt(1_000_000), 2)))
+                    .createdAt(spec.from())
+                    .build());
+        }
+
+        PayType payType = PayType.values()[rnd.nextInt(PayType.values().length)];
+        IncomePlan plan = IncomePlan.builder()
+                .user(user)
+                .sourceName(payType == PayType.HOURLY ? "Part-time wages" : "Salary")
+                .payType(payType)
+                .amount(Money.of(BigDecimal.valueOf(planAmountCents(payType, rnd), 2)))
+                .hoursPerWeek(payType == PayType.HOURLY ? BigDecimal.valueOf(20 + rnd.nextInt(21)) : null)
+                .effectiveFrom(spec.from())
+                .effectiveTo(null)
+                .build();
+
+        //about a third own their home and pay no rent
+        Money rent = rnd.nextInt(3) == 0 ? null : Money.of(BigDecimal.valueOf(120_000 + 5_000L * rnd.nextInt(33), 2));
+        return new Household(u, user, List.copyOf(accounts), plan, rent, 2 + rnd.nextInt(26));
+    }
+
+    private static String accountName(AccountType type){
+        return switch(type){
+            case CHEQUING -> "Everyday Chequing";
+            case CREDIT_CARD -> "Rewards Visa";
+            case SAVINGS -> "High Interest Savings";
+            default -> "Wallet";
+        };
+    }
+
+    private static long planAmountCents(PayType payType, Random rnd){
+        return switch(payType){
+            case HOURLY -> 1_800 + rnd.nextInt(2_700);                  //per hour
+            case WEEKLY -> 70_000 + rnd.nextInt(80_000);
+            case BIWEEKLY -> 150_000 + rnd.nextInt(200_000);
+            case MONTHLY -> 300_000 + rnd.nextInt(400_000);
+            case ANNUAL -> 100L * (45_000 + rnd.nextInt(95_000));
+        };
+    }
+
+    //-----recurring rows-----
+
+    //paychecks on the plan's schedule; summed over a month they average IncomePlan.calculateMonthlyAmount
+    private long paychecks(Household h, Account account, LocalDate date, Consumer<Transaction> sink){
+        IncomePlan plan = h.plan();
+        if(date.isBefore(plan.getEffectiveFrom()) || (plan.getEffectiveTo() != null && date.isAfter(plan.getEffectiveTo())))
+            return 0;
+
+        BigDecimal amount = plan.getAmount().asBigDecimal();
+        long sinceStart = ChronoUnit.DAYS.between(firstPayday(plan), date);
+        BigDecimal pay = switch(plan.getPayType()){
+            case WEEKLY -> sinceStart >= 0 && sinceStart % 7 == 0 ? amount : null;
+            case BIWEEKLY -> sinceStart >= 0 && sinceStart % 14 == 0 ? amount : null;
+            case HOURLY -> sinceStart >= 0 && sinceStart % 14 == 0 ? amount.multiply(plan.getHoursPerWeek()).multiply(BigDecimal.TWO) : null;
+            case MONTHLY -> date.equals(date.with(TemporalAdjusters.lastDayOfMonth())) ? amount : null;
+            case ANNUAL -> date.getDayOfMonth() == 15 || date.equals(date.with(TemporalAdjusters.lastDayOfMonth()))
+                    ? amount.divide(BigDecimal.valueOf(24), 2, RoundingMode.HALF_UP) : null;
+        };
+        if(pay == null)
+            return 0;
+
+        sink.accept(row("Payroll Deposit - " + plan.getSourceName(), pay.setScale(2, RoundingMode.HALF_UP), date, Category.INCOME, true, account));
+        return 1;
+    }
+
+    //weekly and biweekly pay starts on the first Friday of the plan
+    private static LocalDate firstPayday(IncomePlan plan){
+        return plan.getEffectiveFrom().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+    }
+
+    private long bills(Household h, Account account, LocalDate date, Random rnd, Consumer<Transaction> sink){
+        long n = 0;
+        int day = date.getDayOfMonth();
+
+        if(day == 1 && h.rent() != null){
+            sink.accept(row("Rent - Landlord", h.rent().asBigDecimal(), date, Category.RENT, false, account));
+            n++;
+        }
+        if(day == Math.min(h.billDay(), date.lengthOfMonth())){
+            sink.accept(row("Hydro One", cents(rnd, 9_000 * HEATING[date.getMonthValue() - 1], 0.15), date, Category.UTILITIES, false, account));
+            sink.accept(row("Rogers", BigDecimal.valueOf(8_500 + 500 * (h.index() % 6), 2), date, Category.UTILITIES, false, account));
+            n += 2;
+        }
+        //one or two subscriptions per household, a few days after the bills
+        if(day == Math.min(h.billDay() + 3, date.lengthOfMonth())){
+            for(int s = 0; s <= h.index() % 2; s++){
+                int which = (h.index() + s) % SUBSCRIPTIONS.length;
+                sink.accept(row(SUBSCRIPTIONS[which], BigDecimal.valueOf(SUBSCRIPTION_CENTS[which], 2), date, Category.ENTERTAINMENT, false, account));
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private long savings(Household h, Account account, LocalDate date, Random rnd, Consumer<Transaction> sink){
+        if(date.getDayOfMonth() == Math.min(h.billDay(), date.lengthOfMonth())){
+            sink.accept(row("Transfer from Chequing", BigDecimal.valueOf(10_000L * (1 + rnd.nextInt(10)), 2), date, Category.OTHER, true, account));
+            return 1;
+        }
+        if(date.equals(date.with(TemporalAdjusters.lastDayOfMonth()))){
+            sink.accept(row("Interest", BigDecimal.valueOf(100 + rnd.nextInt(4_000), 2), date, Category.INCOME, true, account));
+            return 1;
+        }
+        return 0;
+    }
+
+    //how many rows the recurring schedule adds to an account over the range, close enough to size the everyday spending
+    private double expectedRecurring(Household h, AccountType type){
+        double months = dayWeight.length / 30.44;
+        if(type == AccountType.SAVINGS)
+            return 2 * months;
+        if(type != AccountType.CHEQUING)
+            return 0;
+
+        double paychecksPerMonth = switch(h.plan().getPayType()){
+            case WEEKLY -> 52 / 12.0;
+            case BIWEEKLY, HOURLY -> 26 / 12.0;
+            case MONTHLY -> 1;
+            case ANNUAL -> 2;
+        };
+        return months * (paychecksPerMonth + (h.rent() != null ? 1 : 0) + 2 + 1 + h.index() % 2);
+    }
+
+    //-----sampling-----
+
+    private Random random(int stream, long index){
+        return new Random(spec.seed() * 0x9E3779B97F4A7C15L + stream * 0xC2B2AE3D27D4EB4FL + index);
+    }
+
+    private static Merchant[] catalogue(){
+        List<Merchant> out = new ArrayList<>(Arrays.asList(BRANDS));
+        for(String prefix : TAIL_PREFIXES){
+            for(Object[] noun : TAIL_NOUNS){
+                out.add(new Merchant(prefix + " " + noun[0], (Category) noun[1], (int) noun[2], 0.45));
+            }
+        }
+        return out.toArray(Merchant[]::new);
+    }
+
+    private static double[] zipf(int n){
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for(int rank = 1; rank <= n; rank++){
+            sum += 1 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        for(int i = 0; i < n; i++){
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private int pick(Random rnd){
+        int i = Arrays.binarySearch(cumulativeWeight, rnd.nextDouble());
+        return Math.min(merchants.length - 1, i >= 0 ? i : -i - 1);
+    }
+
+    private static double weekday(DayOfWeek day){
+        return switch(day){
+            case FRIDAY -> 1.15;
+            case SATURDAY, SUNDAY -> 1.30;
+            default -> 1.0;
+        };
+    }
+
+    //gifts and outings peak in December, the rest follows the general season already in the day weight
+    private static double seasonal(Category category, LocalDate date){
+        boolean holidays = date.getMonthValue() == 12 || (date.getMonthValue() == 11 && date.getDayOfMonth() > 20);
+        return holidays && (category == Category.OTHER || category == Category.ENTERTAINMENT) ? 1.6 : 1.0;
+    }
+
+    //log-normal around the median, never below a dollar
+    private static BigDecimal cents(Random rnd, double medianCents, double sigma){
+        long cents = Math.round(medianCents * Math.exp(sigma * rnd.nextGaussian()));
+        return BigDecimal.valueOf(Math.max(100, cents), 2);
+    }
+
+    //Knuth for small means, a rounded normal above that
+    private static int poisson(Random rnd, double mean){
+        if(mean <= 0)
+            return 0;
+        if(mean > 30)
+            return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * rnd.nextGaussian()));
+
+        double limit = Math.exp(-mean);
+        double p = rnd.nextDouble();
+        int k = 0;
+        while(p > limit){
+            p *= rnd.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    private static Transaction row(String description, BigDecimal amount, LocalDate date, Category category, boolean income, Account account){
+        return Transaction.builder()
+                .description(description)
+                .amount(Money.of(amount))
+                .date(date)
+                .category(category)
+                .income(income)
+                .account(account)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,420 @@
+package com.boojet.boot_api.testutil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.IncomePlan;
+import com.boojet.boot_api.domain.Transaction;
+import com.boojet.boot_api.testutil.SyntheticLedger.Household;
+
+/**
+ * Writes a {@link SyntheticLedger} into Postgres as fast as the database takes it.
+ * <p>
+ * Users, accounts and income plans (thousands of rows at most) go in as JDBC batches and get their ids back.
+ * Transactions (millions) are streamed with {@code COPY ... FROM STDIN} in CSV, the same path the legacy importer
+ * uses, split over {@code threads} connections with one COPY and commit per {@code rowsPerCopy} rows. Transaction
+ * ids are reserved from {@code transaction_id_seq} in whole blocks, so they never collide with ids Hibernate hands out.
+ *
+ * <p>The schema must exist already (start the application once, {@code ddl-auto} creates it).
+ * As a stand-alone tool for capacity planning:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.boojet.boot_api.testutil.SyntheticLedgerLoader \
+ *     -Dexec.args="jdbc:postgresql://localhost:5432/postgres postgres secret 1000 2 2500 42 4"
+ * </pre>
+ * Usage: {@code SyntheticLedgerLoader <jdbcUrl> <user> <password> [users] [accountsPerUser] [transactionsPerAccount] [seed] [threads]}
+ */
+public final class SyntheticLedgerLoader {
+
+    private static final String ID_SEQUENCE = "transaction_id_seq";
+    private static final String COPY_SQL =
+        "COPY transactions (id, description, amount, date, category, is_income, account_id, version) FROM STDIN WITH (FORMAT csv)";
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+    private static final int DEFAULT_ROWS_PER_COPY = 100_000;
+
+    /**
+     * What was written.
+     */
+    public record Loaded(int users, int accounts, int plans, long transactions, long millis){
+
+        public double rowsPerSecond(){
+            return transactions / Math.max(0.001, millis / 1000.0);
+        }
+    }
+
+    private SyntheticLedgerLoader(){
+        //static helpers only
+    }
+
+    public static void main(String[] args) throws Exception {
+        if(args.length < 3){
+            System.out.println("Usage: SyntheticLedgerLoader <jdbcUrl> <user> <password> [users] [accountsPerUser] [transactionsPerAccount] [seed] [threads]");
+            return;
+        }
+
+        PGSimpleDataSource ds = new PGSimpleDataSource();
+        ds.setUrl(args[0]);
+        ds.setUser(args[1]);
+        ds.setPassword(args[2]);
+
+        SyntheticLedger.Spec spec = new SyntheticLedger.Spec(
+                args.length > 6 ? Long.parseLong(args[6]) : 42,
+                args.length > 3 ? Integer.parseInt(args[3]) : 1_000,
+                args.length > 4 ? Integer.parseInt(args[4]) : 2,
+                args.length > 5 ? Integer.parseInt(args[5]) : 2_500,
+                SyntheticLedger.Spec.DEFAULT_FROM, SyntheticLedger.Spec.DEFAULT_TO);
+        int threads = args.length > 7 ? Integer.parseInt(args[7]) : Runtime.getRuntime().availableProcessors();
+
+        Loaded loaded = load(ds, new SyntheticLedger(spec), threads, DEFAULT_ROWS_PER_COPY);
+        System.out.printf("%,d users, %,d accounts, %,d plans, %,d transactions in %,d ms (%,.0f rows/s)%n",
+                loaded.users(), loaded.accounts(), loaded.plans(), loaded.transactions(), loaded.millis(), loaded.rowsPerSecond());
+    }
+
+    /**
+     * Loads {@code ledger} with one COPY stream per available processor.
+     */
+    public static Loaded load(DataSource ds, SyntheticLedger ledger) throws SQLException, InterruptedException {
+        return load(ds, ledger, Runtime.getRuntime().availableProcessors(), DEFAULT_ROWS_PER_COPY);
+    }
+
+    /**
+     * Loads {@code ledger}: owners first, then the transactions, then refreshes the planner statistics.
+     * Ids are set on the ledger's users, accounts and plans as they are inserted.
+     *
+     * @param ds target database, schema already created
+     * @param ledger what to write
+     * @param threads number of parallel COPY streams (households are split between them)
+     * @param rowsPerCopy rows per COPY statement and commit
+     * @return counts and elapsed time
+     */
+    public static Loaded load(DataSource ds, SyntheticLedger ledger, int threads, int rowsPerCopy) throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        List<Household> households = ledger.households();
+
+        try(Connection conn = ds.getConnection()){
+            conn.setAutoCommit(false);
+            insertUsers(conn, households);
+            insertAccounts(conn, households);
+            insertPlans(conn, households);
+            conn.commit();
+        }
+
+        long transactions = copyTransactions(ds, ledger, Math.max(1, threads), rowsPerCopy);
+
+        try(Connection conn = ds.getConnection(); Statement st = conn.createStatement()){
+            st.execute("ANALYZE users");
+            st.execute("ANALYZE accounts");
+            st.execute("ANALYZE income_plans");
+            st.execute("ANALYZE transactions");
+        }
+
+        int accounts = households.stream().mapToInt(h -> h.accounts().size()).sum();
+        return new Loaded(households.size(), accounts, households.size(), transactions, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    //-----owners-----
+
+    //user ids come straight from nextval, once the sequence is past the default user BootApiApplication inserts by hand
+    private static void insertUsers(Connection conn, List<Household> households) throws SQLException {
+        skipPastExisting(conn, "users", "users_seq");
+        try(PreparedStatement ps = conn.prepareStatement("INSERT INTO users (id, username) VALUES (nextval('users_seq'), ?)", new String[]{ "id" })){
+            for(Household h : households){
+                ps.setString(1, h.user().getUsername());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try(ResultSet keys = ps.getGeneratedKeys()){
+                for(Household h : households){
+                    keys.next();
+                    h.user().setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    private static void insertAccounts(Connection conn, List<Household> households) throws SQLException {
+        List<Account> all = new ArrayList<>();
+        households.forEach(h -> all.addAll(h.accounts()));
+
+        try(PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO accounts (user_id, name, type, opening_balance, created_at, closed_at) VALUES (?, ?, ?, ?, ?, NULL)", new String[]{ "id" })){
+            for(Account a : all){
+                ps.setLong(1, a.getUser().getId());
+                ps.setString(2, a.getName());
+                ps.setString(3, a.getType().name());
+                ps.setBigDecimal(4, a.getOpeningBalance().asBigDecimal());
+                ps.setObject(5, a.getCreatedAt());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try(ResultSet keys = ps.getGeneratedKeys()){
+                for(Account a : all){
+                    keys.next();
+                    a.setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    private static void insertPlans(Connection conn, List<Household> households) throws SQLException {
+        skipPastExisting(conn, "income_plans", "income_plans_seq");
+        try(PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO income_plans (id, user_id, source_name, pay_type, amount, hours_per_week, effective_from, effective_to) " +
+                "VALUES (nextval('income_plans_seq'), ?, ?, ?, ?, ?, ?, ?)", new String[]{ "id" })){
+            for(Household h : households){
+                IncomePlan p = h.plan();
+                ps.setLong(1, p.getUser().getId());
+                ps.setString(2, p.getSourceName());
+                ps.setString(3, p.getPayType().name());
+                ps.setBigDecimal(4, p.getAmount().asBigDecimal());
+                ps.setBigDecimal(5, p.getHoursPerWeek());
+                ps.setObject(6, p.getEffectiveFrom());
+                ps.setObject(7, p.getEffectiveTo());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try(ResultSet keys = ps.getGeneratedKeys()){
+                for(Household h : households){
+                    keys.next();
+                    h.plan().setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    //moves the sequence past ids inserted without it; nextval stays above every block Hibernate has been handed
+    private static void skipPastExisting(Connection conn, String table, String sequence) throws SQLException {
+        try(Statement st = conn.createStatement()){
+            st.execute("SELECT setval('" + sequence + "', greatest((SELECT max(id) FROM " + table + "), (SELECT last_value FROM " + sequence + ")))");
+        }
+    }
+
+    //-----transactions-----
+
+    private static long copyTransactions(DataSource ds, SyntheticLedger ledger, int threads, int rowsPerCopy) throws SQLException, InterruptedException {
+        List<Household> households = ledger.households();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try{
+            List<Future<Long>> parts = new ArrayList<>(threads);
+            for(int w = 0; w < threads; w++){
+                int worker = w;
+                parts.add(pool.submit(() -> {
+                    List<Household> mine = new ArrayList<>();
+                    for(int i = worker; i < households.size(); i += threads){
+                        mine.add(households.get(i));
+                    }
+                    return copyPart(ds, ledger, mine, rowsPerCopy);
+                }));
+            }
+
+            long rows = 0;
+            for(Future<Long> part : parts){
+                rows += part.get();
+            }
+            return rows;
+        } catch(ExecutionException e){
+            if(e.getCause() instanceof SQLException sql)
+                throw sql;
+            throw new IllegalStateException("Loading transactions failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    //one connection, COPY after COPY, each committed on its own so a huge load never sits in one transaction
+    private static long copyPart(DataSource ds, SyntheticLedger ledger, List<Household> households, int rowsPerCopy) throws SQLException, IOException {
+        try(Connection conn = ds.getConnection()){
+            conn.setAutoCommit(false);
+            IdBlocks ids = new IdBlocks(conn, rowsPerCopy);
+            CopyStream copy = new CopyStream(conn, ids, rowsPerCopy);
+
+            try{
+                for(Household h : households){
+                    for(Account a : h.accounts()){
+                        ledger.transactions(h, a, copy::write);
+                    }
+                }
+                copy.finish();
+            } catch(UncheckedIOException e){
+                copy.cancel();
+                throw e.getCause();
+            } catch(RuntimeException e){
+                copy.cancel();
+                throw e;
+            }
+            return copy.rows;
+        }
+    }
+
+    //the COPY currently open on a connection, rolled over every rowsPerCopy rows
+    private static final class CopyStream {
+
+        private final Connection conn;
+        private final IdBlocks ids;
+        private final int rowsPerCopy;
+        private PGCopyOutputStream copy;
+        private Writer out;
+        private int inCopy;
+        long rows;
+
+        CopyStream(Connection conn, IdBlocks ids, int rowsPerCopy){
+            this.conn = conn;
+            this.ids = ids;
+            this.rowsPerCopy = rowsPerCopy;
+        }
+
+        void write(Transaction t){
+            try{
+                if(out == null){
+                    ids.reserve(rowsPerCopy);           //the connection cannot run nextval once the COPY is open
+                    copy = new PGCopyOutputStream(conn.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE);
+                    out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+                }
+
+                writeRow(out, ids.next(), t);
+                rows++;
+                if(++inCopy == rowsPerCopy)
+                    finish();
+            } catch(IOException e){
+                throw new UncheckedIOException(e);
+            } catch(SQLException e){
+                throw new UncheckedIOException(new IOException(e));
+            }
+        }
+
+        void finish() throws SQLException {
+            if(out == null)
+                return;
+            try{
+                out.close();                    //ends the COPY
+            } catch(IOException e){
+                throw new SQLException("COPY failed", e);
+            }
+            conn.commit();
+            out = null;
+            copy = null;
+            inCopy = 0;
+        }
+
+        void cancel() throws SQLException {
+            if(copy != null && copy.isActive())
+                copy.cancelCopy();
+            conn.rollback();
+        }
+    }
+
+    //one CSV line: id, description, amount, date, category (ordinal, as mapped by the entity), is_income, account_id, version
+    private static void writeRow(Writer out, long id, Transaction t) throws IOException {
+        out.write(Long.toString(id));
+        out.write(',');
+        out.write('"');
+        out.write(t.getDescription().replace("\"", "\"\""));
+        out.write('"');
+        out.write(',');
+        out.write(t.getAmount().asBigDecimal().toPlainString());
+        out.write(',');
+        out.write(t.getDate().toString());
+        out.write(',');
+        out.write(Integer.toString(t.getCategory().ordinal()));
+        out.write(',');
+        out.write(t.isIncome() ? "true" : "false");
+        out.write(',');
+        out.write(Long.toString(t.getAccount().getId()));
+        out.write(",0\n");
+    }
+
+    //ids from whole blocks of transaction_id_seq: Hibernate's pooled optimizer reads each nextval as the top of a block of "increment" ids
+    private static final class IdBlocks {
+
+        private final Connection conn;
+        private final long increment;
+        private final int blocksPerFetch;
+        private final Deque<Long> tops = new ArrayDeque<>();
+        private long next = 1;
+        private long last = 0;
+
+        IdBlocks(Connection conn, int rowsPerCopy) throws SQLException {
+            this.conn = conn;
+            try(PreparedStatement ps = conn.prepareStatement(
+                    "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?")){
+                ps.setString(1, ID_SEQUENCE);
+                try(ResultSet rs = ps.executeQuery()){
+                    if(!rs.next())
+                        throw new IllegalStateException("Sequence " + ID_SEQUENCE + " does not exist");
+                    this.increment = rs.getLong(1);
+                }
+            }
+            this.blocksPerFetch = (int) Math.max(1, (rowsPerCopy + increment - 1) / increment);
+        }
+
+        //makes sure the next "rows" ids can be handed out without another round trip
+        void reserve(int rows) throws SQLException {
+            while(available() < rows){
+                fetch();
+            }
+        }
+
+        long next(){
+            if(next > last){
+                if(tops.isEmpty())
+                    throw new IllegalStateException("No ids reserved");
+                long top = tops.poll();
+                next = firstOf(top);
+                last = top;
+            }
+            return next++;
+        }
+
+        private long available(){
+            long count = last - next + 1;
+            for(long top : tops){
+                count += top - firstOf(top) + 1;
+            }
+            return count;
+        }
+
+        //the sequence starts at 1, so its first block is shorter than increment
+        private long firstOf(long top){
+            return Math.max(1, top - increment + 1);
+        }
+
+        private void fetch() throws SQLException {
+            try(PreparedStatement ps = conn.prepareStatement("SELECT nextval(?) FROM generate_series(1, ?)")){
+                ps.setString(1, ID_SEQUENCE);
+                ps.setInt(2, blocksPerFetch);
+                try(ResultSet rs = ps.executeQuery()){
+                    while(rs.next()){
+                        tops.add(rs.getLong(1));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.boojet.boot_api.testutil;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.boojet.boot_api.domain.Account;
+import com.boojet.boot_api.domain.Category;
+import com.boojet.boot_api.domain.Transaction;
+
+// Pure unit tests, the generator needs no database
+public class SyntheticLedgerTest {
+
+    private static final int ACCOUNTS_PER_USER = 3;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 300;
+
+    //what identifies a generated row; the Account objects differ between two ledgers, their type and name do not
+    record Row(String description, String amount, LocalDate date, Category category, boolean income, String account){}
+
+    private static SyntheticLedger ledger(long seed, int users){
+        return new SyntheticLedger(new SyntheticLedger.Spec(seed, users, ACCOUNTS_PER_USER, TRANSACTIONS_PER_ACCOUNT,
+                SyntheticLedger.Spec.DEFAULT_FROM, SyntheticLedger.Spec.DEFAULT_TO));
+    }
+
+    @Test
+    @DisplayName("The same Spec twice gives the same households and the same rows, in the same order")
+    void sameSpec_sameRows(){
+        SyntheticLedger first = ledger(42, 4);
+        SyntheticLedger second = ledger(42, 4);
+
+        for(int h = 0; h < 4; h++){
+            SyntheticLedger.Household a = first.households().get(h);
+            SyntheticLedger.Household b = second.households().get(h);
+            assertThat(b.user().getUsername()).isEqualTo(a.user().getUsername());
+            assertThat(b.rent()).isEqualTo(a.rent());
+            assertThat(b.billDay()).isEqualTo(a.billDay());
+            assertThat(b.plan().getPayType()).isEqualTo(a.plan().getPayType());
+            assertThat(b.plan().getAmount()).isEqualTo(a.plan().getAmount());
+
+            for(int slot = 0; slot < ACCOUNTS_PER_USER; slot++){
+                List<Row> rows = rows(first, a, slot);
+                assertThat(rows).isNotEmpty();
+                assertThat(rows(second, b, slot)).containsExactlyElementsOf(rows);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("An account's rows do not depend on how many households come before or after it, or on generation order")
+    void accountRows_independentOfOtherAccounts(){
+        SyntheticLedger small = ledger(7, 3);
+        SyntheticLedger large = ledger(7, 9);
+
+        //generate the larger ledger's accounts last-first, so no stream is shared in passing
+        List<List<Row>> largeRows = new ArrayList<>();
+        for(int slot = ACCOUNTS_PER_USER - 1; slot >= 0; slot--){
+            largeRows.add(0, rows(large, large.households().get(2), slot));
+        }
+
+        for(int slot = 0; slot < ACCOUNTS_PER_USER; slot++){
+            assertThat(largeRows.get(slot)).containsExactlyElementsOf(rows(small, small.households().get(2), slot));
+        }
+    }
+
+    @Test
+    @DisplayName("A different seed gives different rows")
+    void otherSeed_otherRows(){
+        SyntheticLedger a = ledger(1, 1);
+        SyntheticLedger b = ledger(2, 1);
+
+        assertThat(rows(b, b.households().get(0), 1)).isNotEqualTo(rows(a, a.households().get(0), 1));
+    }
+
+    //-----helpers-----
+
+    private static List<Row> rows(SyntheticLedger ledger, SyntheticLedger.Household household, int slot){
+        Account account = household.accounts().get(slot);
+        List<Row> rows = new ArrayList<>();
+        long count = ledger.transactions(household, account, t -> rows.add(row(t)));
+        assertThat(rows).hasSize((int) count);
+        return rows;
+    }
+
+    private static Row row(Transaction t){
+        return new Row(t.getDescription(), t.getAmount().asBigDecimal().toPlainString(), t.getDate(), t.getCategory(), t.isIncome(),
+                t.getAccount().getType() + " " + t.getAccount().getName());
+    }
+}
@@ -0,0 +1,47 @@
+package com.boojet.boot_api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.boojet.boot_api.exceptions.PreconditionFailedException;
+
+// Pure unit tests, no Spring context
+public class ETagsTest {
+
+    @Test
+    @DisplayName("If-Match with a strong ETag gives the version, no header or * is unconditional")
+    void expectedVersion_strongTag(){
+        assertThat(ETags.expectedVersion("\"3\"")).isEqualTo(3L);
+        assertThat(ETags.expectedVersion(" \"12\" ")).isEqualTo(12L);
+        assertThat(ETags.expectedVersion(null)).isNull();
+        assertThat(ETags.expectedVersion("*")).isNull();
+    }
+
+    @Test
+    @DisplayName("If-Match with a weak ETag is a failed precondition, even when the version is current")
+    void expectedVersion_weakTagRejected(){
+        assertThatThrownBy(() -> ETags.expectedVersion("W/\"3\""))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("weak");
+    }
+
+    @Test
+    @DisplayName("If-Match with a tag this API never issues is a failed precondition")
+    void expectedVersion_foreignTagRejected(){
+        assertThatThrownBy(() -> ETags.expectedVersion("\"abc\""))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    @DisplayName("If-None-Match keeps the weak comparison")
+    void matchesAny_weakComparison(){
+        assertThat(ETags.matchesAny("W/\"3\"", ETags.of(3))).isTrue();
+        assertThat(ETags.matchesAny("\"2\", \"3\"", ETags.of(3))).isTrue();
+        assertThat(ETags.matchesAny("*", ETags.of(3))).isTrue();
+        assertThat(ETags.matchesAny("\"2\"", ETags.of(3))).isFalse();
+        assertThat(ETags.matchesAny(null, ETags.of(3))).isFalse();
+    }
+}
@@ -0,0 +1,52 @@
+package com.boojet.boot_api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+// Pure unit tests, no Spring context: the handler is a plain object
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    //messages as a server with lc_messages=de_DE reports them, so only the SQL state is recognisable
+    private static DataIntegrityViolationException foreignKeyViolation(String sql){
+        SQLException cause = new SQLException("FEHLER: Einfügen oder Aktualisieren in Tabelle verletzt Fremdschlüssel-Constraint", "23503");
+        Throwable hibernate = sql == null ? cause : new ConstraintViolationException("could not execute statement", cause, sql, "fk_transactions_account");
+        return new DataIntegrityViolationException("could not execute statement", hibernate);
+    }
+
+    @Test
+    @DisplayName("A foreign key violation on insert is a reference to a missing row")
+    void handleDataIntegrity_insertIsNotFound(){
+        ResponseEntity<ApiError> response = handler.handleDataIntegrity(
+                foreignKeyViolation("insert into transactions (account_id, amount, id) values (?, ?, ?)"), new MockHttpServletRequest("POST", "/transactions"));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("A foreign key violation on delete is a row that is still referenced")
+    void handleDataIntegrity_deleteIsConflict(){
+        ResponseEntity<ApiError> response = handler.handleDataIntegrity(
+                foreignKeyViolation("delete from accounts where id=?"), new MockHttpServletRequest("DELETE", "/account/3"));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("Without the statement, the request method decides")
+    void handleDataIntegrity_fallsBackToRequestMethod(){
+        assertThat(handler.handleDataIntegrity(foreignKeyViolation(null), new MockHttpServletRequest("DELETE", "/account/3"))
+                .getStatusCode().value()).isEqualTo(409);
+        assertThat(handler.handleDataIntegrity(foreignKeyViolation(null), new MockHttpServletRequest("PUT", "/transactions/7"))
+                .getStatusCode().value()).isEqualTo(404);
+    }
+}